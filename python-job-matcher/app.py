@@ -107,11 +107,12 @@ class ResumeJobMatcher:
         experience_requirements = []
         text_lower = text.lower()
         
-        for pattern in self.experience_patterns:
+        for index, pattern in enumerate(self.experience_patterns):
             matches = re.findall(pattern, text_lower)
             for match in matches:
                 if len(match) == 2:
-                    years, skill = match
+                    # The last pattern captures the skill before the years
+                    years, skill = (match[1], match[0]) if index == 2 else match
                     experience_requirements.append({
                         'years': years.strip(),
                         'skill': skill.strip()
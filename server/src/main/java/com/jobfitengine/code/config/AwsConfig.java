@@ -1,10 +1,12 @@
 package com.jobfitengine.code.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeAsyncClient;
+import software.amazon.awssdk.services.comprehend.ComprehendAsyncClient;
 
 @Configuration
 public class AwsConfig {
@@ -13,8 +15,17 @@ public class AwsConfig {
     private String region;
     
     @Bean
-    public BedrockRuntimeClient bedrockRuntimeClient() {
-        return BedrockRuntimeClient.builder()
+    public BedrockRuntimeAsyncClient bedrockRuntimeAsyncClient() {
+        return BedrockRuntimeAsyncClient.builder()
+            .region(Region.of(region))
+            .build();
+    }
+    
+    // Only AwsComprehendService uses it, and that is off unless enabled
+    @Bean
+    @ConditionalOnProperty(name = "aws.comprehend.enabled", havingValue = "true")
+    public ComprehendAsyncClient comprehendAsyncClient() {
+        return ComprehendAsyncClient.builder()
             .region(Region.of(region))
             .build();
     }
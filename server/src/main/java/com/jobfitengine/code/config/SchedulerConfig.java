@@ -0,0 +1,42 @@
+package com.jobfitengine.code.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@EnableScheduling
+public class SchedulerConfig {
+    
+    // Blocking JPA lookups on reactive request paths run here; sized to the connection pool
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(@Value("${matcher.jdbc-scheduler.threads:10}") int threads,
+                                   @Value("${matcher.jdbc-scheduler.queue-capacity:10000}") int queueCapacity,
+                                   Environment environment) {
+        return boundedScheduler("jdbc", threads, queueCapacity, environment);
+    }
+    
+    // Match engines without a non-blocking path run their blocking analysis here, capped apart from
+    // the shared boundedElastic pool that libraries also use
+    @Bean(destroyMethod = "dispose")
+    public Scheduler matchScheduler(@Value("${matcher.match-scheduler.threads:16}") int threads,
+                                    @Value("${matcher.match-scheduler.queue-capacity:10000}") int queueCapacity,
+                                    Environment environment) {
+        return boundedScheduler("match", threads, queueCapacity, environment);
+    }
+    
+    private static Scheduler boundedScheduler(String name, int threads, int queueCapacity, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // Same cap, but workers are virtual threads so a slow call does not hold a platform thread
+            return Schedulers.newBoundedElastic(threads, queueCapacity,
+                    new VirtualThreadTaskExecutor(name + "-").getVirtualThreadFactory(), 60);
+        }
+        return Schedulers.newBoundedElastic(threads, queueCapacity, name);
+    }
+}
@@ -1,10 +1,13 @@
 package com.jobfitengine.code.config;
 
+import com.jobfitengine.code.entity.UserRole;
 import com.jobfitengine.code.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -25,6 +28,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import java.util.Arrays;
 import java.util.List;
 import com.jobfitengine.code.service.JwtService;
+import com.jobfitengine.code.service.PipelineMetrics;
 import com.jobfitengine.code.service.UserService;
 
 @Configuration
@@ -44,8 +48,8 @@ public class SecurityConfig {
     private String allowedHeaders;
     
     @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService, com.jobfitengine.code.service.UserService userService) {
-        return new JwtAuthenticationFilter(jwtService, userDetailsService, userService);
+    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtService jwtService, PipelineMetrics pipelineMetrics) {
+        return new JwtAuthenticationFilter(jwtService, pipelineMetrics);
     }
     
     @Bean
@@ -54,11 +58,21 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(auth -> auth
+                // Reactive controllers finish on an async dispatch of an already authorized request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/v1/auth/**").permitAll()
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/error").permitAll()
                 .requestMatchers("/error/**").permitAll()
+                // Only liveness is public; metrics name internals, so scrapers need an ADMIN token
+                // (or set management.server.port and keep the actuator off the public port altogether)
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasAuthority(UserRole.ADMIN.name())
                 .requestMatchers("/api/v1/job-matching").permitAll() // Temporarily allow for testing
+                // Ranking reads every user's resume
+                .requestMatchers(HttpMethod.POST, "/api/v1/job-matching/rank")
+                    .hasAnyAuthority(UserRole.RECRUITER.name(), UserRole.ADMIN.name())
+                .requestMatchers("/api/v1/job-matching/cache/**").hasAuthority(UserRole.ADMIN.name())
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
@@ -0,0 +1,44 @@
+package com.jobfitengine.code.config;
+
+import com.jobfitengine.code.service.LocalResumeStorage;
+import com.jobfitengine.code.service.ResumeStorage;
+import com.jobfitengine.code.service.S3ResumeStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+import java.net.URI;
+import java.nio.file.Paths;
+
+@Configuration
+public class StorageConfig {
+    
+    @Value("${file.storage.type:local}")
+    private String storageType;
+    
+    @Bean
+    public ResumeStorage resumeStorage(@Value("${file.upload.path}") String uploadPath,
+                                       @Value("${aws.region}") String region,
+                                       @Value("${aws.s3.bucket-name}") String bucket,
+                                       @Value("${aws.s3.endpoint:}") String endpoint,
+                                       @Value("${aws.s3.part-size:5MB}") DataSize partSize) {
+        return switch (storageType.toLowerCase()) {
+            case "local" -> new LocalResumeStorage(Paths.get(uploadPath));
+            case "s3" -> new S3ResumeStorage(s3Client(region, endpoint), bucket, (int) partSize.toBytes());
+            default -> throw new IllegalStateException("Unknown file storage type: " + storageType);
+        };
+    }
+    
+    private static S3Client s3Client(String region, String endpoint) {
+        S3ClientBuilder builder = S3Client.builder().region(Region.of(region));
+        if (!endpoint.isBlank()) {
+            // S3-compatible stores (MinIO, LocalStack) address buckets by path
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+        }
+        return builder.build();
+    }
+} 
\ No newline at end of file
@@ -1,19 +1,31 @@
 package com.jobfitengine.code.controller;
 
+import com.jobfitengine.code.dto.BatchJobMatchingRequest;
+import com.jobfitengine.code.dto.BatchJobMatchingResponse;
 import com.jobfitengine.code.dto.JobMatchingRequest;
 import com.jobfitengine.code.dto.JobMatchingResponse;
-import com.jobfitengine.code.entity.User;
+import com.jobfitengine.code.dto.MatchCacheStatsResponse;
+import com.jobfitengine.code.dto.ResumeRankingRequest;
+import com.jobfitengine.code.dto.ResumeRankingResponse;
+import com.jobfitengine.code.entity.Resume;
+import com.jobfitengine.code.entity.ResumeStatus;
+import com.jobfitengine.code.security.AuthenticatedUser;
 import com.jobfitengine.code.service.JobMatchingService;
+import com.jobfitengine.code.service.MatchResultCache;
+import com.jobfitengine.code.service.ResumeRankingService;
 import com.jobfitengine.code.service.ResumeService;
-import com.jobfitengine.code.service.UserService;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -23,87 +35,174 @@ import java.util.UUID;
 @CrossOrigin(origins = "http://localhost:4200")
 public class JobMatchingController {
     
+    private static final String RESUME_PROCESSING = 
+            "Resume is still being processed; check /api/v1/resumes/{id}/status and retry once it is READY";
+    
     private final JobMatchingService jobMatchingService;
-    private final UserService userService;
     private final ResumeService resumeService;
+    private final ResumeRankingService resumeRankingService;
+    private final MatchResultCache matchResultCache;
+    private final Scheduler jdbcScheduler;
     
     @PostMapping
-    public ResponseEntity<JobMatchingResponse> analyzeJobMatch(@Valid @RequestBody JobMatchingRequest request,
-                                                             HttpServletRequest httpRequest) {
+    public Mono<ResponseEntity<JobMatchingResponse>> analyzeJobMatch(@Valid @RequestBody JobMatchingRequest request,
+                                                                   @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(new JobMatchingResponse(false, "Authentication failed: No user ID found", 
+                            0.0, List.of(), List.of(), null)));
+        }
+        
+        UUID resumeUUID;
         try {
-            Object userIdAttr = httpRequest.getAttribute("userId");
-            log.info("Extracted user ID from request: {}", userIdAttr);
-            
-            if (userIdAttr == null) {
-                return ResponseEntity.badRequest()
-                        .body(new JobMatchingResponse(false, "Authentication failed: No user ID found", 
-                                0.0, List.of(), List.of(), null));
-            }
-            
-            User user = userService.findById((java.util.UUID) userIdAttr)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-            
-            log.info("Job matching analysis requested for user: {} with resume ID: {}", 
-                    user.getEmail(), request.getResumeId());
-            
-            // Debug logging
-            try {
-                UUID resumeUUID = request.getResumeUUID();
-                log.info("Converted resume UUID: {}", resumeUUID);
-            } catch (Exception e) {
-                log.error("Error converting resume ID to UUID: {}", e.getMessage());
-                return ResponseEntity.badRequest()
-                        .body(new JobMatchingResponse(false, "Invalid resume ID format: " + e.getMessage(), 
-                                0.0, List.of(), List.of(), null));
-            }
-            
-            // Validate request type
-            if (!request.getType().equals("full-job") && !request.getType().equals("skills-section")) {
-                return ResponseEntity.badRequest()
-                        .body(new JobMatchingResponse(false, "Invalid type. Must be 'full-job' or 'skills-section'", 
-                                0.0, List.of(), List.of(), null));
-            }
-            
-            // Get user's resume text
-            UUID resumeUUID = request.getResumeUUID();
-            log.info("Looking up resume with UUID: {} for user: {}", resumeUUID, user.getEmail());
-            var resumeOpt = resumeService.findByIdAndUser(resumeUUID, user);
-            if (resumeOpt.isEmpty()) {
-                return ResponseEntity.badRequest()
-                        .body(new JobMatchingResponse(false, "Resume not found", 0.0, List.of(), List.of(), null));
-            }
-            
-            String resumeText = resumeOpt.get().getExtractedText();
-            if (resumeText == null || resumeText.trim().isEmpty()) {
-                return ResponseEntity.badRequest()
-                        .body(new JobMatchingResponse(false, "No text content found in resume", 0.0, List.of(), List.of(), null));
-            }
-            
-            JobMatchingResponse response = jobMatchingService.performJobMatching(
-                    resumeText,
-                    user,
-                    request.getTextArea(),
-                    request.getType()
-            );
-            
-            if (response.isSuccess()) {
-                log.info("Job matching analysis completed successfully for user: {}", user.getEmail());
-                return ResponseEntity.ok(response);
-            } else {
-                log.warn("Job matching analysis failed for user: {}", user.getEmail());
-                return ResponseEntity.badRequest().body(response);
-            }
-            
+            resumeUUID = request.getResumeUUID();
+            log.info("Converted resume UUID: {}", resumeUUID);
         } catch (IllegalArgumentException e) {
-            log.error("Invalid UUID format in job matching request: {}", e.getMessage());
-            return ResponseEntity.badRequest()
+            log.error("Error converting resume ID to UUID: {}", e.getMessage());
+            return Mono.just(ResponseEntity.badRequest()
                     .body(new JobMatchingResponse(false, "Invalid resume ID format: " + e.getMessage(), 
-                            0.0, List.of(), List.of(), null));
-        } catch (Exception e) {
-            log.error("Error performing job matching: {}", e.getMessage());
+                            0.0, List.of(), List.of(), null)));
+        }
+        
+        // Validate request type
+        if (!request.getType().equals("full-job") && !request.getType().equals("skills-section")) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(new JobMatchingResponse(false, "Invalid type. Must be 'full-job' or 'skills-section'", 
+                            0.0, List.of(), List.of(), null)));
+        }
+        
+        return lookupResume(user, resumeUUID)
+                .flatMap(resumeOpt -> {
+                    if (resumeOpt.isEmpty()) {
+                        return Mono.just(ResponseEntity.badRequest()
+                                .body(new JobMatchingResponse(false, "Resume not found", 0.0, List.of(), List.of(), null)));
+                    }
+                    
+                    Resume resume = resumeOpt.get();
+                    if (resume.getProcessingStatus() == ResumeStatus.PROCESSING) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT)
+                                .body(new JobMatchingResponse(false, RESUME_PROCESSING, 0.0, List.of(), List.of(), null)));
+                    }
+                    
+                    String resumeText = resume.getExtractedText();
+                    if (resumeText == null || resumeText.trim().isEmpty()) {
+                        return Mono.just(ResponseEntity.badRequest()
+                                .body(new JobMatchingResponse(false, "No text content found in resume", 0.0, List.of(), List.of(), null)));
+                    }
+                    
+                    return jobMatchingService.performJobMatching(resume, user, request.getTextArea(), request.getType())
+                            .map(response -> {
+                                if (response.isSuccess()) {
+                                    log.info("Job matching analysis completed successfully for user: {}", user.email());
+                                    return ResponseEntity.ok(response);
+                                } else {
+                                    log.warn("Job matching analysis failed for user: {}", user.email());
+                                    return ResponseEntity.badRequest().body(response);
+                                }
+                            });
+                })
+                .onErrorResume(e -> {
+                    log.error("Error performing job matching: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest()
+                            .body(new JobMatchingResponse(false, "Error performing job matching: " + e.getMessage(), 
+                                    0.0, List.of(), List.of(), null)));
+                });
+    }
+    
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<BatchJobMatchingResponse>> analyzeBatchJobMatch(@Valid @RequestBody BatchJobMatchingRequest request,
+                                                                             @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(new BatchJobMatchingResponse(false, "Authentication failed: No user ID found", 0, 0, List.of())));
+        }
+        
+        UUID resumeUUID;
+        try {
+            resumeUUID = request.getResumeUUID();
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid UUID format in batch job matching request: {}", e.getMessage());
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(new BatchJobMatchingResponse(false, "Invalid resume ID format: " + e.getMessage(), 0, 0, List.of())));
+        }
+        
+        if (!request.getType().equals("full-job") && !request.getType().equals("skills-section")) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(new BatchJobMatchingResponse(false, "Invalid type. Must be 'full-job' or 'skills-section'", 
+                            0, 0, List.of())));
+        }
+        
+        return lookupResume(user, resumeUUID)
+                .flatMap(resumeOpt -> {
+                    if (resumeOpt.isEmpty()) {
+                        return Mono.just(ResponseEntity.badRequest()
+                                .body(new BatchJobMatchingResponse(false, "Resume not found", 0, 0, List.of())));
+                    }
+                    
+                    if (resumeOpt.get().getProcessingStatus() == ResumeStatus.PROCESSING) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT)
+                                .body(new BatchJobMatchingResponse(false, RESUME_PROCESSING, 0, 0, List.of())));
+                    }
+                    
+                    log.info("Batch job matching requested for user: {} with resume ID: {} and {} job descriptions", 
+                            user.email(), resumeUUID, request.getJobDescriptions().size());
+                    
+                    return jobMatchingService.performBatchJobMatching(
+                                    resumeOpt.get(), user, request.getJobDescriptions(), request.getType())
+                            .map(response -> {
+                                // Individual job failures are reported per item; only a failed batch is a bad request
+                                if (response.isSuccess()) {
+                                    return ResponseEntity.ok(response);
+                                } else {
+                                    log.warn("Batch job matching failed for user: {}: {}", user.email(), response.getMessage());
+                                    return ResponseEntity.badRequest().body(response);
+                                }
+                            });
+                })
+                .onErrorResume(e -> {
+                    log.error("Error performing batch job matching: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest()
+                            .body(new BatchJobMatchingResponse(false, "Error performing job matching: " + e.getMessage(), 
+                                    0, 0, List.of())));
+                });
+    }
+    
+    // Reverse matching: the stored resumes that best fit a job description
+    @PostMapping("/rank")
+    public ResponseEntity<ResumeRankingResponse> rankResumes(@Valid @RequestBody ResumeRankingRequest request,
+                                                             @AuthenticationPrincipal AuthenticatedUser user) {
+        if (user == null) {
             return ResponseEntity.badRequest()
-                    .body(new JobMatchingResponse(false, "Error performing job matching: " + e.getMessage(), 
-                            0.0, List.of(), List.of(), null));
+                    .body(new ResumeRankingResponse(false, "Authentication failed: No user ID found", 0, List.of()));
+        }
+        
+        ResumeRankingResponse response = resumeRankingService.rankResumes(request.getTextArea(), request.getTopK());
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response);
+        } else {
+            log.warn("Resume ranking failed: {}", response.getMessage());
+            return ResponseEntity.badRequest().body(response);
         }
     }
+    
+    @GetMapping("/cache/stats")
+    public ResponseEntity<MatchCacheStatsResponse> getCacheStats() {
+        var stats = matchResultCache.stats();
+        return ResponseEntity.ok(new MatchCacheStatsResponse(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                stats.evictionWeight(),
+                matchResultCache.estimatedSize()));
+    }
+    
+    // The resume lookup is a blocking JPA call, so it runs on the bounded JDBC scheduler
+    private Mono<Optional<Resume>> lookupResume(AuthenticatedUser user, UUID resumeId) {
+        return Mono.fromCallable(() -> {
+                    log.info("Looking up resume with UUID: {} for user: {}", resumeId, user.email());
+                    return resumeService.findForMatching(resumeId, user);
+                })
+                .subscribeOn(jdbcScheduler);
+    }
 } 
\ No newline at end of file
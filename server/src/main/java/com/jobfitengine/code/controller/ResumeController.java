@@ -1,16 +1,24 @@
 package com.jobfitengine.code.controller;
 
 import com.jobfitengine.code.dto.ResumeResponse;
-import com.jobfitengine.code.entity.User;
+import com.jobfitengine.code.dto.ResumeStatusResponse;
+import com.jobfitengine.code.exception.ResponseAbortedException;
+import com.jobfitengine.code.security.AuthenticatedUser;
 import com.jobfitengine.code.service.ResumeService;
-import com.jobfitengine.code.service.UserService;
+import com.jobfitengine.code.service.ResumeStorage;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
 import java.util.UUID;
 
 @RestController
@@ -21,31 +29,26 @@ import java.util.UUID;
 public class ResumeController {
     
     private final ResumeService resumeService;
-    private final UserService userService;
+    private final ResumeStorage resumeStorage;
     
     @PostMapping
     public ResponseEntity<ResumeResponse> createResume(@RequestParam("file") MultipartFile file,
-                                                      HttpServletRequest request) {
+                                                      @AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            UUID userId = (UUID) request.getAttribute("userId");
-            
-            if (userId == null) {
+            if (user == null) {
                 return ResponseEntity.badRequest()
                         .body(new ResumeResponse(false, "Authentication failed: No user ID found", null));
             }
             
-            User user = userService.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-            
-            log.info("Resume upload attempt for user: {}", user.getEmail());
+            log.info("Resume upload attempt for user: {}", user.email());
             
             ResumeResponse response = resumeService.uploadResume(file, user);
             
             if (response.isSuccess()) {
-                log.info("Resume uploaded successfully for user: {}", user.getEmail());
-                return ResponseEntity.ok(response);
+                log.info("Resume uploaded successfully for user: {}", user.email());
+                return stillProcessing(response) ? ResponseEntity.accepted().body(response) : ResponseEntity.ok(response);
             } else {
-                log.warn("Resume upload failed for user: {}", user.getEmail());
+                log.warn("Resume upload failed for user: {}", user.email());
                 return ResponseEntity.badRequest().body(response);
             }
             
@@ -57,24 +60,23 @@ public class ResumeController {
     }
     
     @GetMapping("/me")
-    public ResponseEntity<ResumeResponse> getMyResume(HttpServletRequest request) {
+    public ResponseEntity<ResumeResponse> getMyResume(@AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            UUID userId = (UUID) request.getAttribute("userId");
-            
-            if (userId == null) {
+            if (user == null) {
                 return ResponseEntity.badRequest()
                         .body(new ResumeResponse(false, "Authentication failed: No user ID found", null));
             }
             
-            User user = userService.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-            
-            log.info("Getting resume for user: {}", user.getEmail());
+            log.info("Getting resume for user: {}", user.email());
             
             ResumeResponse response = resumeService.getUserResume(user);
             
             if (response.isSuccess()) {
-                return ResponseEntity.ok(response);
+                // Spring answers 304 itself when If-None-Match carries this tag
+                return ResponseEntity.ok()
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .eTag(metadataEtag(response.getResume()))
+                        .body(response);
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -87,27 +89,22 @@ public class ResumeController {
     }
     
     @DeleteMapping("/me")
-    public ResponseEntity<ResumeResponse> deleteMyResume(HttpServletRequest request) {
+    public ResponseEntity<ResumeResponse> deleteMyResume(@AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            UUID userId = (UUID) request.getAttribute("userId");
-            
-            if (userId == null) {
+            if (user == null) {
                 return ResponseEntity.badRequest()
                         .body(new ResumeResponse(false, "Authentication failed: No user ID found", null));
             }
             
-            User user = userService.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-            
-            log.info("Deleting resume for user: {}", user.getEmail());
+            log.info("Deleting resume for user: {}", user.email());
             
             ResumeResponse response = resumeService.deleteUserResume(user);
             
             if (response.isSuccess()) {
-                log.info("Resume deleted successfully for user: {}", user.getEmail());
+                log.info("Resume deleted successfully for user: {}", user.email());
                 return ResponseEntity.ok(response);
             } else {
-                log.warn("Resume deletion failed for user: {} - {}", user.getEmail(), response.getMessage());
+                log.warn("Resume deletion failed for user: {} - {}", user.email(), response.getMessage());
                 return ResponseEntity.badRequest().body(response);
             }
             
@@ -120,27 +117,22 @@ public class ResumeController {
     
     @PutMapping("/me")
     public ResponseEntity<ResumeResponse> updateMyResume(@RequestParam("file") MultipartFile file,
-                                                        HttpServletRequest request) {
+                                                        @AuthenticationPrincipal AuthenticatedUser user) {
         try {
-            UUID userId = (UUID) request.getAttribute("userId");
-            
-            if (userId == null) {
+            if (user == null) {
                 return ResponseEntity.badRequest()
                         .body(new ResumeResponse(false, "Authentication failed: No user ID found", null));
             }
             
-            User user = userService.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-            
-            log.info("Resume update attempt for user: {}", user.getEmail());
+            log.info("Resume update attempt for user: {}", user.email());
             
             ResumeResponse response = resumeService.updateResume(file, user);
             
             if (response.isSuccess()) {
-                log.info("Resume updated successfully for user: {}", user.getEmail());
-                return ResponseEntity.ok(response);
+                log.info("Resume updated successfully for user: {}", user.email());
+                return stillProcessing(response) ? ResponseEntity.accepted().body(response) : ResponseEntity.ok(response);
             } else {
-                log.warn("Resume update failed for user: {} - {}", user.getEmail(), response.getMessage());
+                log.warn("Resume update failed for user: {} - {}", user.email(), response.getMessage());
                 return ResponseEntity.badRequest().body(response);
             }
             
@@ -151,35 +143,76 @@ public class ResumeController {
         }
     }
 
+    @GetMapping("/{resumeId}/status")
+    public ResponseEntity<ResumeStatusResponse> getResumeStatus(@PathVariable UUID resumeId,
+                                                            @AuthenticationPrincipal AuthenticatedUser user) {
+        try {
+            if (user == null) {
+                return ResponseEntity.badRequest()
+                        .body(new ResumeStatusResponse(false, "Authentication failed: No user ID found", resumeId, 
+                                null, null, null, 0, null, null));
+            }
+            
+            ResumeStatusResponse response = resumeService.getProcessingStatus(resumeId, user);
+            
+            if (response.isSuccess()) {
+                return ResponseEntity.ok(response);
+            } else {
+                return ResponseEntity.status(404).body(response);
+            }
+            
+        } catch (Exception e) {
+            log.error("Error getting resume status: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new ResumeStatusResponse(false, "Error getting resume status: " + e.getMessage(), resumeId, 
+                            null, null, null, 0, null, null));
+        }
+    }
+
     @GetMapping("/{resumeId}/download")
-    public ResponseEntity<?> downloadResume(@PathVariable UUID resumeId, HttpServletRequest request) {
+    public ResponseEntity<?> downloadResume(@PathVariable UUID resumeId, @AuthenticationPrincipal AuthenticatedUser user,
+                                            HttpServletRequest request, HttpServletResponse response) {
         try {
-            UUID userId = (UUID) request.getAttribute("userId");
-            if (userId == null) {
+            if (user == null) {
                 return ResponseEntity.status(403).body("Authentication failed: No user ID found");
             }
-            User user = userService.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
             var resumeOpt = resumeService.findByIdAndUser(resumeId, user);
             if (resumeOpt.isEmpty()) {
                 return ResponseEntity.status(404).body("Resume not found");
             }
             var resume = resumeOpt.get();
-            java.nio.file.Path filePath = java.nio.file.Paths.get(resume.getFilePath());
-            if (!java.nio.file.Files.exists(filePath)) {
-                return ResponseEntity.status(404).body("File not found");
-            }
-            org.springframework.core.io.Resource fileResource = new org.springframework.core.io.UrlResource(filePath.toUri());
             String contentType = "application/octet-stream";
             if (resume.getFileType().equalsIgnoreCase("pdf")) contentType = "application/pdf";
             if (resume.getFileType().equalsIgnoreCase("doc")) contentType = "application/msword";
             if (resume.getFileType().equalsIgnoreCase("docx")) contentType = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
-            return ResponseEntity.ok()
-                    .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resume.getFileName() + "\"")
-                    .header(org.springframework.http.HttpHeaders.CONTENT_TYPE, contentType)
-                    .body(fileResource);
+            
+            // Stored files are content-addressed, so the hash is a strong validator for the bytes
+            String etag = resume.getContentHash() != null ? "\"" + resume.getContentHash() + "\"" : null;
+            FileRangeResponder.write(request, response, resumeStorage, resume.getFilePath(), contentType,
+                    resume.getFileName(), etag);
+            // Already written to the servlet response
+            return null;
+        } catch (NoSuchFileException e) {
+            return ResponseEntity.status(404).body("File not found");
         } catch (Exception e) {
+            // Part of the file is already on the wire; a 500 body would only be appended to it
+            if (response.isCommitted()) {
+                throw new ResponseAbortedException("Download of resume " + resumeId + " failed mid-transfer", e);
+            }
             return ResponseEntity.status(500).body("Error downloading resume: " + e.getMessage());
         }
     }
+
+    // Covers every field of the representation, so any change to the resume or its processing changes the tag
+    private static String metadataEtag(ResumeResponse.ResumeDto resume) {
+        String fields = String.join("|", String.valueOf(resume.getId()), resume.getFileName(),
+                String.valueOf(resume.getFileSize()), String.valueOf(resume.getUploadDate()), resume.getFileType(),
+                resume.getStatus(), String.valueOf(resume.getProcessingId()));
+        return "\"" + DigestUtils.md5DigestAsHex(fields.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // 202 while extraction and embedding finish in the background (see /{resumeId}/status); 200 when reused
+    private static boolean stillProcessing(ResumeResponse response) {
+        return response.getResume() != null && "PROCESSING".equals(response.getResume().getStatus());
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.jobfitengine.code.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchJobMatchingRequest {
+    
+    @NotNull(message = "Resume ID is required")
+    @JsonProperty("resume")
+    private String resumeId;
+    
+    @NotBlank(message = "Type is required")
+    private String type; // "full-job" or "skills-section"
+    
+    @NotEmpty(message = "At least one job description is required")
+    private List<String> jobDescriptions;
+    
+    public UUID getResumeUUID() {
+        try {
+            return UUID.fromString(resumeId);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid resume ID format: " + resumeId);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.jobfitengine.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchJobMatchingResponse {
+    private boolean success;
+    private String message;
+    private int succeeded;
+    private int failed;
+    private List<JobMatchingResponse> results; // Same order as the requested job descriptions
+}
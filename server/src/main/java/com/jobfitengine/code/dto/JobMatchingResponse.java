@@ -16,6 +16,13 @@ public class JobMatchingResponse {
     private List<MatchedSkill> matchedSkills;
     private List<MissingSkill> missingSkills;
     private Analysis analysis;
+    // A reduced analysis answered because the configured engine was unavailable
+    private boolean degraded;
+    
+    public JobMatchingResponse(boolean success, String message, double matchingScore, List<MatchedSkill> matchedSkills,
+                               List<MissingSkill> missingSkills, Analysis analysis) {
+        this(success, message, matchingScore, matchedSkills, missingSkills, analysis, false);
+    }
     
     @Data
     @NoArgsConstructor
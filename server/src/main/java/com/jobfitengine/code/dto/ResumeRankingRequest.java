@@ -0,0 +1,21 @@
+package com.jobfitengine.code.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeRankingRequest {
+    
+    @NotBlank(message = "Text area is required")
+    private String textArea;
+    
+    @Min(value = 1, message = "topK must be at least 1")
+    @Max(value = 100, message = "topK must be at most 100")
+    private int topK = 10;
+}
@@ -0,0 +1,30 @@
+package com.jobfitengine.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeRankingResponse {
+    private boolean success;
+    private String message;
+    private int indexedResumes;
+    private List<RankedResume> candidates; // Best match first
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RankedResume {
+        private UUID resumeId;
+        private String fileName;
+        private double matchingScore;
+        private double semanticSimilarity;
+        private List<String> matchedSkills;
+        private List<String> missingSkills;
+    }
+}
@@ -25,5 +25,8 @@ public class ResumeResponse {
         private LocalDateTime uploadDate;
         private String fileType;
         private String fileUrl;
+        // PROCESSING until text extraction and embedding finish, then READY or FAILED
+        private String status;
+        private UUID processingId;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.jobfitengine.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeStatusResponse {
+    private boolean success;
+    private String message;
+    private UUID resumeId;
+    private UUID processingId;
+    private String status;
+    // Last pipeline stage reached: STORED, EXTRACTING, EMBEDDING or COMPLETED
+    private String stage;
+    private int attempts;
+    private String error;
+    private LocalDateTime updatedAt;
+} 
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.jobfitengine.code.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * An IDF table learned by the local embedding provider. Resume vectors are stored under the table's
+ * model id, so the table is kept too: a restart reloads it instead of relearning one from whatever
+ * the corpus holds by then, which would leave every stored vector under a model id nothing uses.
+ */
+@Entity
+@Table(name = "local_embedding_idf")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocalEmbeddingIdf {
+    
+    @Id
+    @Column(name = "model_id")
+    private String modelId;
+    
+    @Column(name = "dimension", nullable = false)
+    private int dimension;
+    
+    // Resumes the table was learned from
+    @Column(name = "documents", nullable = false)
+    private int documents;
+    
+    // Little-endian float32 weight per bucket
+    @Column(name = "weights", nullable = false, columnDefinition = "bytea")
+    private byte[] weights;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "resumes")
+@Table(name = "resumes", indexes = {
+        @Index(name = "idx_resumes_content_hash", columnList = "content_hash"),
+        @Index(name = "idx_resumes_file_path", columnList = "file_path")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,9 +39,36 @@ public class Resume {
     @Column(name = "file_path")
     private String filePath;
     
-    @Column(name = "extracted_text", columnDefinition = "TEXT")
+    // Stored compressed in resume_contents (see ResumeTextStore); only set when loaded for matching or processing
+    @Transient
     private String extractedText;
     
+    // Where the text lived before resume_contents; moved out on startup and null from then on
+    @Column(name = "extracted_text", columnDefinition = "TEXT")
+    private String legacyExtractedText;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "processing_status")
+    private ResumeStatus processingStatus;
+    
+    // Hex SHA-256 of the uploaded file, computed while it is stored; also its name in the uploads store
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    
+    // Little-endian float32 vector produced by embedding_model
+    @Column(name = "embedding", columnDefinition = "bytea")
+    private byte[] embedding;
+    
+    // Vectors of the text's chunks back to back (see ChunkedEmbedding); embedding above is their mean
+    @Column(name = "embedding_chunks", columnDefinition = "bytea")
+    private byte[] embeddingChunks;
+    
+    @Column(name = "embedding_model")
+    private String embeddingModel;
+    
+    @Column(name = "embedding_dimension")
+    private Integer embeddingDimension;
+    
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
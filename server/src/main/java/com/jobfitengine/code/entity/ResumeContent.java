@@ -0,0 +1,52 @@
+package com.jobfitengine.code.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Extracted text of a resume, kept out of the {@code resumes} row so loading a resume for its
+ * metadata never reads it. The text is stored compressed along with its sizes, which lets a reader
+ * inflate it into a buffer of the right length in one go.
+ */
+@Entity
+@Table(name = "resume_contents")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeContent {
+    
+    @Id
+    @Column(name = "resume_id")
+    private UUID resumeId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "codec", nullable = false)
+    private Codec codec;
+    
+    // Characters in the text
+    @Column(name = "text_length", nullable = false)
+    private int textLength;
+    
+    // UTF-8 bytes before compression
+    @Column(name = "raw_size", nullable = false)
+    private int rawSize;
+    
+    @Column(name = "data", nullable = false, columnDefinition = "bytea")
+    private byte[] data;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public enum Codec {
+        // Short texts that do not shrink are stored as plain UTF-8
+        NONE,
+        DEFLATE
+    }
+}
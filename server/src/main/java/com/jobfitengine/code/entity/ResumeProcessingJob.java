@@ -0,0 +1,72 @@
+package com.jobfitengine.code.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Persistent queue entry for the background work on an uploaded resume. Jobs survive restarts:
+ * queued ones are picked up again and running ones whose heartbeat ({@code updatedAt}) is stale
+ * are requeued.
+ */
+@Entity
+@Table(name = "resume_processing_jobs", indexes = {
+        @Index(name = "idx_resume_processing_jobs_status", columnList = "status, created_at"),
+        @Index(name = "idx_resume_processing_jobs_resume", columnList = "resume_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeProcessingJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    
+    @Column(name = "resume_id", nullable = false)
+    private UUID resumeId;
+    
+    // The stored file this job was created for; a later upload supersedes it
+    @Column(name = "file_path", nullable = false)
+    private String filePath;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "stage", nullable = false)
+    private Stage stage;
+    
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    
+    @Column(name = "error", length = 1000)
+    private String error;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        DONE,
+        FAILED
+    }
+    
+    public enum Stage {
+        STORED,
+        EXTRACTING,
+        EMBEDDING,
+        COMPLETED
+    }
+}
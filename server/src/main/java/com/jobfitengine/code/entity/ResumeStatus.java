@@ -0,0 +1,8 @@
+package com.jobfitengine.code.entity;
+
+// Lifecycle of an uploaded resume; rows written before background processing existed have no status and are ready
+public enum ResumeStatus {
+    PROCESSING,
+    READY,
+    FAILED
+}
@@ -1,5 +1,6 @@
 package com.jobfitengine.code.entity;
 
+import com.jobfitengine.code.service.UserCacheInvalidator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -12,6 +13,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheInvalidator.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,6 +35,11 @@ public class User {
     @Column
     private String phone;
     
+    // Granted by an administrator in the database; null on rows from before roles means USER
+    @Enumerated(EnumType.STRING)
+    @Column(name = "role", length = 16)
+    private UserRole role = UserRole.USER;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -41,6 +48,6 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
-    @OneToOne(mappedBy = "user", fetch = FetchType.LAZY)
-    private Resume resume;
+    // No inverse side for Resume.user: Hibernate cannot proxy a mappedBy one-to-one, so it would load
+    // the resume, embedding included, with every user. ResumeRepository.findByUserId looks it up instead.
 } 
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.jobfitengine.code.entity;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+// What a user may do beyond their own resume; rows and tokens from before roles existed are plain users
+public enum UserRole {
+    USER,
+    // May rank every stored resume against a job description
+    RECRUITER,
+    // Recruiter rights plus the operational endpoints (cache stats, Actuator)
+    ADMIN;
+    
+    // Every role keeps the USER authority the rest of the API requires; built once, not per request
+    private final List<GrantedAuthority> authorities = "USER".equals(name())
+            ? List.of(new SimpleGrantedAuthority(name()))
+            : List.of(new SimpleGrantedAuthority("USER"), new SimpleGrantedAuthority(name()));
+    
+    public List<GrantedAuthority> authorities() {
+        return authorities;
+    }
+    
+    public static UserRole orDefault(UserRole role) {
+        return role == null ? USER : role;
+    }
+}
@@ -0,0 +1,13 @@
+package com.jobfitengine.code.exception;
+
+/**
+ * A failure after part of the response body has been sent. No error response can follow, so this
+ * is left to reach the servlet container, which closes the connection and the client sees a
+ * truncated transfer instead of an error body spliced into the file.
+ */
+public class ResponseAbortedException extends RuntimeException {
+
+    public ResponseAbortedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
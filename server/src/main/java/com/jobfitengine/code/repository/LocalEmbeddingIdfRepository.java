@@ -0,0 +1,13 @@
+package com.jobfitengine.code.repository;
+
+import com.jobfitengine.code.entity.LocalEmbeddingIdf;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LocalEmbeddingIdfRepository extends JpaRepository<LocalEmbeddingIdf, String> {
+    
+    Optional<LocalEmbeddingIdf> findFirstByDimensionOrderByCreatedAtDesc(int dimension);
+}
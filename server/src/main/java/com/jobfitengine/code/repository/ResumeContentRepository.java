@@ -0,0 +1,11 @@
+package com.jobfitengine.code.repository;
+
+import com.jobfitengine.code.entity.ResumeContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ResumeContentRepository extends JpaRepository<ResumeContent, UUID> {
+} 
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.jobfitengine.code.repository;
+
+import com.jobfitengine.code.entity.ResumeProcessingJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ResumeProcessingJobRepository extends JpaRepository<ResumeProcessingJob, UUID> {
+    Optional<ResumeProcessingJob> findFirstByResumeIdOrderByCreatedAtDesc(UUID resumeId);
+    List<ResumeProcessingJob> findTop100ByStatusOrderByCreatedAtAsc(ResumeProcessingJob.Status status);
+    
+    // Compare-and-set on the status, so only one worker (or instance) claims a job
+    @Modifying
+    @Transactional
+    @Query("update ResumeProcessingJob j set j.status = :to, j.updatedAt = :now where j.id = :id and j.status = :from")
+    int transition(@Param("id") UUID id,
+                   @Param("from") ResumeProcessingJob.Status from,
+                   @Param("to") ResumeProcessingJob.Status to,
+                   @Param("now") LocalDateTime now);
+    
+    // Running jobs without a heartbeat since the cutoff belonged to a worker that died
+    @Modifying
+    @Transactional
+    @Query("update ResumeProcessingJob j set j.status = :queued, j.updatedAt = :now "
+            + "where j.status = :running and j.updatedAt < :cutoff")
+    int requeueStale(@Param("running") ResumeProcessingJob.Status running,
+                     @Param("queued") ResumeProcessingJob.Status queued,
+                     @Param("cutoff") LocalDateTime cutoff,
+                     @Param("now") LocalDateTime now);
+}
@@ -1,15 +1,64 @@
 package com.jobfitengine.code.repository;
 
 import com.jobfitengine.code.entity.Resume;
-import com.jobfitengine.code.entity.User;
+import com.jobfitengine.code.entity.ResumeStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ResumeRepository extends JpaRepository<Resume, UUID> {
-    Optional<Resume> findByUser(User user);
-    Optional<Resume> findByUserAndId(User user, UUID id);
+    // By the user_id column, so callers need only the id from the token, not a loaded User
+    Optional<Resume> findByUserId(UUID userId);
+    Optional<Resume> findByUserIdAndId(UUID userId, UUID id);
+    // Metadata endpoints read these; they select neither the embedding nor any text
+    Optional<ResumeSummary> findSummaryByUserId(UUID userId);
+    Optional<ResumeSummary> findSummaryByUserIdAndId(UUID userId, UUID id);
+    Optional<Resume> findFirstByContentHashAndProcessingStatus(String contentHash, ResumeStatus processingStatus);
+    long countByFilePath(String filePath);
+    long countByContentHash(String contentHash);
+    
+    // Loads only the vectors, not the extracted text, when building the in-memory index
+    @Query("select r.id as id, r.embedding as embedding from Resume r "
+            + "where r.embeddingModel = :model and r.embedding is not null order by r.id")
+    Slice<StoredEmbedding> findEmbeddingsByModel(@Param("model") String model, Pageable pageable);
+    
+    interface StoredEmbedding {
+        UUID getId();
+        byte[] getEmbedding();
+    }
+    
+    // Text still in the resumes row from before resume_contents
+    @Query("select r.id as id, r.legacyExtractedText as text from Resume r "
+            + "where r.legacyExtractedText is not null order by r.id")
+    Slice<LegacyText> findLegacyText(Pageable pageable);
+    
+    @Modifying
+    @Transactional
+    @Query("update Resume r set r.legacyExtractedText = null where r.id in :ids")
+    int clearLegacyText(@Param("ids") Collection<UUID> ids);
+    
+    interface LegacyText {
+        UUID getId();
+        String getText();
+    }
+    
+    record ResumeSummary(UUID id, String fileName, Long fileSize, String fileType, LocalDateTime uploadDate,
+                         LocalDateTime updatedAt, ResumeStatus processingStatus) {
+        
+        public static ResumeSummary of(Resume resume) {
+            return new ResumeSummary(resume.getId(), resume.getFileName(), resume.getFileSize(), resume.getFileType(),
+                    resume.getUploadDate(), resume.getUpdatedAt(), resume.getProcessingStatus());
+        }
+    }
 } 
\ No newline at end of file
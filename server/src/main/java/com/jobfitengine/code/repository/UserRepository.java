@@ -1,6 +1,7 @@
 package com.jobfitengine.code.repository;
 
 import com.jobfitengine.code.entity.User;
+import com.jobfitengine.code.entity.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +12,13 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+    // Selects neither the password hash nor anything else the caller could change
+    Optional<UserSummary> findSummaryById(UUID id);
+    
+    record UserSummary(UUID id, String email, String name, UserRole role) {
+        
+        public static UserSummary of(User user) {
+            return new UserSummary(user.getId(), user.getEmail(), user.getName(), user.getRole());
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.jobfitengine.code.security;
+
+import com.jobfitengine.code.service.JwtService;
+
+import java.util.UUID;
+
+/**
+ * The caller as established by a verified JWT. Controllers receive it through
+ * {@code @AuthenticationPrincipal} and authorize against its id, so the {@code users} row is only
+ * loaded by operations that need the entity itself.
+ */
+public record AuthenticatedUser(UUID id, String email) {
+    
+    public static AuthenticatedUser from(JwtService.VerifiedToken token) {
+        return new AuthenticatedUser(token.userId(), token.email());
+    }
+} 
\ No newline at end of file
@@ -1,7 +1,8 @@
 package com.jobfitengine.code.security;
 
 import com.jobfitengine.code.service.JwtService;
-import com.jobfitengine.code.service.UserService;
+import com.jobfitengine.code.service.PipelineMetrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,22 +11,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
 
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
-    private final UserService userService;
+    private final PipelineMetrics metrics;
     
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
@@ -55,7 +51,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
         
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -64,28 +59,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         jwt = authHeader.substring(7);
         
+        Timer.Sample sample = metrics.start();
+        String outcome = PipelineMetrics.FAILURE;
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            // Parsed and verified once; everything below reads the result
+            JwtService.VerifiedToken token = jwtService.verify(jwt);
             
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-                
-                if (jwtService.isTokenValid(jwt, userDetails.getUsername())) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    
-                    // Add user ID to request attributes for easy access in controllers
-                    UUID userId = jwtService.extractUserId(jwt);
-                    request.setAttribute("userId", userId);
-                }
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // The signature vouches for the user; no database lookup on the request path
+                UsernamePasswordAuthenticationToken authToken = UsernamePasswordAuthenticationToken.authenticated(
+                        AuthenticatedUser.from(token), null, token.role().authorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
+            outcome = PipelineMetrics.SUCCESS;
         } catch (Exception e) {
             log.error("Error processing JWT token: {}", e.getMessage());
+        } finally {
+            metrics.stop(sample, PipelineMetrics.JWT_AUTH, "outcome", outcome);
         }
         
         filterChain.doFilter(request, response);
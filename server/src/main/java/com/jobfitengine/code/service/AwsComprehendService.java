@@ -1,125 +1,219 @@
 package com.jobfitengine.code.service;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.comprehend.ComprehendClient;
-import software.amazon.awssdk.services.comprehend.model.*;
+import software.amazon.awssdk.services.comprehend.ComprehendAsyncClient;
+import software.amazon.awssdk.services.comprehend.model.BatchDetectEntitiesItemResult;
+import software.amazon.awssdk.services.comprehend.model.BatchDetectEntitiesRequest;
+import software.amazon.awssdk.services.comprehend.model.BatchDetectKeyPhrasesItemResult;
+import software.amazon.awssdk.services.comprehend.model.BatchDetectKeyPhrasesRequest;
+import software.amazon.awssdk.services.comprehend.model.BatchDetectSyntaxItemResult;
+import software.amazon.awssdk.services.comprehend.model.BatchDetectSyntaxRequest;
+import software.amazon.awssdk.services.comprehend.model.BatchItemError;
+import software.amazon.awssdk.services.comprehend.model.Entity;
+import software.amazon.awssdk.services.comprehend.model.KeyPhrase;
+import software.amazon.awssdk.services.comprehend.model.LanguageCode;
+import software.amazon.awssdk.services.comprehend.model.PartOfSpeechTagType;
+import software.amazon.awssdk.services.comprehend.model.SyntaxLanguageCode;
+import software.amazon.awssdk.services.comprehend.model.SyntaxToken;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Skill, entity and technical-term extraction with Amazon Comprehend. Text is split on sentence
+ * boundaries into documents under the per-document byte limit, and the documents go out through the
+ * batch APIs, up to 25 per call, with every call of a text in flight at once. Results are merged in
+ * document order and deduplicated. A failed call leaves its documents out rather than failing the
+ * whole text.
+ * <p>
+ * Nothing in the matching pipeline calls this: skills come from {@link SkillDictionary} in
+ * {@link LocalMatchEngine} or from the Python matcher, neither of which needs a paid network call per
+ * resume. It is only created, with its client, when {@code aws.comprehend.enabled} is true.
+ */
 @Service
+@ConditionalOnProperty(name = "aws.comprehend.enabled", havingValue = "true")
 @RequiredArgsConstructor
 @Slf4j
 public class AwsComprehendService {
     
-    @Value("${aws.region}")
-    private String region;
+    // Most documents a Comprehend batch call accepts
+    private static final int BATCH_SIZE = 25;
     
-    private ComprehendClient comprehendClient;
+    private final ComprehendAsyncClient comprehendClient;
+    private final SkillDictionary skillDictionary;
+    private final PipelineMetrics metrics;
     
-    private ComprehendClient getComprehendClient() {
-        if (comprehendClient == null) {
-            comprehendClient = ComprehendClient.builder()
-                    .region(Region.of(region))
-                    .build();
-        }
-        return comprehendClient;
-    }
+    // BatchDetectSyntax caps documents at 5,000 UTF-8 bytes, the tightest of the three APIs
+    @Value("${aws.comprehend.max-document-bytes:5000}")
+    private int maxDocumentBytes = 5000;
     
     public List<String> extractSkills(String text) {
-        try {
-            // Use Key Phrases detection to identify skills
-            DetectKeyPhrasesRequest request = DetectKeyPhrasesRequest.builder()
-                    .text(text)
-                    .languageCode(LanguageCode.EN)
-                    .build();
-            
-            DetectKeyPhrasesResponse response = getComprehendClient().detectKeyPhrases(request);
-            
-            List<String> skills = response.keyPhrases().stream()
-                    .map(KeyPhrase::text)
-                    .filter(this::isLikelySkill)
-                    .distinct()
-                    .collect(Collectors.toList());
-            
-            log.info("Extracted {} skills from text", skills.size());
-            return skills;
-            
-        } catch (Exception e) {
-            log.error("Error extracting skills from text: {}", e.getMessage());
-            return List.of();
-        }
+        return detectKeyPhrases(split(text)).join();
     }
     
     public List<String> extractEntities(String text) {
-        try {
-            DetectEntitiesRequest request = DetectEntitiesRequest.builder()
-                    .text(text)
-                    .languageCode(LanguageCode.EN)
-                    .build();
-            
-            DetectEntitiesResponse response = getComprehendClient().detectEntities(request);
-            
-            List<String> entities = response.entities().stream()
-                    .map(Entity::text)
-                    .distinct()
-                    .collect(Collectors.toList());
-            
-            log.info("Extracted {} entities from text", entities.size());
-            return entities;
-            
-        } catch (Exception e) {
-            log.error("Error extracting entities from text: {}", e.getMessage());
-            return List.of();
-        }
+        return detectEntities(split(text)).join();
     }
     
     public List<String> extractTechnicalTerms(String text) {
-        try {
-            // Use syntax analysis to identify technical terms
-            DetectSyntaxRequest request = DetectSyntaxRequest.builder()
-                    .text(text)
-                    .languageCode(SyntaxLanguageCode.EN)
-                    .build();
-            
-            DetectSyntaxResponse response = getComprehendClient().detectSyntax(request);
-            
-            List<String> technicalTerms = response.syntaxTokens().stream()
-                    .filter(token -> isTechnicalTerm(token))
-                    .map(SyntaxToken::text)
-                    .distinct()
-                    .collect(Collectors.toList());
-            
-            log.info("Extracted {} technical terms from text", technicalTerms.size());
-            return technicalTerms;
-            
-        } catch (Exception e) {
-            log.error("Error extracting technical terms from text: {}", e.getMessage());
-            return List.of();
+        return detectSyntax(split(text)).join();
+    }
+    
+    // All three analyses of one text, sent concurrently
+    public ComprehendAnalysis analyze(String text) {
+        List<String> documents = split(text);
+        CompletableFuture<List<String>> skills = detectKeyPhrases(documents);
+        CompletableFuture<List<String>> entities = detectEntities(documents);
+        CompletableFuture<List<String>> technicalTerms = detectSyntax(documents);
+        return new ComprehendAnalysis(skills.join(), entities.join(), technicalTerms.join());
+    }
+    
+    public record ComprehendAnalysis(List<String> skills, List<String> entities, List<String> technicalTerms) {
+    }
+    
+    private CompletableFuture<List<String>> detectKeyPhrases(List<String> documents) {
+        return inBatches(documents, "key_phrases", batch -> comprehendClient.batchDetectKeyPhrases(
+                        BatchDetectKeyPhrasesRequest.builder()
+                                .textList(batch)
+                                .languageCode(LanguageCode.EN)
+                                .build())
+                .thenApply(response -> new BatchResult(
+                        response.resultList().stream()
+                                .sorted(Comparator.comparing(BatchDetectKeyPhrasesItemResult::index))
+                                .flatMap(item -> item.keyPhrases().stream())
+                                .map(KeyPhrase::text)
+                                .toList(),
+                        response.errorList())))
+                .thenApply(phrases -> {
+                    List<String> skills = filterSkills(phrases);
+                    log.info("Extracted {} skills from text", skills.size());
+                    return skills;
+                });
+    }
+    
+    private CompletableFuture<List<String>> detectEntities(List<String> documents) {
+        return inBatches(documents, "entities", batch -> comprehendClient.batchDetectEntities(
+                        BatchDetectEntitiesRequest.builder()
+                                .textList(batch)
+                                .languageCode(LanguageCode.EN)
+                                .build())
+                .thenApply(response -> new BatchResult(
+                        response.resultList().stream()
+                                .sorted(Comparator.comparing(BatchDetectEntitiesItemResult::index))
+                                .flatMap(item -> item.entities().stream())
+                                .map(Entity::text)
+                                .toList(),
+                        response.errorList())))
+                .thenApply(texts -> {
+                    List<String> entities = texts.stream().distinct().collect(Collectors.toList());
+                    log.info("Extracted {} entities from text", entities.size());
+                    return entities;
+                });
+    }
+    
+    private CompletableFuture<List<String>> detectSyntax(List<String> documents) {
+        return inBatches(documents, "syntax", batch -> comprehendClient.batchDetectSyntax(
+                        BatchDetectSyntaxRequest.builder()
+                                .textList(batch)
+                                .languageCode(SyntaxLanguageCode.EN)
+                                .build())
+                .thenApply(response -> new BatchResult(
+                        response.resultList().stream()
+                                .sorted(Comparator.comparing(BatchDetectSyntaxItemResult::index))
+                                .flatMap(item -> item.syntaxTokens().stream())
+                                .filter(this::isTechnicalTerm)
+                                .map(SyntaxToken::text)
+                                .toList(),
+                        response.errorList())))
+                .thenApply(terms -> {
+                    List<String> technicalTerms = terms.stream().distinct().collect(Collectors.toList());
+                    log.info("Extracted {} technical terms from text", technicalTerms.size());
+                    return technicalTerms;
+                });
+    }
+    
+    private List<String> split(String text) {
+        return text == null ? List.of() : TextChunker.splitByBytes(text, maxDocumentBytes);
+    }
+    
+    /**
+     * Sends the documents in batches of {@link #BATCH_SIZE}, all at once, and concatenates the
+     * results in document order. Never completes exceptionally: a failed batch contributes nothing
+     * and is reported in the outcome tag.
+     */
+    private CompletableFuture<List<String>> inBatches(List<String> documents, String operation,
+                                                      Function<List<String>, CompletableFuture<BatchResult>> call) {
+        if (documents.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
         }
+        Timer.Sample sample = metrics.start();
+        
+        List<CompletableFuture<BatchResult>> batches = new ArrayList<>();
+        for (int from = 0; from < documents.size(); from += BATCH_SIZE) {
+            List<String> batch = documents.subList(from, Math.min(from + BATCH_SIZE, documents.size()));
+            CompletableFuture<BatchResult> result;
+            try {
+                result = call.apply(batch);
+            } catch (Exception e) {
+                result = CompletableFuture.failedFuture(e);
+            }
+            batches.add(result.exceptionally(e -> {
+                log.error("Comprehend {} batch failed: {}", operation, e.getMessage());
+                return null;
+            }));
+        }
+        
+        return CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            List<String> merged = new ArrayList<>();
+            int failedDocuments = 0;
+            for (int i = 0; i < batches.size(); i++) {
+                BatchResult result = batches.get(i).join();
+                if (result == null) {
+                    failedDocuments += Math.min(BATCH_SIZE, documents.size() - i * BATCH_SIZE);
+                    continue;
+                }
+                for (BatchItemError error : result.errors()) {
+                    log.warn("Comprehend {} skipped document {}: {} {}",
+                            operation, i * BATCH_SIZE + error.index(), error.errorCode(), error.errorMessage());
+                }
+                failedDocuments += result.errors().size();
+                merged.addAll(result.values());
+            }
+            
+            String outcome = failedDocuments == 0 ? PipelineMetrics.SUCCESS
+                    : failedDocuments == documents.size() ? PipelineMetrics.FAILURE
+                    : PipelineMetrics.PARTIAL;
+            metrics.stop(sample, PipelineMetrics.COMPREHEND, "operation", operation, "outcome", outcome);
+            return merged;
+        });
+    }
+    
+    private record BatchResult(List<String> values, List<BatchItemError> errors) {
+    }
+    
+    // Key phrases that look like skills, without duplicates, in their original order
+    public List<String> filterSkills(List<String> phrases) {
+        return phrases.stream()
+                .filter(this::isLikelySkill)
+                .distinct()
+                .collect(Collectors.toList());
     }
     
     private boolean isLikelySkill(String phrase) {
         // Filter for likely skills - technical terms, programming languages, frameworks, etc.
         String lowerPhrase = phrase.toLowerCase();
         
-        // Common technical skills
-        String[] technicalSkills = {
-            "java", "python", "javascript", "typescript", "c++", "c#", "php", "ruby", "go", "rust",
-            "spring", "react", "angular", "vue", "node.js", "express", "django", "flask", "laravel",
-            "aws", "azure", "gcp", "docker", "kubernetes", "jenkins", "git", "sql", "mongodb",
-            "redis", "elasticsearch", "kafka", "rabbitmq", "microservices", "rest", "graphql",
-            "html", "css", "bootstrap", "tailwind", "jquery", "webpack", "babel", "jest", "junit"
-        };
-        
-        for (String skill : technicalSkills) {
-            if (lowerPhrase.contains(skill)) {
-                return true;
-            }
+        if (skillDictionary.containsSkill(lowerPhrase)) {
+            return true;
         }
         
         // Check for patterns like "X years of experience" or "proficient in X"
@@ -0,0 +1,104 @@
+package com.jobfitengine.code.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fixed pool that scores batch items. Its size caps how many job descriptions are analyzed at once
+ * across all batch requests, and the bounded queue makes excess work fail fast per item instead of
+ * piling up behind a slow engine. Kept as a plain component rather than an {@code Executor} bean so
+ * Spring Boot's default task executor stays in place.
+ * <p>
+ * When virtual threads are enabled ({@code spring.threads.virtual.enabled} on Java 21+) each item
+ * gets its own virtual thread instead, and two semaphores keep the same concurrency and queue limits.
+ */
+@Component
+@Slf4j
+public class BatchMatchExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final VirtualThreadTaskExecutor virtualExecutor;
+    private final Semaphore running;
+    private final Semaphore admitted;
+
+    @Autowired
+    public BatchMatchExecutor(@Value("${matcher.batch.concurrency:8}") int concurrency,
+                              @Value("${matcher.batch.queue-capacity:1000}") int queueCapacity,
+                              Environment environment) {
+        this(concurrency, queueCapacity, Threading.VIRTUAL.isActive(environment));
+    }
+
+    public BatchMatchExecutor(int concurrency, int queueCapacity) {
+        this(concurrency, queueCapacity, false);
+    }
+
+    public BatchMatchExecutor(int concurrency, int queueCapacity, boolean virtualThreads) {
+        if (virtualThreads) {
+            this.executor = null;
+            this.virtualExecutor = new VirtualThreadTaskExecutor("batch-match-");
+            this.running = new Semaphore(concurrency);
+            this.admitted = new Semaphore(concurrency + queueCapacity);
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "batch-match-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            this.executor.allowCoreThreadTimeOut(true);
+            this.virtualExecutor = null;
+            this.running = null;
+            this.admitted = null;
+        }
+        log.info("Batch matching limited to {} concurrent analyses (queue capacity {}, {} threads)",
+                concurrency, queueCapacity, virtualThreads ? "virtual" : "platform");
+    }
+
+    // Completes exceptionally with RejectedExecutionException when the queue is full
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        if (virtualExecutor == null) {
+            try {
+                return CompletableFuture.supplyAsync(task, executor);
+            } catch (RejectedExecutionException e) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException("Batch matching queue is full", e));
+            }
+        }
+
+        if (!admitted.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Batch matching queue is full"));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            running.acquireUninterruptibly();
+            try {
+                return task.get();
+            } finally {
+                running.release();
+                admitted.release();
+            }
+        }, virtualExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,103 +1,267 @@
 package com.jobfitengine.code.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeAsyncClient;
 import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelRequest;
 import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelResponse;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * The {@code bedrock} {@link EmbeddingProvider}: Titan embeddings through the async Bedrock client.
+ * At most {@code aws.bedrock.max-concurrency} calls are in flight at once, keeping bursts under the
+ * account's invocation quota; further calls wait in a queue of {@code aws.bedrock.queue-capacity}
+ * and anything beyond that gets an empty embedding straight away, so callers fall back to the
+ * lexical similarity instead of piling up. Concurrent requests for the same text share one call,
+ * and finished embeddings are cached by the text's hash. Long texts are embedded as
+ * {@link TextChunker} chunks, all in parallel; since the cache sees each chunk, an edited resume
+ * only re-embeds the chunks whose text changed.
+ */
 @Service
+@ConditionalOnProperty(name = "matcher.embedding.provider", havingValue = BedrockEmbeddingService.NAME, matchIfMissing = true)
 @Slf4j
-public class BedrockEmbeddingService {
+public class BedrockEmbeddingService implements EmbeddingProvider, MeterBinder {
     
-    private final BedrockRuntimeClient bedrockClient;
+    public static final String NAME = "bedrock";
+    
+    private final BedrockRuntimeAsyncClient bedrockClient;
     private final ObjectMapper objectMapper;
+    private final PipelineMetrics metrics;
+    private final TextChunker chunker;
+    private final Semaphore permits;
+    private final int queueCapacity;
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    // In-flight (or waiting) calls by SHA-256 of the text; removed as soon as the call completes
+    private final Map<String, CompletableFuture<Embedding>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, Embedding> embeddings;
     
     @Value("${aws.region}")
     private String region;
     
-    public BedrockEmbeddingService(BedrockRuntimeClient bedrockClient) {
+    @Value("${aws.bedrock.embedding-model:amazon.titan-embed-text-v1}")
+    private String embeddingModelId;
+    
+    public BedrockEmbeddingService(BedrockRuntimeAsyncClient bedrockClient, PipelineMetrics metrics, TextChunker chunker,
+                                   @Value("${aws.bedrock.max-concurrency:8}") int maxConcurrency,
+                                   @Value("${aws.bedrock.queue-capacity:500}") int queueCapacity,
+                                   @Value("${aws.bedrock.cache.max-size:20000}") long cacheSize) {
         this.bedrockClient = bedrockClient;
         this.objectMapper = new ObjectMapper();
+        this.metrics = metrics;
+        this.chunker = chunker;
+        this.permits = new Semaphore(maxConcurrency);
+        this.queueCapacity = queueCapacity;
+        this.embeddings = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, embeddings, "embeddings");
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
     }
     
-    public List<Double> generateEmbedding(String text) {
+    public Embedding generateEmbedding(String text) {
+        return generateEmbeddingAsync(text).join();
+    }
+    
+    // Empty when the text is blank or any chunk could not be embedded
+    @Override
+    public CompletableFuture<ChunkedEmbedding> embedChunksAsync(String text) {
+        List<CompletableFuture<Embedding>> chunks = chunker.chunk(text).stream()
+                .map(this::generateEmbeddingAsync)
+                .toList();
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+                .thenApply(done -> ChunkedEmbedding.of(chunks.stream().map(CompletableFuture::join).toList()));
+    }
+    
+    // Never completes exceptionally; failures, throttling and a full queue all give Embedding.EMPTY
+    public CompletableFuture<Embedding> generateEmbeddingAsync(String text) {
+        String key = textHash(text);
+        Embedding cached = embeddings.getIfPresent(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<Embedding> existing = inFlight.get(key);
+        if (existing != null) {
+            metrics.count(PipelineMetrics.BEDROCK_REQUESTS, "result", "coalesced");
+            return existing;
+        }
+        
+        CompletableFuture<Embedding> call = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            metrics.count(PipelineMetrics.BEDROCK_REQUESTS, "result", "coalesced");
+            return existing;
+        }
+        call.whenComplete((embedding, error) -> {
+            if (embedding != null && !embedding.isEmpty()) {
+                embeddings.put(key, embedding);
+            }
+            inFlight.remove(key, call);
+        });
+        
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            metrics.count(PipelineMetrics.BEDROCK_REQUESTS, "result", "rejected");
+            log.warn("Bedrock embedding queue is full ({} waiting); skipping embedding", queueCapacity);
+            call.complete(Embedding.EMPTY);
+            return call;
+        }
+        metrics.count(PipelineMetrics.BEDROCK_REQUESTS, "result", "invoked");
+        waiting.add(() -> invoke(text).whenComplete((embedding, error) -> {
+            permits.release();
+            call.complete(embedding);
+            drain();
+        }));
+        drain();
+        return call;
+    }
+    
+    // Starts waiting calls while permits are free; every release drains again, so none is left behind
+    private void drain() {
+        while (!waiting.isEmpty() && permits.tryAcquire()) {
+            Runnable next = waiting.poll();
+            if (next == null) {
+                permits.release();
+                continue;
+            }
+            queued.decrementAndGet();
+            next.run();
+        }
+    }
+    
+    private CompletableFuture<Embedding> invoke(String text) {
+        Timer.Sample sample = metrics.start();
+        CompletableFuture<InvokeModelResponse> response;
         try {
-            // Prepare the request payload for Titan embedding model
-            String requestBody = String.format(
-                "{\"inputText\": \"%s\"}",
-                text.replace("\"", "\\\"")
-            );
+            metrics.recordTextLength("embedding_input", text.length());
             
+            // Titan request payload; Jackson escapes quotes, backslashes and control characters in the text
             InvokeModelRequest request = InvokeModelRequest.builder()
-                .modelId("amazon.titan-embed-text-v1")
-                .body(software.amazon.awssdk.core.SdkBytes.fromUtf8String(requestBody))
+                .modelId(embeddingModelId)
+                .contentType("application/json")
+                .body(SdkBytes.fromByteArrayUnsafe(objectMapper.writeValueAsBytes(Map.of("inputText", text))))
                 .build();
             
-            InvokeModelResponse response = bedrockClient.invokeModel(request);
-            String responseBody = response.body().asUtf8String();
-            
-            // Parse the response to extract embedding
-            JsonNode jsonResponse = objectMapper.readTree(responseBody);
-            JsonNode embeddingNode = jsonResponse.get("embedding");
-            
-            if (embeddingNode != null && embeddingNode.isArray()) {
-                List<Double> embedding = new ArrayList<>();
-                for (JsonNode value : embeddingNode) {
-                    embedding.add(value.asDouble());
+            response = bedrockClient.invokeModel(request);
+        } catch (Exception e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        
+        return response.handle((result, error) -> {
+            String outcome = PipelineMetrics.FAILURE;
+            try {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    log.error("Error generating embedding: {}", cause.getMessage(), cause);
+                    return Embedding.EMPTY;
+                }
+                
+                // Stream the "embedding" array straight into a float[]
+                Embedding embedding;
+                try (InputStream body = result.body().asInputStream()) {
+                    embedding = parseEmbedding(body);
+                }
+                
+                if (embedding.isEmpty()) {
+                    outcome = PipelineMetrics.EMPTY;
+                    log.warn("No embedding found in response from model {}", embeddingModelId);
+                } else {
+                    outcome = PipelineMetrics.SUCCESS;
+                    log.info("Generated embedding with {} dimensions", embedding.dimension());
                 }
-                log.info("Generated embedding with {} dimensions", embedding.size());
                 return embedding;
-            } else {
-                log.warn("No embedding found in response: {}", responseBody);
-                return List.of();
+                
+            } catch (Exception e) {
+                log.error("Error reading embedding response: {}", e.getMessage(), e);
+                return Embedding.EMPTY;
+            } finally {
+                metrics.stop(sample, PipelineMetrics.BEDROCK, "outcome", outcome);
             }
-            
-        } catch (Exception e) {
-            log.error("Error generating embedding: {}", e.getMessage(), e);
-            return List.of();
-        }
+        });
     }
     
-    public double calculateCosineSimilarity(List<Double> embedding1, List<Double> embedding2) {
-        if (embedding1.isEmpty() || embedding2.isEmpty() || embedding1.size() != embedding2.size()) {
-            return 0.0;
-        }
-        
-        double dotProduct = 0.0;
-        double norm1 = 0.0;
-        double norm2 = 0.0;
-        
-        for (int i = 0; i < embedding1.size(); i++) {
-            double val1 = embedding1.get(i);
-            double val2 = embedding2.get(i);
-            
-            dotProduct += val1 * val2;
-            norm1 += val1 * val1;
-            norm2 += val2 * val2;
+    @Override
+    public String getModelId() {
+        return embeddingModelId;
+    }
+    
+    public double calculateCosineSimilarity(Embedding embedding1, Embedding embedding2) {
+        return embedding1.cosineSimilarity(embedding2);
+    }
+    
+    Embedding parseEmbedding(InputStream body) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return Embedding.EMPTY;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("embedding".equals(field) && value == JsonToken.START_ARRAY) {
+                    return Embedding.of(readFloats(parser));
+                }
+                parser.skipChildren();
+            }
+            return Embedding.EMPTY;
         }
-        
-        norm1 = Math.sqrt(norm1);
-        norm2 = Math.sqrt(norm2);
-        
-        if (norm1 == 0.0 || norm2 == 0.0) {
-            return 0.0;
+    }
+    
+    private float[] readFloats(JsonParser parser) throws IOException {
+        float[] values = new float[1536];
+        int size = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = parser.getFloatValue();
         }
-        
-        return dotProduct / (norm1 * norm2);
+        return Arrays.copyOf(values, size);
     }
     
-    public double calculateSemanticSimilarity(String text1, String text2) {
-        List<Double> embedding1 = generateEmbedding(text1);
-        List<Double> embedding2 = generateEmbedding(text2);
-        
-        return calculateCosineSimilarity(embedding1, embedding2);
+    private String textHash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.jobfitengine.code.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The embeddings of a text's chunks (see {@link TextChunker}) and their normalized mean. The mean
+ * stands in for the whole text wherever one vector is needed, such as the resume index; similarity
+ * between two chunked texts also credits the best-matching chunk pairs, so one strongly relevant
+ * section is not averaged away in a long document. A single-chunk text behaves exactly like its
+ * plain {@link Embedding}.
+ */
+public final class ChunkedEmbedding {
+
+    public static final ChunkedEmbedding EMPTY = new ChunkedEmbedding(List.of(), Embedding.EMPTY);
+
+    // Share of the score from the mean vectors; the rest comes from the best chunk matches
+    private static final double MEAN_WEIGHT = 0.5;
+
+    private final List<Embedding> chunks;
+    private final Embedding mean;
+
+    private ChunkedEmbedding(List<Embedding> chunks, Embedding mean) {
+        this.chunks = chunks;
+        this.mean = mean;
+    }
+
+    // Empty when any chunk is empty: a partial document would skew the similarity
+    public static ChunkedEmbedding of(List<Embedding> chunks) {
+        if (chunks.isEmpty() || chunks.stream().anyMatch(Embedding::isEmpty)) {
+            return EMPTY;
+        }
+        int dimension = chunks.get(0).dimension();
+        if (chunks.stream().anyMatch(chunk -> chunk.dimension() != dimension)) {
+            return EMPTY;
+        }
+        if (chunks.size() == 1) {
+            return new ChunkedEmbedding(List.copyOf(chunks), chunks.get(0));
+        }
+
+        float[] sum = new float[dimension];
+        for (Embedding chunk : chunks) {
+            float[] values = chunk.toArray();
+            for (int i = 0; i < dimension; i++) {
+                sum[i] += values[i];
+            }
+        }
+        return new ChunkedEmbedding(List.copyOf(chunks), Embedding.of(sum));
+    }
+
+    // Little-endian float32 chunk vectors back to back, as written by toBytes()
+    public static ChunkedEmbedding fromBytes(byte[] bytes, int dimension) {
+        int stride = dimension * Float.BYTES;
+        if (dimension <= 0 || bytes.length == 0 || bytes.length % stride != 0) {
+            return EMPTY;
+        }
+        Embedding[] chunks = new Embedding[bytes.length / stride];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = Embedding.fromBytes(Arrays.copyOfRange(bytes, i * stride, (i + 1) * stride));
+        }
+        return of(Arrays.asList(chunks));
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(chunks.size() * mean.dimension() * Float.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        for (Embedding chunk : chunks) {
+            buffer.put(chunk.toBytes());
+        }
+        return buffer.array();
+    }
+
+    public Embedding mean() {
+        return mean;
+    }
+
+    public List<Embedding> chunks() {
+        return chunks;
+    }
+
+    public int dimension() {
+        return mean.dimension();
+    }
+
+    public boolean isEmpty() {
+        return chunks.isEmpty();
+    }
+
+    /**
+     * Mean-vector cosine blended with the average, over this text's chunks, of each chunk's best
+     * cosine against the other text's chunks. Call it on the job description so every requirement
+     * looks for its closest resume section.
+     */
+    public double similarity(ChunkedEmbedding other) {
+        if (isEmpty() || other.isEmpty() || dimension() != other.dimension()) {
+            return 0.0;
+        }
+        double meanSimilarity = mean.cosineSimilarity(other.mean);
+        if (chunks.size() == 1 && other.chunks.size() == 1) {
+            return meanSimilarity;
+        }
+
+        double bestMatches = 0;
+        for (Embedding chunk : chunks) {
+            double best = -1.0;
+            for (Embedding candidate : other.chunks) {
+                best = Math.max(best, chunk.cosineSimilarity(candidate));
+            }
+            bestMatches += best;
+        }
+        return MEAN_WEIGHT * meanSimilarity + (1 - MEAN_WEIGHT) * (bestMatches / chunks.size());
+    }
+
+    @Override
+    public String toString() {
+        return "ChunkedEmbedding[chunks=" + chunks.size() + ", dimension=" + dimension() + "]";
+    }
+}
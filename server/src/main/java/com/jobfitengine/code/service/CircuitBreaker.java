@@ -0,0 +1,134 @@
+package com.jobfitengine.code.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker around a remote dependency. While closed it keeps the outcomes of the
+ * last {@code window} calls and opens once the share of failures among them reaches
+ * {@code failureRate}. While open it refuses every call for {@code openDuration}, then lets a single
+ * trial call through (half-open): a success closes it with a fresh window, a failure opens it again.
+ */
+@Slf4j
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    // True where the call failed, as a ring over the last window calls
+    private final boolean[] outcomes;
+    private final double failureRate;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(String name, int window, double failureRate, Duration openDuration) {
+        this(name, window, failureRate, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int window, double failureRate, Duration openDuration, LongSupplier clock) {
+        if (window <= 0 || failureRate <= 0 || failureRate > 1) {
+            throw new IllegalArgumentException("Circuit breaker needs a positive window and a failure rate in (0, 1]");
+        }
+        this.name = name;
+        this.outcomes = new boolean[window];
+        this.failureRate = failureRate;
+        this.openNanos = openDuration.toNanos();
+        this.clock = clock;
+    }
+
+    // False when the call must not be made; every true must be followed by exactly one outcome call
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        record(true);
+    }
+
+    // The call ended without an outcome, e.g. its caller cancelled it
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (state == State.HALF_OPEN) {
+            if (failure) {
+                open();
+            } else {
+                log.info("Circuit {} closed after a successful trial call", name);
+                reset();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // A call started before the circuit opened
+            return;
+        }
+
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+
+        if (recorded == outcomes.length && failures >= failureRate * recorded) {
+            log.warn("Circuit {} opened: {} of the last {} calls failed", name, failures, recorded);
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        trialInFlight = false;
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        trialInFlight = false;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+        Arrays.fill(outcomes, false);
+    }
+}
@@ -1,9 +1,16 @@
 package com.jobfitengine.code.service;
 
 import lombok.extern.slf4j.Slf4j;
-import org.apache.tika.Tika;
 import org.apache.tika.exception.TikaException;
+import org.apache.tika.exception.WriteLimitReachedException;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.sax.BodyContentHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.xml.sax.SAXException;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -12,33 +19,51 @@ import java.io.InputStream;
 @Slf4j
 public class DocumentTextExtractionService {
     
-    private final Tika tika;
+    private final Parser parser;
+    private final int maxTextChars;
     
-    public DocumentTextExtractionService() {
-        this.tika = new Tika();
-        // Tika will handle large files automatically
+    public DocumentTextExtractionService(@Value("${file.upload.max-text-chars:100000}") int maxTextChars) {
+        this.parser = new AutoDetectParser();
+        // Caps the text buffered per document; parsing stops once it is reached
+        this.maxTextChars = maxTextChars;
     }
     
     public String extractText(InputStream inputStream) {
+        return extract(inputStream).text();
+    }
+    
+    // Streams the document through the parser; text beyond the limit is dropped and flagged as truncated
+    public ExtractedText extract(InputStream inputStream) {
+        BodyContentHandler handler = new BodyContentHandler(maxTextChars);
+        boolean truncated = false;
         try {
-            String extractedText = tika.parseToString(inputStream);
-            
-            // Clean up the extracted text
-            if (extractedText != null) {
-                extractedText = extractedText.trim();
-                // Remove excessive whitespace and normalize line breaks
-                extractedText = extractedText.replaceAll("\\s+", " ");
-                extractedText = extractedText.replaceAll("\\n\\s*\\n", "\n");
+            parser.parse(inputStream, handler, new Metadata(), new ParseContext());
+        } catch (SAXException e) {
+            if (!WriteLimitReachedException.isWriteLimitReached(e)) {
+                log.error("Error extracting text from document: {}", e.getMessage());
+                throw new RuntimeException("Failed to extract text from document", e);
             }
-            
-            log.info("Successfully extracted text from document. Length: {}", 
-                    extractedText != null ? extractedText.length() : 0);
-            
-            return extractedText != null ? extractedText : "";
-            
+            truncated = true;
         } catch (IOException | TikaException e) {
             log.error("Error extracting text from document: {}", e.getMessage());
             throw new RuntimeException("Failed to extract text from document", e);
         }
+        
+        String extractedText = normalizeWhitespace(handler.toString());
+        
+        if (truncated) {
+            log.warn("Extracted text reached the {} character limit and was truncated", maxTextChars);
+        }
+        log.info("Successfully extracted text from document. Length: {}", extractedText.length());
+        
+        return new ExtractedText(extractedText, truncated);
+    }
+    
+    // Clean up the extracted text: remove excessive whitespace and line breaks
+    public static String normalizeWhitespace(String text) {
+        return text.trim().replaceAll("\\s+", " ");
+    }
+    
+    public record ExtractedText(String text, boolean truncated) {
     }
 } 
\ No newline at end of file
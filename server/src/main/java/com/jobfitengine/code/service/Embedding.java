@@ -0,0 +1,80 @@
+package com.jobfitengine.code.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Immutable embedding vector held as a primitive {@code float[]} and scaled to unit length on
+ * creation, so cosine similarity between two embeddings is a single dot product.
+ */
+public final class Embedding {
+
+    public static final Embedding EMPTY = new Embedding(new float[0]);
+
+    private final float[] values;
+
+    private Embedding(float[] unitValues) {
+        this.values = unitValues;
+    }
+
+    public static Embedding of(float[] values) {
+        float[] copy = Arrays.copyOf(values, values.length);
+        double norm = Math.sqrt(VectorMath.dot(copy, copy));
+        if (norm > 0.0) {
+            float scale = (float) (1.0 / norm);
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] *= scale;
+            }
+        }
+        return new Embedding(copy);
+    }
+
+    // Expects little-endian float32 values as written by toBytes()
+    public static Embedding fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        float[] values = new float[bytes.length / Float.BYTES];
+        buffer.asFloatBuffer().get(values);
+        return of(values);
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(values);
+        return buffer.array();
+    }
+
+    public int dimension() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    public float[] toArray() {
+        return Arrays.copyOf(values, values.length);
+    }
+
+    public double cosineSimilarity(Embedding other) {
+        if (isEmpty() || other.isEmpty() || values.length != other.values.length) {
+            return 0.0;
+        }
+        return VectorMath.dot(values, other.values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Embedding other && Arrays.equals(values, other.values));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return "Embedding[dimension=" + values.length + "]";
+    }
+}
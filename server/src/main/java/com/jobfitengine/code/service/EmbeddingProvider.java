@@ -0,0 +1,36 @@
+package com.jobfitengine.code.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Source of the text embeddings behind semantic similarity. Exactly one implementation is active,
+ * chosen through the {@code matcher.embedding.provider} property: {@code bedrock} calls Titan on
+ * Amazon Bedrock and {@code local} computes feature-hashed TF-IDF vectors in the JVM, with no network.
+ * Vectors are only comparable within one model id, which is stored with every resume embedding.
+ */
+public interface EmbeddingProvider {
+    
+    String getName();
+    
+    // Changes whenever vectors from before would no longer be comparable with new ones
+    String getModelId();
+    
+    // Never completes exceptionally; empty when the text is blank or could not be embedded
+    CompletableFuture<ChunkedEmbedding> embedChunksAsync(String text);
+    
+    default ChunkedEmbedding embedChunks(String text) {
+        return embedChunksAsync(text).join();
+    }
+    
+    // Both texts are embedded at once
+    default double calculateSemanticSimilarity(String text1, String text2) {
+        return embedChunksAsync(text1)
+                .thenCombine(embedChunksAsync(text2), ChunkedEmbedding::similarity)
+                .join();
+    }
+    
+    // Builds whatever the provider learns from stored data. The resume index calls it before loading,
+    // so it loads under the final model id
+    default void warmUp() {
+    }
+}
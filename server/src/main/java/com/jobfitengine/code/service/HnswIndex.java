@@ -0,0 +1,415 @@
+package com.jobfitengine.code.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hierarchical navigable small world graph (Malkov and Yashunin) over unit-length embeddings, giving
+ * approximate cosine nearest neighbours in roughly logarithmic time. Searches share a read lock and
+ * inserts take the write lock. Removal only marks a node deleted: it keeps routing searches but is
+ * never returned, and {@link #compact()} rebuilds the graph without deleted nodes.
+ */
+public final class HnswIndex<K> {
+
+    private final int maxConnections;
+    private final int maxConnectionsLevel0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random;
+
+    private final List<Node<K>> nodes = new ArrayList<>();
+    private final Map<K, Integer> nodeByKey = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Pooled rather than thread-local: with a virtual thread per request a ThreadLocal never gets reused
+    private final ConcurrentLinkedQueue<Visited> visitedPool = new ConcurrentLinkedQueue<>();
+
+    private int entryPoint = -1;
+    private int topLevel = -1;
+    private int deletedCount;
+    private int dimension = -1;
+
+    public HnswIndex(int maxConnections, int efConstruction, long seed) {
+        this.maxConnections = maxConnections;
+        this.maxConnectionsLevel0 = maxConnections * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(maxConnections);
+        this.random = new Random(seed);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int deletedCount() {
+        lock.readLock().lock();
+        try {
+            return deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(K key) {
+        lock.readLock().lock();
+        try {
+            return nodeByKey.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Replaces any vector already stored under the key
+    public void add(K key, Embedding embedding) {
+        if (embedding.isEmpty()) {
+            throw new IllegalArgumentException("Cannot index an empty embedding");
+        }
+
+        lock.writeLock().lock();
+        try {
+            checkDimension(embedding);
+            markDeleted(key);
+            insert(key, embedding);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Used when bulk loading, so an entry written concurrently by an update is not overwritten
+    public boolean addIfAbsent(K key, Embedding embedding) {
+        if (embedding.isEmpty()) {
+            throw new IllegalArgumentException("Cannot index an empty embedding");
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (nodeByKey.containsKey(key)) {
+                return false;
+            }
+            checkDimension(embedding);
+            insert(key, embedding);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(K key) {
+        lock.writeLock().lock();
+        try {
+            return markDeleted(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Neighbor<K>> search(Embedding query, int k, int ef) {
+        lock.readLock().lock();
+        try {
+            if (entryPoint == -1 || k <= 0 || query.dimension() != dimension) {
+                return List.of();
+            }
+
+            int current = entryPoint;
+            double currentScore = similarity(query, current);
+            for (int level = topLevel; level > 0; level--) {
+                Candidate closest = greedyClosest(query, current, currentScore, level);
+                current = closest.node();
+                currentScore = closest.score();
+            }
+
+            PriorityQueue<Candidate> found = searchLayer(query, current, currentScore, Math.max(ef, k), 0, true);
+            List<Candidate> ordered = new ArrayList<>(found);
+            ordered.sort(Comparator.comparingDouble(Candidate::score).reversed());
+
+            List<Neighbor<K>> result = new ArrayList<>(Math.min(k, ordered.size()));
+            for (Candidate candidate : ordered) {
+                if (result.size() == k) {
+                    break;
+                }
+                result.add(new Neighbor<>(nodes.get(candidate.node()).key, candidate.score()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Rebuilds the graph from live nodes, dropping everything marked deleted
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            List<Node<K>> live = nodes.stream().filter(node -> !node.deleted).toList();
+            nodes.clear();
+            nodeByKey.clear();
+            entryPoint = -1;
+            topLevel = -1;
+            deletedCount = 0;
+            for (Node<K> node : live) {
+                insert(node.key, node.embedding);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void checkDimension(Embedding embedding) {
+        if (dimension == -1) {
+            dimension = embedding.dimension();
+        } else if (dimension != embedding.dimension()) {
+            throw new IllegalArgumentException("Expected dimension " + dimension + " but got " + embedding.dimension());
+        }
+    }
+
+    private boolean markDeleted(K key) {
+        Integer existing = nodeByKey.remove(key);
+        if (existing == null) {
+            return false;
+        }
+        nodes.get(existing).deleted = true;
+        deletedCount++;
+        return true;
+    }
+
+    private void insert(K key, Embedding embedding) {
+        int level = (int) (-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+        int id = nodes.size();
+        Node<K> node = new Node<>(key, embedding, level, maxConnections, maxConnectionsLevel0);
+        nodes.add(node);
+        nodeByKey.put(key, id);
+
+        if (entryPoint == -1) {
+            entryPoint = id;
+            topLevel = level;
+            return;
+        }
+
+        int current = entryPoint;
+        double currentScore = similarity(embedding, current);
+        for (int l = topLevel; l > level; l--) {
+            Candidate closest = greedyClosest(embedding, current, currentScore, l);
+            current = closest.node();
+            currentScore = closest.score();
+        }
+
+        for (int l = Math.min(level, topLevel); l >= 0; l--) {
+            PriorityQueue<Candidate> candidates = searchLayer(embedding, current, currentScore, efConstruction, l, false);
+            int limit = l == 0 ? maxConnectionsLevel0 : maxConnections;
+            List<Candidate> neighbours = selectNeighbours(candidates, maxConnections);
+            for (Candidate neighbour : neighbours) {
+                node.connect(l, neighbour.node());
+                connect(neighbour.node(), id, l, limit);
+            }
+
+            Candidate best = candidates.stream().max(Comparator.comparingDouble(Candidate::score)).orElseThrow();
+            current = best.node();
+            currentScore = best.score();
+        }
+
+        if (level > topLevel) {
+            entryPoint = id;
+            topLevel = level;
+        }
+    }
+
+    private void connect(int from, int to, int level, int limit) {
+        Node<K> node = nodes.get(from);
+        if (node.connectionCount(level) < limit) {
+            node.connect(level, to);
+            return;
+        }
+
+        // Full: keep the most diverse set among the current links plus the new one
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(Comparator.comparingDouble(Candidate::score));
+        candidates.add(new Candidate(to, similarity(node.embedding, to)));
+        for (int i = 0; i < node.connectionCount(level); i++) {
+            int neighbour = node.links[level][i];
+            candidates.add(new Candidate(neighbour, similarity(node.embedding, neighbour)));
+        }
+        node.resetConnections(level);
+        for (Candidate kept : selectNeighbours(candidates, limit)) {
+            node.connect(level, kept.node());
+        }
+    }
+
+    // Heuristic from the HNSW paper: skip candidates closer to an already selected neighbour than to the base
+    private List<Candidate> selectNeighbours(PriorityQueue<Candidate> candidates, int limit) {
+        List<Candidate> ordered = new ArrayList<>(candidates);
+        ordered.sort(Comparator.comparingDouble(Candidate::score).reversed());
+
+        List<Candidate> selected = new ArrayList<>(limit);
+        for (Candidate candidate : ordered) {
+            if (selected.size() == limit) {
+                break;
+            }
+            boolean diverse = true;
+            Embedding candidateEmbedding = nodes.get(candidate.node()).embedding;
+            for (Candidate chosen : selected) {
+                if (similarity(candidateEmbedding, chosen.node()) > candidate.score()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate);
+            }
+        }
+        return selected;
+    }
+
+    private Candidate greedyClosest(Embedding query, int start, double startScore, int level) {
+        int current = start;
+        double currentScore = startScore;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            Node<K> node = nodes.get(current);
+            for (int i = 0; i < node.connectionCount(level); i++) {
+                int neighbour = node.links[level][i];
+                double score = similarity(query, neighbour);
+                if (score > currentScore) {
+                    current = neighbour;
+                    currentScore = score;
+                    improved = true;
+                }
+            }
+        }
+        return new Candidate(current, currentScore);
+    }
+
+    // Returns a min-heap of the ef best nodes seen; deleted nodes are traversed but optionally left out
+    private PriorityQueue<Candidate> searchLayer(Embedding query, int start, double startScore, int ef, int level,
+                                                 boolean skipDeleted) {
+        Visited seen = visitedPool.poll();
+        if (seen == null) {
+            seen = new Visited();
+        }
+        try {
+            return searchLayer(query, start, startScore, ef, level, skipDeleted, seen);
+        } finally {
+            visitedPool.offer(seen);
+        }
+    }
+
+    private PriorityQueue<Candidate> searchLayer(Embedding query, int start, double startScore, int ef, int level,
+                                                 boolean skipDeleted, Visited seen) {
+        seen.reset(nodes.size());
+        seen.mark(start);
+
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>(Comparator.comparingDouble(Candidate::score).reversed());
+        PriorityQueue<Candidate> results = new PriorityQueue<>(Comparator.comparingDouble(Candidate::score));
+        Candidate first = new Candidate(start, startScore);
+        frontier.add(first);
+        if (!skipDeleted || !nodes.get(start).deleted) {
+            results.add(first);
+        }
+
+        while (!frontier.isEmpty()) {
+            Candidate candidate = frontier.poll();
+            if (results.size() >= ef && candidate.score() < results.peek().score()) {
+                break;
+            }
+
+            Node<K> node = nodes.get(candidate.node());
+            for (int i = 0; i < node.connectionCount(level); i++) {
+                int neighbour = node.links[level][i];
+                if (!seen.mark(neighbour)) {
+                    continue;
+                }
+                double score = similarity(query, neighbour);
+                if (results.size() < ef || score > results.peek().score()) {
+                    Candidate next = new Candidate(neighbour, score);
+                    frontier.add(next);
+                    if (!skipDeleted || !nodes.get(neighbour).deleted) {
+                        results.add(next);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private double similarity(Embedding query, int node) {
+        return query.cosineSimilarity(nodes.get(node).embedding);
+    }
+
+    public record Neighbor<K>(K key, double similarity) {
+    }
+
+    private record Candidate(int node, double score) {
+    }
+
+    private static final class Node<K> {
+
+        private final K key;
+        private final Embedding embedding;
+        private final int[][] links;
+        private final int[] counts;
+        private volatile boolean deleted;
+
+        Node(K key, Embedding embedding, int level, int maxConnections, int maxConnectionsLevel0) {
+            this.key = key;
+            this.embedding = embedding;
+            this.links = new int[level + 1][];
+            this.counts = new int[level + 1];
+            for (int l = 0; l <= level; l++) {
+                links[l] = new int[l == 0 ? maxConnectionsLevel0 : maxConnections];
+            }
+        }
+
+        int connectionCount(int level) {
+            return level < counts.length ? counts[level] : 0;
+        }
+
+        void connect(int level, int node) {
+            links[level][counts[level]++] = node;
+        }
+
+        void resetConnections(int level) {
+            counts[level] = 0;
+        }
+    }
+
+    // Generation-stamped visited set reused across searches
+    private static final class Visited {
+
+        private int[] stamps = new int[0];
+        private int generation;
+
+        void reset(int size) {
+            if (stamps.length < size) {
+                stamps = Arrays.copyOf(stamps, Math.max(size, stamps.length * 2));
+            }
+            generation++;
+            if (generation == 0) {
+                Arrays.fill(stamps, 0);
+                generation = 1;
+            }
+        }
+
+        // Returns false when the node was already visited in this generation
+        boolean mark(int node) {
+            if (stamps[node] == generation) {
+                return false;
+            }
+            stamps[node] = generation;
+            return true;
+        }
+    }
+}
@@ -1,18 +1,22 @@
 package com.jobfitengine.code.service;
 
+import com.jobfitengine.code.dto.BatchJobMatchingResponse;
 import com.jobfitengine.code.dto.JobMatchingResponse;
 import com.jobfitengine.code.entity.Resume;
-import com.jobfitengine.code.entity.User;
+import com.jobfitengine.code.security.AuthenticatedUser;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
@@ -20,115 +24,225 @@ import java.util.UUID;
 public class JobMatchingService {
     
     private final ResumeService resumeService;
-    private final WebClient webClient;
+    private final List<MatchEngine> matchEngines;
+    private final BatchMatchExecutor batchMatchExecutor;
+    private final MatchResultCache matchResultCache;
+    private final PipelineMetrics metrics;
+    // Blocking engines run here rather than on the shared boundedElastic pool
+    private final Scheduler matchScheduler;
     
-    @Value("${python.matcher.url:http://localhost:5000}")
-    private String pythonMatcherUrl;
+    @Value("${matcher.engine:local}")
+    private String matcherEngine;
     
-    public JobMatchingResponse performJobMatching(String resumeText, User user, String jobDescription, String type) {
+    @Value("${matcher.batch.max-jobs:200}")
+    private int maxBatchJobs;
+    
+    public Mono<JobMatchingResponse> performJobMatching(Resume resume, AuthenticatedUser user, String jobDescription, String type) {
         try {
-            log.info("Starting job matching analysis for user: {}", user.getEmail());
+            log.info("Starting job matching analysis for user: {}", user.email());
             
+            String resumeText = resume.getExtractedText();
             if (resumeText == null || resumeText.trim().isEmpty()) {
-                return new JobMatchingResponse(false, "No resume text provided", 0.0, 
-                        List.of(), List.of(), null);
+                countRequest("single", "invalid");
+                return Mono.just(new JobMatchingResponse(false, "No resume text provided", 0.0, 
+                        List.of(), List.of(), null));
             }
             
             if (jobDescription == null || jobDescription.trim().isEmpty()) {
-                return new JobMatchingResponse(false, "No job description provided", 0.0, 
-                        List.of(), List.of(), null);
+                countRequest("single", "invalid");
+                return Mono.just(new JobMatchingResponse(false, "No job description provided", 0.0, 
+                        List.of(), List.of(), null));
             }
+            metrics.recordTextLength("job_description", jobDescription.length());
             
-            // Call Python service for analysis
-            PythonMatchResponse pythonResponse = callPythonMatcher(resumeText, jobDescription);
-            
-            if (pythonResponse == null) {
-                return new JobMatchingResponse(false, "Failed to get analysis from Python service", 0.0, 
-                        List.of(), List.of(), null);
+            // Run the configured match engine, unless this exact analysis is cached
+            MatchEngine engine = selectEngine();
+            MatchResultCache.Key cacheKey = matchResultCache.key(resume, jobDescription, type, engine);
+            Optional<JobMatchingResponse> cached = matchResultCache.get(cacheKey);
+            if (cached.isPresent()) {
+                log.info("Returning cached job matching result for user: {}", user.email());
+                countRequest("single", "cached");
+                return Mono.just(cached.get());
             }
             
-            // Convert Python response to Java response format
-            JobMatchingResponse response = convertPythonResponse(pythonResponse);
-            
-            log.info("Job matching analysis completed for user: {}. Score: {}", 
-                    user.getEmail(), response.getMatchingScore());
-            
-            return response;
+            return engine.analyzeAsync(resume, jobDescription, matchScheduler)
+                    // Convert engine result to Java response format
+                    .map(matchResult -> convertMatchResult(engine, matchResult))
+                    .doOnNext(response -> {
+                        countRequest("single", outcome(response));
+                        matchResultCache.put(cacheKey, response);
+                        log.info("Job matching analysis completed for user: {}. Score: {}", 
+                                user.email(), response.getMatchingScore());
+                    })
+                    .switchIfEmpty(Mono.fromSupplier(() -> {
+                        countRequest("single", "failed");
+                        return new JobMatchingResponse(false, 
+                                "Failed to get analysis from " + engine.getName() + " match engine", 0.0, 
+                                List.of(), List.of(), null);
+                    }))
+                    .onErrorResume(e -> Mono.just(matchingFailure(user, e)));
             
         } catch (Exception e) {
-            log.error("Error performing job matching for user {}: {}", user.getEmail(), e.getMessage());
-            return new JobMatchingResponse(false, "Error performing job matching: " + e.getMessage(), 
-                    0.0, List.of(), List.of(), null);
+            return Mono.just(matchingFailure(user, e));
         }
     }
     
-    private PythonMatchResponse callPythonMatcher(String resumeText, String jobDescription) {
-        try {
-            Map<String, String> request = Map.of(
-                "resume_text", resumeText,
-                "job_description", jobDescription
-            );
-            
-            log.info("Calling Python matcher service at: {}", pythonMatcherUrl + "/analyze");
-            log.info("Request payload: resume_text length={}, job_description length={}", 
-                    resumeText.length(), jobDescription.length());
-            
-            PythonMatchResponse response = webClient.post()
-                .uri(pythonMatcherUrl + "/analyze")
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(PythonMatchResponse.class)
-                .doOnNext(resp -> log.info("Python response object: matchScore={}, matchedSkills={}, missingSkills={}", 
-                        resp.getMatchScore(), 
-                        resp.getMatchedSkills() != null ? resp.getMatchedSkills().size() : "null", 
-                        resp.getMissingSkills() != null ? resp.getMissingSkills().size() : "null"))
-                .block();
-                
-            if (response != null) {
-                log.info("Python service response received. Match score: {}, Matched skills: {}, Missing skills: {}", 
-                        response.getMatchScore(), response.getMatchedSkills().size(), response.getMissingSkills().size());
-            } else {
-                log.warn("Python service returned null response");
-            }
-            
-            return response;
-                
-        } catch (Exception e) {
-            log.error("Error calling Python matcher service: {}", e.getMessage(), e);
-            return null;
+    public Mono<BatchJobMatchingResponse> performBatchJobMatching(Resume resume, AuthenticatedUser user, List<String> jobDescriptions,
+                                                                  String type) {
+        if (jobDescriptions.size() > maxBatchJobs) {
+            return Mono.just(new BatchJobMatchingResponse(false, 
+                    "Too many job descriptions: at most " + maxBatchJobs + " per batch", 0, 0, List.of()));
+        }
+        
+        String resumeText = resume.getExtractedText();
+        if (resumeText == null || resumeText.trim().isEmpty()) {
+            return Mono.just(new BatchJobMatchingResponse(false, "No resume text provided", 0, 0, List.of()));
         }
+        
+        log.info("Starting batch job matching for user: {} with {} job descriptions", 
+                user.email(), jobDescriptions.size());
+        
+        // Resume-side analysis runs once; every job description reuses it
+        MatchEngine engine = selectEngine();
+        CompletableFuture<BatchJobMatchingResponse> batch = batchMatchExecutor.submit(() -> engine.prepare(resume))
+                .thenCompose(preparedResume -> {
+                    List<CompletableFuture<JobMatchingResponse>> futures = new ArrayList<>(jobDescriptions.size());
+                    for (String jobDescription : jobDescriptions) {
+                        futures.add(batchMatchExecutor
+                                .submit(() -> scoreBatchItem(resume, type, engine, preparedResume, jobDescription))
+                                .exceptionally(this::batchItemFailure));
+                    }
+                    return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                            .thenApply(done -> futures.stream().map(CompletableFuture::join).toList());
+                })
+                .thenApply(results -> {
+                    int succeeded = (int) results.stream().filter(JobMatchingResponse::isSuccess).count();
+                    log.info("Batch job matching completed for user: {}. {} succeeded, {} failed", 
+                            user.email(), succeeded, results.size() - succeeded);
+                    return new BatchJobMatchingResponse(true, "Batch job matching completed", 
+                            succeeded, results.size() - succeeded, results);
+                });
+        
+        return Mono.fromFuture(batch)
+                .onErrorResume(e -> {
+                    Throwable cause = unwrap(e);
+                    log.error("Error preparing resume {} for batch matching: {}", resume.getId(), cause.getMessage());
+                    return Mono.just(new BatchJobMatchingResponse(false, 
+                            "Error performing job matching: " + cause.getMessage(), 0, 0, List.of()));
+                });
     }
     
-    private JobMatchingResponse convertPythonResponse(PythonMatchResponse pythonResponse) {
+    private JobMatchingResponse scoreBatchItem(Resume resume, String type, MatchEngine engine,
+                                               MatchEngine.PreparedResume preparedResume, String jobDescription) {
+        if (jobDescription == null || jobDescription.trim().isEmpty()) {
+            countRequest("batch", "invalid");
+            return new JobMatchingResponse(false, "No job description provided", 0.0, 
+                    List.of(), List.of(), null);
+        }
+        metrics.recordTextLength("job_description", jobDescription.length());
+        
+        MatchResultCache.Key cacheKey = matchResultCache.key(resume, jobDescription, type, engine);
+        Optional<JobMatchingResponse> cached = matchResultCache.get(cacheKey);
+        if (cached.isPresent()) {
+            countRequest("batch", "cached");
+            return cached.get();
+        }
+        
+        MatchResult matchResult = preparedResume.analyze(jobDescription);
+        if (matchResult == null) {
+            countRequest("batch", "failed");
+            return new JobMatchingResponse(false, "Failed to get analysis from " + engine.getName() + " match engine", 0.0, 
+                    List.of(), List.of(), null);
+        }
+        JobMatchingResponse response = convertMatchResult(engine, matchResult);
+        countRequest("batch", outcome(response));
+        matchResultCache.put(cacheKey, response);
+        return response;
+    }
+    
+    private JobMatchingResponse matchingFailure(AuthenticatedUser user, Throwable e) {
+        countRequest("single", "failed");
+        log.error("Error performing job matching for user {}: {}", user.email(), e.getMessage());
+        return new JobMatchingResponse(false, "Error performing job matching: " + e.getMessage(), 
+                0.0, List.of(), List.of(), null);
+    }
+    
+    private JobMatchingResponse batchItemFailure(Throwable error) {
+        Throwable cause = unwrap(error);
+        countRequest("batch", "failed");
+        log.error("Error scoring batch job description: {}", cause.getMessage());
+        return new JobMatchingResponse(false, "Error performing job matching: " + cause.getMessage(), 
+                0.0, List.of(), List.of(), null);
+    }
+    
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+    
+    private MatchEngine selectEngine() {
+        return matchEngines.stream()
+                .filter(engine -> engine.getName().equalsIgnoreCase(matcherEngine))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown matcher engine: " + matcherEngine));
+    }
+    
+    private void countRequest(String mode, String result) {
+        metrics.count(PipelineMetrics.MATCH_REQUESTS, "mode", mode, "result", result);
+    }
+    
+    private static String outcome(JobMatchingResponse response) {
+        if (!response.isSuccess()) {
+            return "failed";
+        }
+        return response.isDegraded() ? "degraded" : "computed";
+    }
+    
+    private JobMatchingResponse convertMatchResult(MatchEngine engine, MatchResult matchResult) {
+        // A failed analysis is not a zero score, so it is reported as a failure and never cached
+        if (matchResult.isAnalysisError()) {
+            log.error("{} match engine failed to analyze: {}", engine.getName(), matchResult.getOtherMissing());
+            return new JobMatchingResponse(false, "Failed to get analysis from " + engine.getName() + " match engine", 0.0, 
+                    List.of(), List.of(), null);
+        }
+        Timer.Sample sample = metrics.start();
+        JobMatchingResponse response = toResponse(matchResult);
+        metrics.stop(sample, PipelineMetrics.RESPONSE_CONVERSION);
+        return response;
+    }
+    
+    private JobMatchingResponse toResponse(MatchResult matchResult) {
         // Convert matched skills with null safety
         List<JobMatchingResponse.MatchedSkill> matchedSkills = 
-                (pythonResponse.getMatchedSkills() != null ? pythonResponse.getMatchedSkills() : List.<String>of())
+                (matchResult.getMatchedSkills() != null ? matchResult.getMatchedSkills() : List.<String>of())
                 .stream()
                 .map(skill -> new JobMatchingResponse.MatchedSkill(skill, 0.8, "Technical"))
                 .toList();
         
         // Convert missing skills with null safety
         List<JobMatchingResponse.MissingSkill> missingSkills = 
-                (pythonResponse.getMissingSkills() != null ? pythonResponse.getMissingSkills() : List.<String>of())
+                (matchResult.getMissingSkills() != null ? matchResult.getMissingSkills() : List.<String>of())
                 .stream()
                 .map(skill -> new JobMatchingResponse.MissingSkill(skill, 0.7, "Technical"))
                 .toList();
         
         // Generate analysis based on score
         JobMatchingResponse.Analysis analysis = generateAnalysis(
-                pythonResponse.getMatchScore(), 
+                matchResult.getMatchScore(), 
                 matchedSkills, 
                 missingSkills,
-                pythonResponse.getMissingExperience() != null ? pythonResponse.getMissingExperience() : List.<String>of()
+                matchResult.getMissingExperience() != null ? matchResult.getMissingExperience() : List.<String>of()
         );
         
         return new JobMatchingResponse(
                 true,
-                "Job matching analysis completed successfully",
-                pythonResponse.getMatchScore(),
+                matchResult.isDegraded()
+                        ? "Job matching analysis completed with a reduced skill match; the full matcher is unavailable"
+                        : "Job matching analysis completed successfully",
+                matchResult.getMatchScore(),
                 matchedSkills,
                 missingSkills,
-                analysis
+                analysis,
+                matchResult.isDegraded()
         );
     }
     
@@ -173,29 +287,4 @@ public class JobMatchingService {
         
         return new JobMatchingResponse.Analysis(overallMatch, recommendations);
     }
-    
-    // Inner class to represent Python service response
-    public static class PythonMatchResponse {
-        private double matchScore;
-        private List<String> matchedSkills;
-        private List<String> missingSkills;
-        private List<String> missingExperience;
-        private List<String> otherMissing;
-        
-        // Getters and setters
-        public double getMatchScore() { return matchScore; }
-        public void setMatchScore(double matchScore) { this.matchScore = matchScore; }
-        
-        public List<String> getMatchedSkills() { return matchedSkills; }
-        public void setMatchedSkills(List<String> matchedSkills) { this.matchedSkills = matchedSkills; }
-        
-        public List<String> getMissingSkills() { return missingSkills; }
-        public void setMissingSkills(List<String> missingSkills) { this.missingSkills = missingSkills; }
-        
-        public List<String> getMissingExperience() { return missingExperience; }
-        public void setMissingExperience(List<String> missingExperience) { this.missingExperience = missingExperience; }
-        
-        public List<String> getOtherMissing() { return otherMissing; }
-        public void setOtherMissing(List<String> otherMissing) { this.otherMissing = otherMissing; }
-    }
 } 
\ No newline at end of file
@@ -1,39 +1,100 @@
 package com.jobfitengine.code.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.jobfitengine.code.entity.UserRole;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
 
 @Service
-public class JwtService {
+public class JwtService implements MeterBinder {
     
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final long jwtExpiration;
+    // Both are immutable and thread-safe, so they are built once instead of on every call
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    // Recently verified tokens by SHA-256, so a client sending the same token skips the signature check
+    private final Cache<String, VerifiedToken> verifiedTokens;
     
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    public JwtService(@Value("${jwt.secret}") String secretKey,
+                      @Value("${jwt.expiration}") long jwtExpiration,
+                      @Value("${jwt.cache.max-size:10000}") long cacheMaxSize,
+                      @Value("${jwt.cache.ttl:5m}") Duration cacheTtl) {
+        this.jwtExpiration = jwtExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        // An entry never outlives its token
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(Expiry.creating((String hash, VerifiedToken token) -> {
+                    Duration remaining = Duration.between(Instant.now(), token.expiresAt());
+                    return remaining.compareTo(cacheTtl) < 0 ? remaining : cacheTtl;
+                }))
+                .recordStats()
+                .build();
+    }
+    
+    // Hit rate of the verified-token cache, registered by Spring Boot with the other meter binders
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "jwt_verified_tokens");
+    }
+    
+    /**
+     * Parses the token and checks its signature and expiry once, returning what the request needs
+     * from it. Throws {@link JwtException} for a token that is invalid, expired or lacks a user id.
+     */
+    public VerifiedToken verify(String token) {
+        String hash = sha256(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(hash);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+        
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        String userId = claims.get("userId", String.class);
+        if (claims.getSubject() == null || userId == null || claims.getExpiration() == null) {
+            throw new JwtException("Token is missing its subject, user id or expiry");
+        }
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(), UUID.fromString(userId),
+                claims.getExpiration().toInstant(), role(claims.get("role", String.class)));
+        verifiedTokens.put(hash, verified);
+        return verified;
+    }
     
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).email();
     }
     
     public UUID extractUserId(String token) {
-        final Claims claims = extractAllClaims(token);
-        return UUID.fromString(claims.get("userId", String.class));
+        return verify(token).userId();
     }
     
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parser.parseSignedClaims(token).getPayload();
         return claimsResolver.apply(claims);
     }
     
@@ -41,6 +102,12 @@ public class JwtService {
         return generateToken(new HashMap<>(), userId, email);
     }
     
+    public String generateToken(UUID userId, String email, UserRole role) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("role", UserRole.orDefault(role).name());
+        return generateToken(claims, userId, email);
+    }
+    
     public String generateToken(Map<String, Object> extraClaims, UUID userId, String email) {
         return buildToken(extraClaims, userId, email, jwtExpiration);
     }
@@ -53,34 +120,39 @@ public class JwtService {
                 .claim("userId", userId.toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
     public boolean isTokenValid(String token, String email) {
-        final String username = extractUsername(token);
-        return (username.equals(email)) && !isTokenExpired(token);
+        try {
+            return verify(token).email().equals(email);
+        } catch (JwtException e) {
+            return false;
+        }
     }
     
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    // Tokens issued before roles carry none
+    private static UserRole role(String claim) {
+        if (claim == null) {
+            return UserRole.USER;
+        }
+        try {
+            return UserRole.valueOf(claim);
+        } catch (IllegalArgumentException e) {
+            throw new JwtException("Token has an unknown role: " + claim);
+        }
     }
     
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-    
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
     
-    private Key getSignInKey() {
-        byte[] keyBytes = secretKey.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    public record VerifiedToken(String email, UUID userId, Instant expiresAt, UserRole role) {
     }
 } 
\ No newline at end of file
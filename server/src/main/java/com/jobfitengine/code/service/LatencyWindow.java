@@ -0,0 +1,42 @@
+package com.jobfitengine.code.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The latencies of the most recent calls to a dependency, for percentiles that follow its current
+ * behaviour rather than its whole history.
+ */
+public final class LatencyWindow {
+
+    private final long[] samples;
+    private final int minimumSamples;
+    private int recorded;
+    private int next;
+
+    public LatencyWindow(int size, int minimumSamples) {
+        this.samples = new long[size];
+        this.minimumSamples = Math.min(size, minimumSamples);
+    }
+
+    public synchronized void record(Duration latency) {
+        samples[next] = latency.toNanos();
+        next = (next + 1) % samples.length;
+        recorded = Math.min(recorded + 1, samples.length);
+    }
+
+    // Empty until minimumSamples calls have been recorded
+    public Optional<Duration> percentile(double percentile) {
+        long[] sorted;
+        synchronized (this) {
+            if (recorded < minimumSamples) {
+                return Optional.empty();
+            }
+            sorted = Arrays.copyOf(samples, recorded);
+        }
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * sorted.length) - 1;
+        return Optional.of(Duration.ofNanos(sorted[Math.max(0, Math.min(rank, sorted.length - 1))]));
+    }
+}
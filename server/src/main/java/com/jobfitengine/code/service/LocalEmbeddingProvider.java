@@ -0,0 +1,266 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.entity.LocalEmbeddingIdf;
+import com.jobfitengine.code.repository.LocalEmbeddingIdfRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The {@code local} {@link EmbeddingProvider}: a TF-IDF weighted, feature-hashed vectorizer that runs
+ * in the JVM with no network, for environments without Bedrock or as a cheap first-pass scorer.
+ * Words, pairs of adjacent words within a sentence and the character 3- to 5-grams of each word are
+ * hashed into a fixed number of buckets, each with a hash-derived sign so collisions tend to cancel
+ * out rather than pile up. Counts are dampened with {@code log1p} and scaled by an IDF table; until
+ * {@link #warmUp()} has one, every bucket weighs the same. The table's fingerprint is part of the
+ * model id, so vectors built with another table are recomputed like those of any other model. The
+ * table is learned from the stored resume texts once and kept in {@code local_embedding_idf}; later
+ * starts reload it, so the model id and the stored vectors stay valid across restarts. Relearning
+ * only happens when {@code matcher.embedding.local.idf-refresh} is set. Tokens are hashed character
+ * by character as they are read, never built as strings.
+ */
+@Service
+@ConditionalOnProperty(name = "matcher.embedding.provider", havingValue = LocalEmbeddingProvider.NAME)
+@Slf4j
+public class LocalEmbeddingProvider implements EmbeddingProvider {
+
+    public static final String NAME = "local";
+
+    // Character n-grams come from at most this many leading characters of a word
+    private static final int MAX_GRAM_WORD_LENGTH = 32;
+    private static final int MIN_CHAR_GRAM = 3;
+    private static final int MAX_CHAR_GRAM = 5;
+
+    // Whole words carry most of the signal; n-grams add word order and spelling variants
+    private static final float WORD_WEIGHT = 1.0f;
+    private static final float BIGRAM_WEIGHT = 0.5f;
+    private static final float CHAR_GRAM_WEIGHT = 0.25f;
+
+    // Separate the three feature families in the shared buckets
+    private static final int WORD_SEED = 0x9747b28c;
+    private static final int BIGRAM_SEED = 0x5bd1e995;
+    private static final int CHAR_GRAM_SEED = 0x1b873593;
+
+    private static final int FNV_OFFSET = 0x811c9dc5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    private final TextChunker chunker;
+    private final ResumeTextStore resumeTextStore;
+    private final LocalEmbeddingIdfRepository idfRepository;
+    private final int dimension;
+    private final int maxIdfDocuments;
+    private volatile IdfTable idf;
+
+    // Learn a new table on the next warm-up even if one is stored
+    @Value("${matcher.embedding.local.idf-refresh:false}")
+    private boolean refreshIdf;
+
+    public LocalEmbeddingProvider(TextChunker chunker, ResumeTextStore resumeTextStore,
+                                  LocalEmbeddingIdfRepository idfRepository,
+                                  @Value("${matcher.embedding.local.dimension:1024}") int dimension,
+                                  @Value("${matcher.embedding.local.idf-max-documents:10000}") int maxIdfDocuments) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("Embedding dimension must be positive");
+        }
+        this.chunker = chunker;
+        this.resumeTextStore = resumeTextStore;
+        this.idfRepository = idfRepository;
+        this.dimension = dimension;
+        this.maxIdfDocuments = maxIdfDocuments;
+        this.idf = new IdfTable(uniformWeights(dimension), modelId("uniform"));
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getModelId() {
+        return idf.modelId();
+    }
+
+    // Cheap enough to run on the caller's thread
+    @Override
+    public CompletableFuture<ChunkedEmbedding> embedChunksAsync(String text) {
+        return CompletableFuture.completedFuture(embedChunks(text));
+    }
+
+    @Override
+    public ChunkedEmbedding embedChunks(String text) {
+        if (text == null) {
+            return ChunkedEmbedding.EMPTY;
+        }
+        IdfTable table = idf;
+        float[] counts = new float[dimension];
+        List<Embedding> chunks = new ArrayList<>();
+        for (String chunk : chunker.chunk(text)) {
+            Arrays.fill(counts, 0f);
+            accumulate(chunk, counts);
+            chunks.add(weigh(counts, table));
+        }
+        return ChunkedEmbedding.of(chunks);
+    }
+
+    @Override
+    public void warmUp() {
+        if (!refreshIdf) {
+            Optional<LocalEmbeddingIdf> stored = idfRepository.findFirstByDimensionOrderByCreatedAtDesc(dimension);
+            if (stored.isPresent()) {
+                idf = new IdfTable(decode(stored.get().getWeights()), stored.get().getModelId());
+                log.info("Loaded local embedding IDF learned from {} resumes (model {})",
+                        stored.get().getDocuments(), getModelId());
+                return;
+            }
+        }
+        learnIdf();
+    }
+
+    // Document frequency per bucket over the stored resumes, smoothed as ln((1 + n) / (1 + df)) + 1
+    private void learnIdf() {
+        long start = System.nanoTime();
+        int[] documentFrequency = new int[dimension];
+        float[] counts = new float[dimension];
+        int documents = resumeTextStore.forEachText(maxIdfDocuments, text -> {
+            Arrays.fill(counts, 0f);
+            accumulate(text, counts);
+            for (int i = 0; i < dimension; i++) {
+                if (counts[i] != 0f) {
+                    documentFrequency[i]++;
+                }
+            }
+        });
+        if (documents == 0) {
+            log.info("No stored resumes to learn IDF from; local embeddings weigh all terms equally");
+            return;
+        }
+
+        float[] weights = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            weights[i] = (float) (Math.log((1.0 + documents) / (1.0 + documentFrequency[i])) + 1.0);
+        }
+        IdfTable learned = new IdfTable(weights, modelId(Integer.toHexString(Arrays.hashCode(weights))));
+        if (!idfRepository.existsById(learned.modelId())) {
+            idfRepository.save(new LocalEmbeddingIdf(learned.modelId(), dimension, documents, encode(weights), null));
+        }
+        idf = learned;
+        log.info("Learned local embedding IDF from {} resumes in {} ms (model {}); resumes embedded under another "
+                + "model are re-embedded on their next match", documents, (System.nanoTime() - start) / 1_000_000,
+                getModelId());
+    }
+
+    private String modelId(String fingerprint) {
+        return "local-tfidf-" + dimension + "-" + fingerprint;
+    }
+
+    private static byte[] encode(float[] weights) {
+        ByteBuffer buffer = ByteBuffer.allocate(weights.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(weights);
+        return buffer.array();
+    }
+
+    private static float[] decode(byte[] bytes) {
+        float[] weights = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(weights);
+        return weights;
+    }
+
+    // Adds the hashed features of text to counts
+    void accumulate(String text, float[] counts) {
+        // The word being read between '<' and '>' boundary markers, for its character n-grams
+        char[] word = new char[MAX_GRAM_WORD_LENGTH + 2];
+        word[0] = '<';
+        int length = 0;
+        int hash = FNV_OFFSET;
+        int previousWord = 0;
+        boolean hasPreviousWord = false;
+
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? Character.toLowerCase(text.charAt(i)) : '.';
+            if (Character.isLetterOrDigit(c) || c == '+' || c == '#') {
+                hash = (hash ^ c) * FNV_PRIME;
+                if (length < MAX_GRAM_WORD_LENGTH) {
+                    word[length + 1] = c;
+                }
+                length++;
+                continue;
+            }
+
+            if (length > 0) {
+                int wordHash = mix(hash ^ WORD_SEED);
+                add(counts, wordHash, WORD_WEIGHT);
+                if (hasPreviousWord) {
+                    add(counts, mix((previousWord * 31 + wordHash) ^ BIGRAM_SEED), BIGRAM_WEIGHT);
+                }
+                previousWord = wordHash;
+                hasPreviousWord = true;
+
+                int buffered = Math.min(length, MAX_GRAM_WORD_LENGTH);
+                word[buffered + 1] = '>';
+                addCharGrams(word, buffered + 2, counts);
+                length = 0;
+                hash = FNV_OFFSET;
+            }
+            // Word pairs do not span sentences or list items
+            if (c == '.' || c == '!' || c == '?' || c == ';' || c == ':' || c == '\n' || c == '•') {
+                hasPreviousWord = false;
+            }
+        }
+    }
+
+    private void addCharGrams(char[] word, int length, float[] counts) {
+        for (int n = MIN_CHAR_GRAM; n <= Math.min(MAX_CHAR_GRAM, length); n++) {
+            for (int start = 0; start + n <= length; start++) {
+                int hash = FNV_OFFSET ^ n;
+                for (int i = start; i < start + n; i++) {
+                    hash = (hash ^ word[i]) * FNV_PRIME;
+                }
+                add(counts, mix(hash ^ CHAR_GRAM_SEED), CHAR_GRAM_WEIGHT);
+            }
+        }
+    }
+
+    // The low 31 bits pick the bucket and the top bit its sign
+    private void add(float[] counts, int hash, float weight) {
+        counts[(hash & Integer.MAX_VALUE) % dimension] += hash < 0 ? -weight : weight;
+    }
+
+    // Overwrites counts with the weighted values
+    private static Embedding weigh(float[] counts, IdfTable table) {
+        for (int i = 0; i < counts.length; i++) {
+            float count = counts[i];
+            if (count != 0f) {
+                counts[i] = (float) (Math.signum(count) * Math.log1p(Math.abs(count))) * table.weights()[i];
+            }
+        }
+        return Embedding.of(counts);
+    }
+
+    // MurmurHash3 finalizer, so nearby FNV values land in unrelated buckets
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private static float[] uniformWeights(int dimension) {
+        float[] weights = new float[dimension];
+        Arrays.fill(weights, 1f);
+        return weights;
+    }
+
+    private record IdfTable(float[] weights, String modelId) {
+    }
+}
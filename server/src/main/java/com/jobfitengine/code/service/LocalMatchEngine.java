@@ -0,0 +1,288 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.entity.Resume;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-JVM port of the Python {@code ResumeJobMatcher} pipeline. Skill extraction is limited to the
+ * pattern stage, served by {@link SkillDictionary} with {@link SkillDictionary.Matching#REFERENCE} so
+ * hits resolve exactly as the Python regexes do (there is no spaCy NER or noun-chunk pass), and
+ * semantic similarity uses the stored resume embedding from the configured {@link EmbeddingProvider}
+ * instead of a SentenceTransformer, falling back to a lexical cosine over term frequencies when no
+ * embedding is available.
+ */
+@Service
+@RequiredArgsConstructor
+public class LocalMatchEngine implements MatchEngine {
+
+    public static final String NAME = "local";
+    // Bump when the scoring rules below change
+    private static final String SCORING_VERSION = "4";
+
+    // The third pattern captures (skill, years) rather than (years, skill)
+    private static final Pattern EXPERIENCE_YEARS_IN = Pattern.compile(
+            "(\\d+)\\+?\\s*years?\\s*(?:of\\s*)?(?:experience\\s*)?(?:in\\s*)?([^,.]+)");
+    private static final Pattern EXPERIENCE_YEARS = Pattern.compile(
+            "(\\d+)\\+?\\s*years?\\s*([^,.]+)");
+    private static final Pattern EXPERIENCE_SKILL_YEARS = Pattern.compile(
+            "([^,.]+)\\s*(\\d+)\\+?\\s*years?");
+
+    private static final Map<String, List<String>> SKILL_VARIATIONS = new LinkedHashMap<>();
+
+    static {
+        SKILL_VARIATIONS.put("java", List.of("j2ee", "jee", "spring", "hibernate", "maven", "gradle"));
+        SKILL_VARIATIONS.put("javascript", List.of("js", "es6", "node", "react", "angular", "vue", "typescript"));
+        SKILL_VARIATIONS.put("python", List.of("django", "flask", "fastapi", "pandas", "numpy", "scikit-learn"));
+        SKILL_VARIATIONS.put("aws", List.of("amazon web services", "ec2", "s3", "lambda", "rds", "dynamodb"));
+        SKILL_VARIATIONS.put("docker", List.of("containerization", "kubernetes", "k8s", "containers"));
+        SKILL_VARIATIONS.put("sql", List.of("mysql", "postgresql", "oracle", "sql server", "database"));
+        SKILL_VARIATIONS.put("git", List.of("github", "gitlab", "bitbucket", "version control"));
+        SKILL_VARIATIONS.put("agile", List.of("scrum", "kanban", "sprint", "backlog", "user stories"));
+    }
+
+    private static final Pattern TERM = Pattern.compile("[a-z0-9+#]+");
+
+    private final SkillDictionary skillDictionary;
+    private final ResumeEmbeddingService resumeEmbeddingService;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getVersion() {
+        return SCORING_VERSION + "/" + skillDictionary.fingerprint() + "/" + resumeEmbeddingService.getModelId();
+    }
+
+    @Override
+    public MatchResult analyze(String resumeText, String jobDescription) {
+        return analyzeLexical(resumeText, jobDescription);
+    }
+
+    // Skills, experience and the term-frequency cosine only, with no embedding call, so it stays fast
+    // while remote services are down; the degraded answer of the Python engine
+    public MatchResult analyzeLexical(String resumeText, String jobDescription) {
+        return analyze(resumeText, jobDescription, calculateSemanticSimilarity(resumeText, jobDescription));
+    }
+
+    @Override
+    public MatchResult analyze(Resume resume, String jobDescription) {
+        // A single job skips prepare() so its embedding can run alongside the resume's
+        ResumeProfile profile = profile(resume.getExtractedText());
+        double semanticSimilarity = resumeEmbeddingService.calculateSemanticSimilarity(resume, jobDescription)
+                .orElseGet(() -> calculateSemanticSimilarity(profile.terms(), termFrequencies(jobDescription)));
+        return analyze(profile, jobDescription, semanticSimilarity);
+    }
+
+    @Override
+    public PreparedResume prepare(Resume resume) {
+        ResumeProfile profile = profile(resume.getExtractedText());
+        ChunkedEmbedding embedding = resumeEmbeddingService.getResumeEmbedding(resume);
+        return jobDescription -> {
+            double semanticSimilarity = resumeEmbeddingService.calculateSemanticSimilarity(embedding, jobDescription)
+                    .orElseGet(() -> calculateSemanticSimilarity(profile.terms(), termFrequencies(jobDescription)));
+            return analyze(profile, jobDescription, semanticSimilarity);
+        };
+    }
+
+    MatchResult analyze(String resumeText, String jobDescription, double semanticSimilarity) {
+        return analyze(profile(resumeText), jobDescription, semanticSimilarity);
+    }
+
+    // Unlike the Python matcher, which answers a failed analysis with a zero score, errors propagate so
+    // callers report a failure instead of caching a score
+    private MatchResult analyze(ResumeProfile resume, String jobDescription, double semanticSimilarity) {
+        List<String> jobSkills = extractSkills(jobDescription);
+        List<Experience> jobExperience = extractExperience(jobDescription);
+
+        List<String> matchedSkills = findSkillMatches(resume.skills(), jobSkills);
+        List<String> missingSkills = findMissingSkills(matchedSkills, jobSkills);
+        List<String> missingExperience = findMissingExperience(resume.experience(), jobExperience);
+
+        double matchScore = calculateMatchScore(semanticSimilarity, matchedSkills, missingSkills, jobSkills);
+
+        return new MatchResult(round(matchScore), matchedSkills, missingSkills, missingExperience, List.of());
+    }
+
+    private ResumeProfile profile(String resumeText) {
+        return new ResumeProfile(extractSkills(resumeText), extractExperience(resumeText), termFrequencies(resumeText));
+    }
+
+    List<String> extractSkills(String text) {
+        List<String> skills = new ArrayList<>();
+        for (String skill : skillDictionary.findSkills(text, SkillDictionary.Matching.REFERENCE)) {
+            if (skill.length() >= 2 && skill.length() <= 50) {
+                skills.add(skill);
+            }
+        }
+        return skills;
+    }
+
+    List<Experience> extractExperience(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        List<Experience> experience = new ArrayList<>();
+
+        collectExperience(EXPERIENCE_YEARS_IN, lower, 1, 2, experience);
+        collectExperience(EXPERIENCE_YEARS, lower, 1, 2, experience);
+        collectExperience(EXPERIENCE_SKILL_YEARS, lower, 2, 1, experience);
+
+        return experience;
+    }
+
+    private void collectExperience(Pattern pattern, String text, int yearsGroup, int skillGroup,
+                                   List<Experience> experience) {
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            // Unbounded like Python's int(), so no digit run is too long to compare
+            experience.add(new Experience(new BigInteger(matcher.group(yearsGroup)), matcher.group(skillGroup).strip()));
+        }
+    }
+
+    List<String> findSkillMatches(List<String> resumeSkills, List<String> jobSkills) {
+        Set<String> resumeSet = lowerCaseSet(resumeSkills);
+        Set<String> jobSet = lowerCaseSet(jobSkills);
+
+        // Direct matches
+        Set<String> matched = new LinkedHashSet<>(resumeSet);
+        matched.retainAll(jobSet);
+
+        // Fuzzy matches using skill variations
+        for (String skill : resumeSet) {
+            for (Map.Entry<String, List<String>> entry : SKILL_VARIATIONS.entrySet()) {
+                String baseSkill = entry.getKey();
+                List<String> variations = entry.getValue();
+                if (variations.contains(skill) || skill.contains(baseSkill)) {
+                    for (String jobSkill : jobSet) {
+                        if (variations.contains(jobSkill) || jobSkill.contains(baseSkill)) {
+                            matched.add(skill);
+                        }
+                    }
+                }
+            }
+        }
+
+        return new ArrayList<>(matched);
+    }
+
+    List<String> findMissingSkills(List<String> matchedSkills, List<String> jobSkills) {
+        Set<String> matched = new LinkedHashSet<>(matchedSkills);
+        List<String> missing = new ArrayList<>();
+        for (String jobSkill : lowerCaseSet(jobSkills)) {
+            if (!matched.contains(jobSkill)) {
+                missing.add(jobSkill);
+            }
+        }
+        return missing;
+    }
+
+    List<String> findMissingExperience(List<Experience> resumeExperience, List<Experience> jobExperience) {
+        List<String> missing = new ArrayList<>();
+
+        for (Experience jobRequirement : jobExperience) {
+            BigInteger jobYears = jobRequirement.years();
+
+            boolean found = false;
+            for (Experience resumeEntry : resumeExperience) {
+                if (resumeEntry.skill().contains(jobRequirement.skill())
+                        && resumeEntry.years().compareTo(jobYears) >= 0) {
+                    found = true;
+                    break;
+                }
+            }
+
+            if (!found) {
+                missing.add(jobYears + "+ years in " + jobRequirement.skill());
+            }
+        }
+
+        return missing;
+    }
+
+    double calculateMatchScore(double semanticSimilarity, List<String> matchedSkills,
+                               List<String> missingSkills, List<String> jobSkills) {
+        if (jobSkills.isEmpty()) {
+            return semanticSimilarity * 100;
+        }
+
+        double skillMatchRatio = (double) matchedSkills.size() / jobSkills.size();
+        double missingPenalty = (double) missingSkills.size() / jobSkills.size();
+
+        double skillScore = (skillMatchRatio * 0.6) - (missingPenalty * 0.4);
+        double semanticScore = semanticSimilarity * 0.4;
+
+        double finalScore = (semanticScore + skillScore) * 100;
+        return Math.max(0.0, Math.min(100.0, finalScore));
+    }
+
+    double calculateSemanticSimilarity(String text1, String text2) {
+        return calculateSemanticSimilarity(termFrequencies(text1), termFrequencies(text2));
+    }
+
+    private double calculateSemanticSimilarity(Map<String, Integer> terms1, Map<String, Integer> terms2) {
+        if (terms1.isEmpty() || terms2.isEmpty()) {
+            return 0.0;
+        }
+
+        double dotProduct = 0.0;
+        for (Map.Entry<String, Integer> entry : terms1.entrySet()) {
+            Integer other = terms2.get(entry.getKey());
+            if (other != null) {
+                dotProduct += (double) entry.getValue() * other;
+            }
+        }
+
+        return dotProduct / (norm(terms1) * norm(terms2));
+    }
+
+    private Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        Matcher matcher = TERM.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            frequencies.merge(matcher.group(), 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    private double norm(Map<String, Integer> frequencies) {
+        double sum = 0.0;
+        for (int count : frequencies.values()) {
+            sum += (double) count * count;
+        }
+        return Math.sqrt(sum);
+    }
+
+    private Set<String> lowerCaseSet(List<String> values) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String value : values) {
+            result.add(value.toLowerCase(Locale.ROOT));
+        }
+        return result;
+    }
+
+    private double round(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_EVEN).doubleValue();
+    }
+
+    record Experience(BigInteger years, String skill) {
+    }
+
+    // Resume-side analysis shared by every job description scored against the same resume
+    private record ResumeProfile(List<String> skills, List<Experience> experience, Map<String, Integer> terms) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.jobfitengine.code.service;
+
+import org.apache.commons.io.input.BoundedInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Keeps resume files in a directory on the local disk. Fine for one replica; use the S3 backend
+ * when several replicas serve the same users.
+ */
+public class LocalResumeStorage implements ResumeStorage {
+
+    private final Path root;
+
+    public LocalResumeStorage(Path root) {
+        this.root = root;
+    }
+
+    @Override
+    public long write(String key, InputStream content) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        OutputStream out = Files.newOutputStream(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try (out) {
+            return content.transferTo(out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean move(String source, String target) throws IOException {
+        Path from = resolve(source);
+        Path to = resolve(target);
+        Files.createDirectories(to.getParent());
+        if (!Files.exists(to)) {
+            try {
+                Files.move(from, to);
+                return true;
+            } catch (FileAlreadyExistsException e) {
+                // Same bytes published concurrently by another upload
+            }
+        }
+        Files.deleteIfExists(from);
+        return false;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        return Files.size(resolve(key));
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public InputStream open(String key, long offset, long length) throws IOException {
+        FileChannel channel = FileChannel.open(resolve(key));
+        channel.position(offset);
+        return BoundedInputStream.builder()
+                .setInputStream(Channels.newInputStream(channel))
+                .setMaxCount(length)
+                .get();
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public String url(String key) {
+        return resolve(key).toUri().toString();
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    Path resolve(String key) {
+        // Rows stored before storage keys hold the full path under the upload directory
+        Path path = Paths.get(key);
+        if (path.isAbsolute() || path.startsWith(root)) {
+            return path;
+        }
+        return root.resolve(key);
+    }
+}
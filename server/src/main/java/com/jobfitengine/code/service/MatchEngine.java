@@ -0,0 +1,48 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.entity.Resume;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Strategy for scoring a resume against a job description.
+ * Implementations are selected by name through the {@code matcher.engine} property.
+ */
+public interface MatchEngine {
+    
+    String getName();
+    
+    // Identifies the scoring logic and its inputs; cached results from another version are never reused
+    default String getVersion() {
+        return "1";
+    }
+    
+    MatchResult analyze(String resumeText, String jobDescription);
+    
+    // Engines that can use precomputed resume artifacts override this
+    default MatchResult analyze(Resume resume, String jobDescription) {
+        return analyze(resume.getExtractedText(), jobDescription);
+    }
+    
+    // Non-blocking variant, empty when the engine has no result. By default the blocking analyze
+    // runs on blockingScheduler, a bounded pool of the caller's, so the caller's thread is never held
+    default Mono<MatchResult> analyzeAsync(Resume resume, String jobDescription, Scheduler blockingScheduler) {
+        return Mono.fromCallable(() -> analyze(resume, jobDescription))
+                .subscribeOn(blockingScheduler);
+    }
+    
+    // Does the resume-side work once so each further job description only pays for its own side
+    default PreparedResume prepare(Resume resume) {
+        return jobDescription -> analyze(resume, jobDescription);
+    }
+    
+    /**
+     * A resume already analyzed by an engine, ready to be scored against any number of job
+     * descriptions. Implementations must be safe to call from several threads at once.
+     */
+    @FunctionalInterface
+    interface PreparedResume {
+        
+        MatchResult analyze(String jobDescription);
+    }
+}
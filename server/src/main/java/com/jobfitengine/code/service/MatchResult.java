@@ -0,0 +1,36 @@
+package com.jobfitengine.code.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Raw engine output, shaped like the Python matcher's /analyze response
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchResult {
+    // The Python matcher answers a failed analysis with a zero score and a note starting with this
+    public static final String ANALYSIS_ERROR = "Analysis error: ";
+
+    private double matchScore;
+    private List<String> matchedSkills;
+    private List<String> missingSkills;
+    private List<String> missingExperience;
+    private List<String> otherMissing;
+    // Set when a fallback answered instead of the engine; never part of the Python response
+    @JsonIgnore
+    private boolean degraded;
+
+    public MatchResult(double matchScore, List<String> matchedSkills, List<String> missingSkills,
+                       List<String> missingExperience, List<String> otherMissing) {
+        this(matchScore, matchedSkills, missingSkills, missingExperience, otherMissing, false);
+    }
+
+    @JsonIgnore
+    public boolean isAnalysisError() {
+        return otherMissing != null && otherMissing.stream().anyMatch(note -> note.startsWith(ANALYSIS_ERROR));
+    }
+}
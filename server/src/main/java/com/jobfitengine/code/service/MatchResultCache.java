@@ -0,0 +1,188 @@
+package com.jobfitengine.code.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.jobfitengine.code.dto.JobMatchingResponse;
+import com.jobfitengine.code.entity.Resume;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Successful match responses keyed by the resume and a SHA-256 digest of everything else the result
+ * depends on: the resume's last update, the whitespace-normalized job description, the request type
+ * and the engine name and version. Entries are weighed by their approximate heap size, expire after
+ * a TTL and are dropped when their resume is updated or deleted, through an index of the keys held
+ * for each resume.
+ */
+@Component
+@Slf4j
+public class MatchResultCache implements MeterBinder {
+
+    private final Cache<Key, JobMatchingResponse> cache;
+    private final Map<UUID, Set<Key>> keysByResume = new ConcurrentHashMap<>();
+
+    public MatchResultCache(@Value("${matcher.cache.max-weight-bytes:67108864}") long maxWeightBytes,
+                            @Value("${matcher.cache.ttl:30m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((Key key, JobMatchingResponse response) -> estimateSize(response))
+                .expireAfterWrite(ttl)
+                .evictionListener((Key key, JobMatchingResponse response, RemovalCause cause) -> unindex(key))
+                .recordStats()
+                .build();
+        log.info("Match result cache limited to {} bytes with a TTL of {}", maxWeightBytes, ttl);
+    }
+
+    // Hits, misses and evictions as cache_* meters, alongside the /cache/stats endpoint
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "match_results");
+    }
+
+    public Key key(Resume resume, String jobDescription, String type, MatchEngine engine) {
+        MessageDigest digest = sha256();
+        update(digest, String.valueOf(resume.getUpdatedAt()));
+        update(digest, normalize(jobDescription));
+        update(digest, type);
+        update(digest, engine.getName());
+        update(digest, engine.getVersion());
+        return new Key(resume.getId(), HexFormat.of().formatHex(digest.digest()));
+    }
+
+    public Optional<JobMatchingResponse> get(Key key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    // Only full successful responses are cached so transient engine failures and fallbacks are retried
+    public void put(Key key, JobMatchingResponse response) {
+        if (response.isSuccess() && !response.isDegraded()) {
+            if (key.resumeId() != null) {
+                keysByResume.compute(key.resumeId(), (id, keys) -> {
+                    Set<Key> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+                    indexed.add(key);
+                    return indexed;
+                });
+            }
+            cache.put(key, response);
+        }
+    }
+
+    public void invalidateResume(UUID resumeId) {
+        if (resumeId != null) {
+            Set<Key> keys = keysByResume.remove(resumeId);
+            if (keys != null) {
+                cache.invalidateAll(keys);
+            }
+        }
+    }
+
+    // Entries that expired or were evicted for size leave the index with them
+    private void unindex(Key key) {
+        if (key != null && key.resumeId() != null) {
+            keysByResume.computeIfPresent(key.resumeId(), (id, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    long indexedKeys() {
+        return keysByResume.values().stream().mapToLong(Set::size).sum();
+    }
+
+    // Collapses whitespace runs to one space and trims; a hand loop keeps cache hits cheap
+    static String normalize(String jobDescription) {
+        if (jobDescription == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(jobDescription.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < jobDescription.length(); i++) {
+            char c = jobDescription.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    // Rough retained size: object headers and fields plus two bytes per character
+    static int estimateSize(JobMatchingResponse response) {
+        long size = 64 + chars(response.getMessage());
+        for (JobMatchingResponse.MatchedSkill skill : nullSafe(response.getMatchedSkills())) {
+            size += 48 + chars(skill.getSkill()) + chars(skill.getCategory());
+        }
+        for (JobMatchingResponse.MissingSkill skill : nullSafe(response.getMissingSkills())) {
+            size += 48 + chars(skill.getSkill()) + chars(skill.getCategory());
+        }
+        if (response.getAnalysis() != null) {
+            size += 32 + chars(response.getAnalysis().getOverallMatch());
+            for (String recommendation : nullSafe(response.getAnalysis().getRecommendations())) {
+                size += 24 + chars(recommendation);
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    private static long chars(String value) {
+        return value == null ? 0 : 40 + 2L * value.length();
+    }
+
+    private static <T> List<T> nullSafe(List<T> values) {
+        return values != null ? values : List.of();
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        // Length prefix keeps ("ab", "c") and ("a", "bc") apart
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record Key(UUID resumeId, String digest) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.jobfitengine.code.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer meters for the stages of the matching and ingestion pipelines. Each stage is its own
+ * timer tagged with an outcome, so the count per outcome doubles as the failure counter; latency
+ * percentiles come from the histogram buckets enabled for {@code jobfit} meters under
+ * {@code management.metrics.distribution}.
+ */
+@Component
+@RequiredArgsConstructor
+public class PipelineMetrics {
+
+    public static final String JWT_AUTH = "jobfit.auth.jwt";
+    public static final String DB_LOOKUP = "jobfit.db.lookup";
+    public static final String EXTRACTION = "jobfit.ingestion.extraction";
+    public static final String PYTHON_MATCHER = "jobfit.matcher.python";
+    // Guard events around the Python matcher: hedged, bulkhead_full, circuit_open and degraded (answered locally)
+    public static final String PYTHON_MATCHER_EVENTS = "jobfit.matcher.python.events";
+    public static final String PYTHON_MATCHER_CIRCUIT = "jobfit.matcher.python.circuit";
+    public static final String BEDROCK = "jobfit.bedrock.invoke";
+    // Embedding requests by how they were served: a new call, joined to one in flight, or turned away
+    public static final String BEDROCK_REQUESTS = "jobfit.bedrock.requests";
+    public static final String COMPREHEND = "jobfit.comprehend.call";
+    public static final String RESPONSE_CONVERSION = "jobfit.match.conversion";
+    // How each match request was answered: from the result cache, by an engine, by its degraded fallback, or not at all
+    public static final String MATCH_REQUESTS = "jobfit.match.requests";
+    public static final String PAYLOAD_BYTES = "jobfit.payload.bytes";
+    public static final String TEXT_LENGTH = "jobfit.payload.text.length";
+
+    public static final String SUCCESS = "success";
+    public static final String EMPTY = "empty";
+    // Some documents of a batched call failed and were left out of the result
+    public static final String PARTIAL = "partial";
+    public static final String FAILURE = "failure";
+
+    private final MeterRegistry registry;
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    // Tags must be the same keys on every call for a given stage; Prometheus rejects mixed label sets
+    public void stop(Timer.Sample sample, String stage, String... tags) {
+        sample.stop(registry.timer(stage, tags));
+    }
+
+    public void count(String name, String... tags) {
+        registry.counter(name, tags).increment();
+    }
+
+    public void recordBytes(String kind, long bytes) {
+        DistributionSummary.builder(PAYLOAD_BYTES)
+                .baseUnit("bytes")
+                .tag("kind", kind)
+                .register(registry)
+                .record(bytes);
+    }
+
+    public void recordTextLength(String kind, int chars) {
+        DistributionSummary.builder(TEXT_LENGTH)
+                .baseUnit("characters")
+                .tag("kind", kind)
+                .register(registry)
+                .record(chars);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,210 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.entity.Resume;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Remote engine backed by the Flask /analyze endpoint in python-job-matcher. Calls are guarded so a
+ * slow or failing matcher cannot hold requests: at most {@code python.matcher.max-concurrency} are in
+ * flight, each is cut off after {@code python.matcher.timeout}, and a {@link CircuitBreaker} stops
+ * calling the matcher for a while once most recent calls have failed. When
+ * {@code python.matcher.hedge.url} names a second instance, a call still unanswered after the recent
+ * p95 latency is sent there too and the first answer wins. Whenever the matcher cannot answer, the
+ * local engine's lexical skill match answers instead, flagged as degraded.
+ */
+@Service
+@Slf4j
+public class PythonMatchEngine implements MatchEngine, MeterBinder {
+
+    public static final String NAME = "python";
+
+    private final WebClient webClient;
+    private final PipelineMetrics metrics;
+    private final LocalMatchEngine fallbackEngine;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    // Latencies of answered calls, for the hedge delay
+    private final LatencyWindow latencies = new LatencyWindow(200, 20);
+
+    @Value("${python.matcher.url:http://localhost:5000}")
+    private String pythonMatcherUrl;
+
+    // Set to the deployed matcher's release so cached results follow matcher upgrades
+    @Value("${python.matcher.version:1}")
+    private String pythonMatcherVersion;
+
+    // Covers the hedge as well, so it bounds the whole call
+    @Value("${python.matcher.timeout:5s}")
+    private Duration timeout = Duration.ofSeconds(5);
+
+    // Blank disables hedging
+    @Value("${python.matcher.hedge.url:}")
+    private String hedgeUrl = "";
+
+    @Value("${python.matcher.hedge.min-delay:50ms}")
+    private Duration minHedgeDelay = Duration.ofMillis(50);
+
+    // Until enough calls have been answered for a p95
+    @Value("${python.matcher.hedge.initial-delay:1s}")
+    private Duration initialHedgeDelay = Duration.ofSeconds(1);
+
+    public PythonMatchEngine(WebClient webClient, PipelineMetrics metrics, LocalMatchEngine fallbackEngine,
+                             @Value("${python.matcher.max-concurrency:64}") int maxConcurrency,
+                             @Value("${python.matcher.circuit.window:20}") int circuitWindow,
+                             @Value("${python.matcher.circuit.failure-rate:0.5}") double circuitFailureRate,
+                             @Value("${python.matcher.circuit.open-duration:30s}") Duration circuitOpenDuration) {
+        this.webClient = webClient;
+        this.metrics = metrics;
+        this.fallbackEngine = fallbackEngine;
+        this.bulkhead = new Semaphore(maxConcurrency);
+        this.circuitBreaker = new CircuitBreaker(NAME + "-matcher", circuitWindow, circuitFailureRate,
+                circuitOpenDuration);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(PipelineMetrics.PYTHON_MATCHER_CIRCUIT, circuitBreaker, breaker -> breaker.state().ordinal())
+                .description("Python matcher circuit: 0 closed, 1 open, 2 half-open")
+                .register(registry);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getVersion() {
+        return pythonMatcherVersion;
+    }
+
+    @Override
+    public MatchResult analyze(String resumeText, String jobDescription) {
+        return analyzeAsync(resumeText, jobDescription).block();
+    }
+
+    // The WebClient call is already non-blocking, so no scheduler hop is needed
+    @Override
+    public Mono<MatchResult> analyzeAsync(Resume resume, String jobDescription, Scheduler blockingScheduler) {
+        return analyzeAsync(resume.getExtractedText(), jobDescription);
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    // Permits are taken on subscription, so an unsubscribed Mono holds none
+    private Mono<MatchResult> analyzeAsync(String resumeText, String jobDescription) {
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquire()) {
+                metrics.count(PipelineMetrics.PYTHON_MATCHER_EVENTS, "event", "bulkhead_full");
+                return degraded(resumeText, jobDescription);
+            }
+            if (!circuitBreaker.tryAcquire()) {
+                bulkhead.release();
+                metrics.count(PipelineMetrics.PYTHON_MATCHER_EVENTS, "event", "circuit_open");
+                return degraded(resumeText, jobDescription);
+            }
+
+            Map<String, String> request = Map.of(
+                "resume_text", resumeText,
+                "job_description", jobDescription
+            );
+
+            log.info("Calling Python matcher service at: {}", pythonMatcherUrl + "/analyze");
+            log.info("Request payload: resume_text length={}, job_description length={}",
+                    resumeText.length(), jobDescription.length());
+
+            return hedged(request)
+                .timeout(timeout)
+                .doOnSuccess(response -> {
+                    if (response != null) {
+                        circuitBreaker.onSuccess();
+                    } else {
+                        circuitBreaker.onFailure();
+                    }
+                })
+                .doOnError(e -> circuitBreaker.onFailure())
+                .doOnCancel(circuitBreaker::onIgnored)
+                .doFinally(signal -> bulkhead.release())
+                .doOnNext(response -> log.info("Python service response received. Match score: {}, Matched skills: {}, Missing skills: {}",
+                        response.getMatchScore(),
+                        response.getMatchedSkills() != null ? response.getMatchedSkills().size() : 0,
+                        response.getMissingSkills() != null ? response.getMissingSkills().size() : 0))
+                .switchIfEmpty(Mono.fromRunnable(() -> log.warn("Python service returned null response")))
+                .onErrorResume(e -> {
+                    log.error("Error calling Python matcher service: {}", e.getMessage(), e);
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(() -> degraded(resumeText, jobDescription)));
+        });
+    }
+
+    // Whichever instance answers first wins and the other call is cancelled
+    private Mono<MatchResult> hedged(Map<String, String> request) {
+        Mono<MatchResult> primary = attempt(pythonMatcherUrl, request);
+        if (hedgeUrl.isBlank()) {
+            return primary;
+        }
+        Mono<MatchResult> hedge = Mono.delay(hedgeDelay())
+                .then(Mono.defer(() -> {
+                    metrics.count(PipelineMetrics.PYTHON_MATCHER_EVENTS, "event", "hedged");
+                    return attempt(hedgeUrl, request);
+                }));
+        return Mono.firstWithValue(primary, hedge);
+    }
+
+    private Duration hedgeDelay() {
+        return latencies.percentile(0.95)
+                .map(p95 -> p95.compareTo(minHedgeDelay) < 0 ? minHedgeDelay : p95)
+                .orElse(initialHedgeDelay);
+    }
+
+    // Timed from subscription, so a retried or hedged call is measured each time
+    private Mono<MatchResult> attempt(String url, Map<String, String> request) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = metrics.start();
+            long start = System.nanoTime();
+            return webClient.post()
+                .uri(url + "/analyze")
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(MatchResult.class)
+                .doOnSuccess(response -> {
+                    metrics.stop(sample, PipelineMetrics.PYTHON_MATCHER, "outcome",
+                            response != null ? PipelineMetrics.SUCCESS : PipelineMetrics.EMPTY);
+                    if (response != null) {
+                        latencies.record(Duration.ofNanos(System.nanoTime() - start));
+                    }
+                })
+                .doOnError(e -> metrics.stop(sample, PipelineMetrics.PYTHON_MATCHER, "outcome",
+                        PipelineMetrics.FAILURE));
+        });
+    }
+
+    // CPU-only work, kept off the Netty event loop
+    private Mono<MatchResult> degraded(String resumeText, String jobDescription) {
+        return Mono.fromCallable(() -> {
+                metrics.count(PipelineMetrics.PYTHON_MATCHER_EVENTS, "event", "degraded");
+                log.debug("Python matcher unavailable; answering with the local lexical match");
+                MatchResult result = fallbackEngine.analyzeLexical(resumeText, jobDescription);
+                result.setDegraded(true);
+                return result;
+            })
+            .subscribeOn(Schedulers.parallel());
+    }
+}
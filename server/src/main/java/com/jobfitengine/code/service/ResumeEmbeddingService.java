@@ -0,0 +1,137 @@
+package com.jobfitengine.code.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobfitengine.code.entity.Resume;
+import com.jobfitengine.code.repository.ResumeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keeps the resume side of semantic matching precomputed: the embedding is stored on the resume
+ * row when it is uploaded, so a match only has to embed the job description. The row keeps both the
+ * chunk vectors used for matching and their mean, which the resume index searches. Stored vectors
+ * from another model are recomputed the first time they are needed. A resume that could not be
+ * embedded is not retried for the failure TTL, so matches against it skip the provider meanwhile.
+ */
+@Service
+@Slf4j
+public class ResumeEmbeddingService {
+
+    private final EmbeddingProvider embeddingProvider;
+    private final ResumeRepository resumeRepository;
+    private final ResumeVectorIndex resumeVectorIndex;
+    // Resumes whose last embedding attempt failed, with the model it failed for
+    private final Cache<UUID, String> failedEmbeddings;
+
+    public ResumeEmbeddingService(EmbeddingProvider embeddingProvider, ResumeRepository resumeRepository,
+                                  ResumeVectorIndex resumeVectorIndex,
+                                  @Value("${matcher.embedding.failure-ttl:1m}") Duration failureTtl) {
+        this.embeddingProvider = embeddingProvider;
+        this.resumeRepository = resumeRepository;
+        this.resumeVectorIndex = resumeVectorIndex;
+        this.failedEmbeddings = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(failureTtl)
+                .build();
+    }
+
+    public String getModelId() {
+        return embeddingProvider.getModelId();
+    }
+
+    // Sets the embedding fields on the entity without saving it
+    public void embedResume(Resume resume) {
+        String text = resume.getExtractedText();
+        if (text == null || text.isBlank()) {
+            clearEmbedding(resume);
+            return;
+        }
+
+        ChunkedEmbedding embedding = embeddingProvider.embedChunks(text);
+        if (embedding.isEmpty()) {
+            log.warn("Could not embed resume {}; it will be embedded on first match", resume.getId());
+            clearEmbedding(resume);
+            return;
+        }
+
+        resume.setEmbedding(embedding.mean().toBytes());
+        resume.setEmbeddingChunks(embedding.toBytes());
+        resume.setEmbeddingModel(embeddingProvider.getModelId());
+        resume.setEmbeddingDimension(embedding.dimension());
+    }
+
+    public ChunkedEmbedding getResumeEmbedding(Resume resume) {
+        if (hasCurrentEmbedding(resume)) {
+            // Rows embedded before chunking only have the single whole-text vector
+            return resume.getEmbeddingChunks() == null
+                    ? ChunkedEmbedding.of(List.of(Embedding.fromBytes(resume.getEmbedding())))
+                    : ChunkedEmbedding.fromBytes(resume.getEmbeddingChunks(), resume.getEmbeddingDimension());
+        }
+
+        String modelId = embeddingProvider.getModelId();
+        if (resume.getId() != null && modelId.equals(failedEmbeddings.getIfPresent(resume.getId()))) {
+            return ChunkedEmbedding.EMPTY;
+        }
+
+        log.info("Re-embedding resume {} (stored model: {}, configured model: {})",
+                resume.getId(), resume.getEmbeddingModel(), modelId);
+        embedResume(resume);
+        if (resume.getEmbedding() == null) {
+            if (resume.getId() != null) {
+                failedEmbeddings.put(resume.getId(), modelId);
+            }
+            return ChunkedEmbedding.EMPTY;
+        }
+        resumeRepository.save(resume);
+        resumeVectorIndex.update(resume);
+        return ChunkedEmbedding.fromBytes(resume.getEmbeddingChunks(), resume.getEmbeddingDimension());
+    }
+
+    public OptionalDouble calculateSemanticSimilarity(Resume resume, String jobDescription) {
+        String text = resume.getExtractedText();
+        if (text == null || text.isBlank()) {
+            return OptionalDouble.empty();
+        }
+
+        // The job description is embedded while the resume vectors are read or, for another model, recomputed
+        CompletableFuture<ChunkedEmbedding> jobEmbedding = embeddingProvider.embedChunksAsync(jobDescription);
+        return similarity(getResumeEmbedding(resume), jobEmbedding.join());
+    }
+
+    public OptionalDouble calculateSemanticSimilarity(ChunkedEmbedding resumeEmbedding, String jobDescription) {
+        if (resumeEmbedding.isEmpty()) {
+            return OptionalDouble.empty();
+        }
+        return similarity(resumeEmbedding, embeddingProvider.embedChunks(jobDescription));
+    }
+
+    // Job chunks look for their closest resume chunk, so a requirement matches the section that covers it
+    private OptionalDouble similarity(ChunkedEmbedding resumeEmbedding, ChunkedEmbedding jobEmbedding) {
+        if (resumeEmbedding.isEmpty() || jobEmbedding.isEmpty()) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(jobEmbedding.similarity(resumeEmbedding));
+    }
+
+    private boolean hasCurrentEmbedding(Resume resume) {
+        return resume.getEmbedding() != null
+                && embeddingProvider.getModelId().equals(resume.getEmbeddingModel())
+                && resume.getEmbeddingDimension() != null
+                && resume.getEmbedding().length == resume.getEmbeddingDimension() * Float.BYTES;
+    }
+
+    private void clearEmbedding(Resume resume) {
+        resume.setEmbedding(null);
+        resume.setEmbeddingChunks(null);
+        resume.setEmbeddingModel(null);
+        resume.setEmbeddingDimension(null);
+    }
+}
@@ -0,0 +1,132 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.repository.ResumeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Content-addressed store for uploaded resume files on top of {@link ResumeStorage}. Each file is
+ * kept under {@code <first two hex digits>/<sha256>}, so identical uploads share one copy. The
+ * references are the resume rows pointing at it: a file is deleted when the last row that uses it
+ * is deleted or moved to another file. Files from before content addressing are named by a UUID
+ * and simply have a single reference.
+ * <p>
+ * Releasing only marks a file; a sweep deletes it once it has gone unreferenced for the release
+ * grace period. Counting references and deleting cannot be atomic against an upload of the same
+ * bytes that has found the file but not yet saved its row, so an upload that reuses a file cancels
+ * its pending release here, and the grace period, well beyond the time between storing a file and
+ * saving its row, covers uploads on other replicas.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumeFileStore {
+
+    private final ResumeRepository resumeRepository;
+    private final ResumeStorage resumeStorage;
+    // Released files awaiting the sweep
+    private final Map<String, PendingRelease> pendingReleases = new ConcurrentHashMap<>();
+
+    @Value("${file.upload.release-grace:5m}")
+    private Duration releaseGrace = Duration.ofMinutes(5);
+
+    // Reads the upload once, hashing it as it streams to a temporary key that is then moved to its content address
+    public StoredFile store(InputStream upload) throws IOException {
+        String incoming = "incoming/" + UUID.randomUUID();
+        MessageDigest digest = sha256();
+        long size;
+        try (InputStream in = new DigestInputStream(upload, digest)) {
+            size = resumeStorage.write(incoming, in);
+        }
+
+        String contentHash = HexFormat.of().formatHex(digest.digest());
+        String key = keyFor(contentHash);
+        // Waits out a sweep deleting this key, so the move below either reuses a file that stays or recreates it
+        pendingReleases.remove(key);
+        boolean duplicate = !resumeStorage.move(incoming, key);
+        if (duplicate) {
+            log.info("Upload {} is already stored; reusing the existing file", contentHash);
+        }
+        return new StoredFile(key, resumeStorage.url(key), size, contentHash, duplicate);
+    }
+
+    // Call after the referencing row has been deleted or repointed; the sweep deletes the file once nothing uses it
+    public void release(String key, String contentHash) {
+        if (key != null) {
+            // Content-addressed files are pending under their storage key, whichever form the row held
+            String pendingKey = isContentAddressed(key, contentHash) ? keyFor(contentHash) : key;
+            pendingReleases.put(pendingKey, new PendingRelease(key, contentHash, System.nanoTime()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${file.upload.release-sweep-interval-ms:60000}",
+            initialDelayString = "${file.upload.release-sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        for (String key : pendingReleases.keySet()) {
+            // Counted and deleted under the entry's lock, which a concurrent store of the same key waits for
+            pendingReleases.computeIfPresent(key, (k, pending) -> {
+                if (now - pending.releasedAt() < releaseGrace.toNanos()) {
+                    return pending;
+                }
+                if (references(pending.key(), pending.contentHash()) == 0) {
+                    delete(pending.key());
+                }
+                return null;
+            });
+        }
+    }
+
+    private void delete(String key) {
+        try {
+            resumeStorage.delete(key);
+        } catch (IOException | RuntimeException e) {
+            log.error("Error deleting unreferenced resume file {}: {}", key, e.getMessage());
+        }
+    }
+
+    // A content-addressed file is shared by every row with its hash, whichever form of its key the row
+    // holds (rows from before storage keys hold the full local path)
+    private long references(String key, String contentHash) {
+        if (isContentAddressed(key, contentHash)) {
+            return resumeRepository.countByContentHash(contentHash);
+        }
+        return resumeRepository.countByFilePath(key);
+    }
+
+    private static boolean isContentAddressed(String key, String contentHash) {
+        return contentHash != null && key.endsWith(keyFor(contentHash));
+    }
+
+    static String keyFor(String contentHash) {
+        return contentHash.substring(0, 2) + "/" + contentHash;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record PendingRelease(String key, String contentHash, long releasedAt) {
+    }
+
+    public record StoredFile(String key, String url, long size, String contentHash, boolean duplicate) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.jobfitengine.code.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tika.io.TikaInputStream;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Parses a stored resume file on a processing worker. A file on the local disk is handed to Tika
+ * directly, which lets PDF and DOCX parsers use it instead of spooling it to another temp file;
+ * remote files are streamed and Tika spools them only when a parser needs random access.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumeIngestionService {
+
+    private final DocumentTextExtractionService textExtractionService;
+    private final ResumeStorage resumeStorage;
+
+    public DocumentTextExtractionService.ExtractedText extract(String key) throws IOException {
+        Optional<Path> local = resumeStorage.localPath(key);
+        try (TikaInputStream in = local.isPresent()
+                ? TikaInputStream.get(local.get())
+                : TikaInputStream.get(resumeStorage.open(key))) {
+            return textExtractionService.extract(in);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.entity.Resume;
+import com.jobfitengine.code.entity.ResumeProcessingJob;
+import com.jobfitengine.code.entity.ResumeStatus;
+import com.jobfitengine.code.repository.ResumeProcessingJobRepository;
+import com.jobfitengine.code.repository.ResumeRepository;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background half of a resume upload: text extraction and normalization, then embedding. Jobs are
+ * rows in {@code resume_processing_jobs} and run on a bounded worker pool. A periodic sweep
+ * dispatches queued jobs the pool had no room for, retries failed attempts, and requeues running
+ * jobs whose worker stopped sending heartbeats, so neither a full pool nor a restart loses work.
+ */
+@Service
+@Slf4j
+public class ResumeProcessingService {
+
+    private final ResumeProcessingJobRepository jobRepository;
+    private final ResumeRepository resumeRepository;
+    private final ResumeIngestionService ingestionService;
+    private final ResumeEmbeddingService resumeEmbeddingService;
+    private final ResumeVectorIndex resumeVectorIndex;
+    private final MatchResultCache matchResultCache;
+    private final ResumeTextStore resumeTextStore;
+    private final PipelineMetrics metrics;
+    private final ThreadPoolExecutor workers;
+    // Jobs handed to the pool but not finished, so the sweep does not queue them twice
+    private final Set<UUID> dispatched = ConcurrentHashMap.newKeySet();
+
+    @Value("${resume.processing.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${resume.processing.stale-after:10m}")
+    private Duration staleAfter;
+
+    public ResumeProcessingService(ResumeProcessingJobRepository jobRepository,
+                                   ResumeRepository resumeRepository,
+                                   ResumeIngestionService ingestionService,
+                                   ResumeEmbeddingService resumeEmbeddingService,
+                                   ResumeVectorIndex resumeVectorIndex,
+                                   MatchResultCache matchResultCache,
+                                   ResumeTextStore resumeTextStore,
+                                   PipelineMetrics metrics,
+                                   @Value("${resume.processing.workers:2}") int workerCount,
+                                   @Value("${resume.processing.queue-capacity:100}") int queueCapacity) {
+        this.jobRepository = jobRepository;
+        this.resumeRepository = resumeRepository;
+        this.ingestionService = ingestionService;
+        this.resumeEmbeddingService = resumeEmbeddingService;
+        this.resumeVectorIndex = resumeVectorIndex;
+        this.matchResultCache = matchResultCache;
+        this.resumeTextStore = resumeTextStore;
+        this.metrics = metrics;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "resume-processing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+    // Expects the resume to be saved already, with its file stored and status PROCESSING
+    public ResumeProcessingJob enqueue(Resume resume) {
+        ResumeProcessingJob job = new ResumeProcessingJob();
+        job.setResumeId(resume.getId());
+        job.setFilePath(resume.getFilePath());
+        job.setStatus(ResumeProcessingJob.Status.QUEUED);
+        job.setStage(ResumeProcessingJob.Stage.STORED);
+        job.setUpdatedAt(LocalDateTime.now());
+        ResumeProcessingJob saved = jobRepository.save(job);
+        dispatch(saved.getId());
+        return saved;
+    }
+
+    public Optional<ResumeProcessingJob> findLatestJob(UUID resumeId) {
+        return jobRepository.findFirstByResumeIdOrderByCreatedAtDesc(resumeId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeQueuedWork() {
+        sweep();
+    }
+
+    @Scheduled(fixedDelayString = "${resume.processing.poll-interval-ms:30000}",
+            initialDelayString = "${resume.processing.poll-interval-ms:30000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = jobRepository.requeueStale(ResumeProcessingJob.Status.RUNNING, ResumeProcessingJob.Status.QUEUED,
+                now.minus(staleAfter), now);
+        if (requeued > 0) {
+            log.warn("Requeued {} resume processing jobs with no heartbeat for {}", requeued, staleAfter);
+        }
+
+        for (ResumeProcessingJob job : jobRepository.findTop100ByStatusOrderByCreatedAtAsc(ResumeProcessingJob.Status.QUEUED)) {
+            if (!dispatch(job.getId())) {
+                break;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted jobs stay RUNNING and are requeued once they go stale
+        workers.shutdownNow();
+    }
+
+    // Returns false when the pool is full; the job then stays queued for the next sweep
+    private boolean dispatch(UUID jobId) {
+        if (!dispatched.add(jobId)) {
+            return true;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    dispatched.remove(jobId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            dispatched.remove(jobId);
+            log.debug("Resume processing pool is full; job {} stays queued", jobId);
+            return false;
+        }
+    }
+
+    void run(UUID jobId) {
+        // Claim the job; another worker or instance may have taken it already
+        if (jobRepository.transition(jobId, ResumeProcessingJob.Status.QUEUED, ResumeProcessingJob.Status.RUNNING,
+                LocalDateTime.now()) == 0) {
+            return;
+        }
+        ResumeProcessingJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+
+        try {
+            process(job);
+        } catch (Exception e) {
+            fail(job, e);
+        }
+    }
+
+    private void process(ResumeProcessingJob job) throws IOException {
+        Optional<Resume> current = currentResume(job);
+        if (current.isEmpty()) {
+            finish(job, "Superseded by a newer upload or deleted");
+            return;
+        }
+        Resume resume = current.get();
+
+        advance(job, ResumeProcessingJob.Stage.EXTRACTING);
+        DocumentTextExtractionService.ExtractedText extracted = extract(job.getFilePath(), resume.getFileType());
+        resume.setExtractedText(extracted.text());
+
+        advance(job, ResumeProcessingJob.Stage.EMBEDDING);
+        resumeEmbeddingService.embedResume(resume);
+
+        // The resume may have been replaced or deleted while this job ran
+        if (currentResume(job).isEmpty()) {
+            finish(job, "Superseded by a newer upload or deleted");
+            return;
+        }
+        resumeTextStore.save(resume.getId(), extracted.text());
+        resume.setLegacyExtractedText(null);
+        resume.setProcessingStatus(ResumeStatus.READY);
+        Resume saved = resumeRepository.save(resume);
+        resumeVectorIndex.update(saved);
+        matchResultCache.invalidateResume(saved.getId());
+
+        finish(job, null);
+        log.info("Processed resume {} ({} characters{})", saved.getId(), extracted.text().length(),
+                extracted.truncated() ? ", truncated" : "");
+    }
+
+    // Tika's cost depends mostly on the format, so the timer is split by file type
+    private DocumentTextExtractionService.ExtractedText extract(String key, String fileType) throws IOException {
+        Timer.Sample sample = metrics.start();
+        String outcome = PipelineMetrics.FAILURE;
+        try {
+            DocumentTextExtractionService.ExtractedText extracted = ingestionService.extract(key);
+            metrics.recordTextLength("extracted_text", extracted.text().length());
+            outcome = extracted.truncated() ? "truncated" : PipelineMetrics.SUCCESS;
+            return extracted;
+        } finally {
+            metrics.stop(sample, PipelineMetrics.EXTRACTION, "type", String.valueOf(fileType), "outcome", outcome);
+        }
+    }
+
+    private Optional<Resume> currentResume(ResumeProcessingJob job) {
+        return resumeRepository.findById(job.getResumeId())
+                .filter(resume -> job.getFilePath().equals(resume.getFilePath()));
+    }
+
+    // Saving the job doubles as the worker heartbeat
+    private void advance(ResumeProcessingJob job, ResumeProcessingJob.Stage stage) {
+        job.setStage(stage);
+        job.setUpdatedAt(LocalDateTime.now());
+        jobRepository.save(job);
+    }
+
+    private void finish(ResumeProcessingJob job, String note) {
+        job.setStatus(ResumeProcessingJob.Status.DONE);
+        job.setStage(ResumeProcessingJob.Stage.COMPLETED);
+        job.setError(note);
+        job.setUpdatedAt(LocalDateTime.now());
+        jobRepository.save(job);
+    }
+
+    private void fail(ResumeProcessingJob job, Exception e) {
+        int attempts = job.getAttempts() + 1;
+        job.setAttempts(attempts);
+        job.setError(truncate(e.getMessage()));
+        job.setUpdatedAt(LocalDateTime.now());
+
+        if (attempts < maxAttempts) {
+            // Retried by the next sweep, which also spaces the attempts out
+            log.warn("Resume processing job {} failed (attempt {} of {}): {}", job.getId(), attempts, maxAttempts, e.getMessage());
+            job.setStatus(ResumeProcessingJob.Status.QUEUED);
+            jobRepository.save(job);
+            return;
+        }
+
+        log.error("Resume processing job {} failed after {} attempts: {}", job.getId(), attempts, e.getMessage());
+        job.setStatus(ResumeProcessingJob.Status.FAILED);
+        jobRepository.save(job);
+        currentResume(job).ifPresent(resume -> {
+            resume.setProcessingStatus(ResumeStatus.FAILED);
+            resumeRepository.save(resume);
+        });
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return "Unknown error";
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
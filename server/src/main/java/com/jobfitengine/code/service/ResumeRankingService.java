@@ -0,0 +1,92 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.dto.ResumeRankingResponse;
+import com.jobfitengine.code.entity.Resume;
+import com.jobfitengine.code.repository.ResumeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Answers "which stored resumes fit this job best". The vector index narrows all resumes down to
+ * the semantically closest candidates, which are then re-ranked by the full local match score so
+ * skill and experience gaps decide the final order.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumeRankingService {
+    
+    private final ResumeVectorIndex resumeVectorIndex;
+    private final EmbeddingProvider embeddingProvider;
+    private final ResumeRepository resumeRepository;
+    private final LocalMatchEngine localMatchEngine;
+    private final ResumeTextStore resumeTextStore;
+    
+    // How many index neighbours are re-ranked for every result returned
+    @Value("${matcher.rank.candidate-multiplier:5}")
+    private int candidateMultiplier;
+    
+    public ResumeRankingResponse rankResumes(String jobDescription, int topK) {
+        try {
+            // The index holds each resume's mean chunk vector, so it is searched with the job's mean too
+            Embedding jobEmbedding = embeddingProvider.embedChunks(jobDescription).mean();
+            if (jobEmbedding.isEmpty()) {
+                return new ResumeRankingResponse(false, "Could not embed job description", 
+                        resumeVectorIndex.size(), List.of());
+            }
+            
+            List<HnswIndex.Neighbor<UUID>> neighbours = 
+                    resumeVectorIndex.findNearest(jobEmbedding, topK * candidateMultiplier);
+            Map<UUID, Resume> resumes = resumeRepository.findAllById(
+                            neighbours.stream().map(HnswIndex.Neighbor::key).toList())
+                    .stream()
+                    .collect(Collectors.toMap(Resume::getId, Function.identity()));
+            resumeTextStore.attachAll(resumes.values());
+            
+            List<ResumeRankingResponse.RankedResume> ranked = new ArrayList<>(neighbours.size());
+            for (HnswIndex.Neighbor<UUID> neighbour : neighbours) {
+                Resume resume = resumes.get(neighbour.key());
+                if (resume == null || resume.getExtractedText() == null) {
+                    continue;
+                }
+                MatchResult result = localMatchEngine.analyze(
+                        resume.getExtractedText(), jobDescription, neighbour.similarity());
+                ranked.add(new ResumeRankingResponse.RankedResume(
+                        resume.getId(),
+                        resume.getFileName(),
+                        result.getMatchScore(),
+                        neighbour.similarity(),
+                        result.getMatchedSkills(),
+                        result.getMissingSkills()));
+            }
+            
+            ranked.sort(Comparator.comparingDouble(ResumeRankingResponse.RankedResume::getMatchingScore)
+                    .thenComparingDouble(ResumeRankingResponse.RankedResume::getSemanticSimilarity)
+                    .reversed());
+            List<ResumeRankingResponse.RankedResume> top = ranked.subList(0, Math.min(topK, ranked.size()));
+            
+            String message = resumeVectorIndex.isLoaded() 
+                    ? "Resume ranking completed successfully" 
+                    : "Resume ranking completed while the resume index is still loading; results may be incomplete";
+            log.info("Ranked {} index candidates out of {} resumes, returning {}", 
+                    ranked.size(), resumeVectorIndex.size(), top.size());
+            return new ResumeRankingResponse(true, message, 
+                    resumeVectorIndex.size(), new ArrayList<>(top));
+            
+        } catch (Exception e) {
+            log.error("Error ranking resumes: {}", e.getMessage(), e);
+            return new ResumeRankingResponse(false, "Error ranking resumes: " + e.getMessage(), 
+                    resumeVectorIndex.size(), List.of());
+        }
+    }
+}
@@ -1,22 +1,22 @@
 package com.jobfitengine.code.service;
 
 import com.jobfitengine.code.dto.ResumeResponse;
+import com.jobfitengine.code.dto.ResumeStatusResponse;
 import com.jobfitengine.code.entity.Resume;
+import com.jobfitengine.code.entity.ResumeProcessingJob;
+import com.jobfitengine.code.entity.ResumeStatus;
 import com.jobfitengine.code.entity.User;
 import com.jobfitengine.code.repository.ResumeRepository;
-import com.jobfitengine.code.repository.UserRepository;
+import com.jobfitengine.code.security.AuthenticatedUser;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -26,219 +26,214 @@ import java.util.UUID;
 public class ResumeService {
     
     private final ResumeRepository resumeRepository;
-    private final DocumentTextExtractionService textExtractionService;
-    private final UserRepository userRepository;
+    private final ResumeFileStore resumeFileStore;
+    private final ResumeProcessingService resumeProcessingService;
+    private final ResumeTextStore resumeTextStore;
+    private final ResumeVectorIndex resumeVectorIndex;
+    private final MatchResultCache matchResultCache;
+    private final UserService userService;
     private final EntityManager entityManager;
+    private final PipelineMetrics metrics;
     
-    @Value("${file.upload.path}")
-    private String uploadPath;
-    
-    public ResumeResponse uploadResume(MultipartFile file, User user) {
+    public ResumeResponse uploadResume(MultipartFile file, AuthenticatedUser user) {
         try {
-            log.info("Starting resume upload for user: {}", user.getEmail());
+            log.info("Starting resume upload for user: {}", user.email());
             
             // Validate file
             if (file.isEmpty()) {
-                log.warn("File is empty for user: {}", user.getEmail());
+                log.warn("File is empty for user: {}", user.email());
                 return new ResumeResponse(false, "File is empty", null);
             }
             
             String originalFilename = file.getOriginalFilename();
             if (originalFilename == null || originalFilename.isEmpty()) {
-                log.warn("Invalid filename for user: {}", user.getEmail());
+                log.warn("Invalid filename for user: {}", user.email());
                 return new ResumeResponse(false, "Invalid filename", null);
             }
             
             // Check file type
             String fileType = getFileExtension(originalFilename);
             if (!isValidFileType(fileType)) {
-                log.warn("Invalid file type: {} for user: {}", fileType, user.getEmail());
+                log.warn("Invalid file type: {} for user: {}", fileType, user.email());
                 return new ResumeResponse(false, "Invalid file type. Only PDF, DOC, DOCX are allowed", null);
             }
             
             // Check file size (10MB limit)
             if (file.getSize() > 10 * 1024 * 1024) {
-                log.warn("File size exceeds limit: {} bytes for user: {}", file.getSize(), user.getEmail());
+                log.warn("File size exceeds limit: {} bytes for user: {}", file.getSize(), user.email());
                 return new ResumeResponse(false, "File size exceeds 10MB limit", null);
             }
             
-            // Create upload directory if it doesn't exist
-            Path uploadDir = Paths.get(uploadPath);
-            if (!Files.exists(uploadDir)) {
-                Files.createDirectories(uploadDir);
-            }
-            
-            // Generate unique filename
-            String uniqueFilename = UUID.randomUUID().toString() + "." + fileType;
-            Path filePath = uploadDir.resolve(uniqueFilename);
+            metrics.recordBytes("resume_upload", file.getSize());
             
-            // Save file
-            Files.copy(file.getInputStream(), filePath);
+            // The account must still exist; the association below then needs only a reference to it
+            if (userService.findSummaryById(user.id()).isEmpty()) {
+                log.warn("No account found for user: {}", user.email());
+                return new ResumeResponse(false, "User not found", null);
+            }
             
-            // Extract text from document
-            String extractedText = textExtractionService.extractText(file.getInputStream());
+            // Store by content hash; an identical file already on disk is reused
+            ResumeFileStore.StoredFile stored = resumeFileStore.store(file.getInputStream());
             
-            // Delete existing resume if any
-            resumeRepository.findByUser(user).ifPresent(existingResume -> {
-                try {
-                    Files.deleteIfExists(Paths.get(existingResume.getFilePath()));
+            Optional<Resume> existingResumeOpt = resumeRepository.findByUserId(user.id());
+            ResumeResponse.ResumeDto resumeDto;
+            try {
+                // Delete existing resume if any
+                existingResumeOpt.ifPresent(existingResume -> {
                     resumeRepository.delete(existingResume);
-                } catch (IOException e) {
-                    log.error("Error deleting existing resume file: {}", e.getMessage());
-                }
-            });
-            
-            // Save resume record
-            Resume resume = new Resume();
-            resume.setFileName(originalFilename);
-            resume.setFileSize(file.getSize());
-            resume.setFileType(fileType);
-            resume.setFilePath(filePath.toString());
-            resume.setExtractedText(extractedText);
-            resume.setUser(user);
-            
-            Resume savedResume = resumeRepository.save(resume);
-            
-            ResumeResponse.ResumeDto resumeDto = new ResumeResponse.ResumeDto(
-                    savedResume.getId(),
-                    savedResume.getFileName(),
-                    savedResume.getFileSize(),
-                    savedResume.getUploadDate(),
-                    savedResume.getFileType(),
-                    "/resume/download/" + savedResume.getId()
-            );
+                    resumeTextStore.delete(existingResume.getId());
+                    resumeVectorIndex.remove(existingResume.getId());
+                    matchResultCache.invalidateResume(existingResume.getId());
+                });
+                
+                // Save resume record
+                Resume resume = new Resume();
+                resume.setFileName(originalFilename);
+                resume.setFileSize(file.getSize());
+                resume.setFileType(fileType);
+                resume.setFilePath(stored.key());
+                resume.setFileUrl(stored.url());
+                resume.setContentHash(stored.contentHash());
+                resume.setUser(entityManager.getReference(User.class, user.id()));
+                
+                resumeDto = process(resume, user);
+            } catch (RuntimeException e) {
+                releaseAfterFailure(stored, existingResumeOpt.map(Resume::getFilePath).orElse(null),
+                        existingResumeOpt.map(Resume::getContentHash).orElse(null));
+                throw e;
+            }
+            // Released only now, as the new row may share the old file
+            existingResumeOpt.ifPresent(existingResume ->
+                    resumeFileStore.release(existingResume.getFilePath(), existingResume.getContentHash()));
             
-            log.info("Resume upload completed successfully for user: {}", user.getEmail());
             return new ResumeResponse(true, "Resume uploaded successfully", resumeDto);
             
         } catch (IOException e) {
-            log.error("Error uploading resume for user {}: {}", user.getEmail(), e.getMessage());
+            log.error("Error uploading resume for user {}: {}", user.email(), e.getMessage());
             return new ResumeResponse(false, "Error uploading resume: " + e.getMessage(), null);
         } catch (Exception e) {
-            log.error("Unexpected error uploading resume for user {}: {}", user.getEmail(), e.getMessage());
+            log.error("Unexpected error uploading resume for user {}: {}", user.email(), e.getMessage());
             return new ResumeResponse(false, "Error uploading resume: " + e.getMessage(), null);
         }
     }
     
-    public ResumeResponse updateResume(MultipartFile file, User user) {
+    public ResumeResponse updateResume(MultipartFile file, AuthenticatedUser user) {
         try {
-            log.info("Starting resume update for user: {}", user.getEmail());
+            log.info("Starting resume update for user: {}", user.email());
             
             // Check if user has an existing resume
-            Optional<Resume> existingResumeOpt = resumeRepository.findByUser(user);
+            Optional<Resume> existingResumeOpt = resumeRepository.findByUserId(user.id());
             if (existingResumeOpt.isEmpty()) {
-                log.warn("No existing resume found for user: {}", user.getEmail());
+                log.warn("No existing resume found for user: {}", user.email());
                 return new ResumeResponse(false, "No existing resume found. Please upload a resume first.", null);
             }
             
             // Validate file
             if (file.isEmpty()) {
-                log.warn("File is empty for user: {}", user.getEmail());
+                log.warn("File is empty for user: {}", user.email());
                 return new ResumeResponse(false, "File is empty", null);
             }
             
             String originalFilename = file.getOriginalFilename();
             if (originalFilename == null || originalFilename.isEmpty()) {
-                log.warn("Invalid filename for user: {}", user.getEmail());
+                log.warn("Invalid filename for user: {}", user.email());
                 return new ResumeResponse(false, "Invalid filename", null);
             }
             
             // Check file type
             String fileType = getFileExtension(originalFilename);
             if (!isValidFileType(fileType)) {
-                log.warn("Invalid file type: {} for user: {}", fileType, user.getEmail());
+                log.warn("Invalid file type: {} for user: {}", fileType, user.email());
                 return new ResumeResponse(false, "Invalid file type. Only PDF, DOC, DOCX are allowed", null);
             }
             
             // Check file size (10MB limit)
             if (file.getSize() > 10 * 1024 * 1024) {
-                log.warn("File size exceeds limit: {} bytes for user: {}", file.getSize(), user.getEmail());
+                log.warn("File size exceeds limit: {} bytes for user: {}", file.getSize(), user.email());
                 return new ResumeResponse(false, "File size exceeds 10MB limit", null);
             }
             
-            // Create upload directory if it doesn't exist
-            Path uploadDir = Paths.get(uploadPath);
-            if (!Files.exists(uploadDir)) {
-                Files.createDirectories(uploadDir);
-            }
-            
-            // Generate unique filename for new file
-            String uniqueFilename = UUID.randomUUID().toString() + "." + fileType;
-            Path newFilePath = uploadDir.resolve(uniqueFilename);
+            metrics.recordBytes("resume_upload", file.getSize());
             
-            // Save new file
-            Files.copy(file.getInputStream(), newFilePath);
+            // Store by content hash; re-uploading the same file stores nothing new
+            ResumeFileStore.StoredFile stored = resumeFileStore.store(file.getInputStream());
             
-            // Extract text from new document
-            String extractedText = textExtractionService.extractText(file.getInputStream());
-            
-            // Get existing resume and delete old file
+            // Update resume record, then release the old file if nothing else uses it
             Resume existingResume = existingResumeOpt.get();
+            String oldFilePath = existingResume.getFilePath();
+            String oldContentHash = existingResume.getContentHash();
+            ResumeResponse.ResumeDto resumeDto;
             try {
-                Files.deleteIfExists(Paths.get(existingResume.getFilePath()));
-            } catch (IOException e) {
-                log.error("Error deleting old resume file: {}", e.getMessage());
+                existingResume.setFileName(originalFilename);
+                existingResume.setFileSize(file.getSize());
+                existingResume.setFileType(fileType);
+                existingResume.setFilePath(stored.key());
+                existingResume.setFileUrl(stored.url());
+                existingResume.setContentHash(stored.contentHash());
+                existingResume.setUploadDate(java.time.LocalDateTime.now());
+                
+                resumeDto = process(existingResume, user);
+            } catch (RuntimeException e) {
+                releaseAfterFailure(stored, oldFilePath, oldContentHash);
+                throw e;
             }
+            resumeFileStore.release(oldFilePath, oldContentHash);
+            matchResultCache.invalidateResume(existingResume.getId());
             
-            // Update resume record
-            existingResume.setFileName(originalFilename);
-            existingResume.setFileSize(file.getSize());
-            existingResume.setFileType(fileType);
-            existingResume.setFilePath(newFilePath.toString());
-            existingResume.setExtractedText(extractedText);
-            existingResume.setUploadDate(java.time.LocalDateTime.now());
-            
-            Resume updatedResume = resumeRepository.save(existingResume);
-            
-            ResumeResponse.ResumeDto resumeDto = new ResumeResponse.ResumeDto(
-                    updatedResume.getId(),
-                    updatedResume.getFileName(),
-                    updatedResume.getFileSize(),
-                    updatedResume.getUploadDate(),
-                    updatedResume.getFileType(),
-                    "/resume/download/" + updatedResume.getId()
-            );
-            
-            log.info("Resume update completed successfully for user: {}", user.getEmail());
             return new ResumeResponse(true, "Resume updated successfully", resumeDto);
             
         } catch (IOException e) {
-            log.error("Error updating resume for user {}: {}", user.getEmail(), e.getMessage());
+            log.error("Error updating resume for user {}: {}", user.email(), e.getMessage());
             return new ResumeResponse(false, "Error updating resume: " + e.getMessage(), null);
         } catch (Exception e) {
-            log.error("Unexpected error updating resume for user {}: {}", user.getEmail(), e.getMessage());
+            log.error("Unexpected error updating resume for user {}: {}", user.email(), e.getMessage());
             return new ResumeResponse(false, "Error updating resume: " + e.getMessage(), null);
         }
     }
     
-    public ResumeResponse getUserResume(User user) {
-        Optional<Resume> resumeOpt = resumeRepository.findByUser(user);
+    public ResumeResponse getUserResume(AuthenticatedUser user) {
+        Optional<ResumeRepository.ResumeSummary> resumeOpt = resumeRepository.findSummaryByUserId(user.id());
         
         if (resumeOpt.isEmpty()) {
             return new ResumeResponse(false, "No resume found for user", null);
         }
         
-        Resume resume = resumeOpt.get();
-        ResumeResponse.ResumeDto resumeDto = new ResumeResponse.ResumeDto(
-                resume.getId(),
-                resume.getFileName(),
-                resume.getFileSize(),
-                resume.getUploadDate(),
-                resume.getFileType(),
-                "/resume/download/" + resume.getId()
-        );
+        ResumeRepository.ResumeSummary resume = resumeOpt.get();
+        UUID processingId = resumeProcessingService.findLatestJob(resume.id())
+                .map(ResumeProcessingJob::getId)
+                .orElse(null);
         
-        return new ResumeResponse(true, "Resume retrieved successfully", resumeDto);
+        return new ResumeResponse(true, "Resume retrieved successfully", toDto(resume, processingId));
+    }
+    
+    public ResumeStatusResponse getProcessingStatus(UUID resumeId, AuthenticatedUser user) {
+        Optional<ResumeRepository.ResumeSummary> resumeOpt = resumeRepository.findSummaryByUserIdAndId(user.id(), resumeId);
+        if (resumeOpt.isEmpty()) {
+            return new ResumeStatusResponse(false, "Resume not found", resumeId, null, null, null, 0, null, null);
+        }
+        
+        ResumeRepository.ResumeSummary resume = resumeOpt.get();
+        String status = statusOf(resume).name();
+        Optional<ResumeProcessingJob> job = resumeProcessingService.findLatestJob(resumeId);
+        if (job.isEmpty()) {
+            // Uploaded before background processing existed
+            return new ResumeStatusResponse(true, "Resume status retrieved successfully", resumeId, null, status,
+                    null, 0, null, resume.updatedAt());
+        }
+        
+        ResumeProcessingJob latest = job.get();
+        return new ResumeStatusResponse(true, "Resume status retrieved successfully", resumeId, latest.getId(), status,
+                latest.getStage().name(), latest.getAttempts(), latest.getError(), latest.getUpdatedAt());
     }
     
     @Transactional
-    public ResumeResponse deleteUserResume(User user) {
-        log.info("Starting resume deletion for user: {}", user.getEmail());
+    public ResumeResponse deleteUserResume(AuthenticatedUser user) {
+        log.info("Starting resume deletion for user: {}", user.email());
         
-        Optional<Resume> resumeOpt = resumeRepository.findByUser(user);
+        Optional<Resume> resumeOpt = resumeRepository.findByUserId(user.id());
         
         if (resumeOpt.isEmpty()) {
-            log.warn("No resume found for user: {}", user.getEmail());
+            log.warn("No resume found for user: {}", user.email());
             return new ResumeResponse(false, "No resume found for user", null);
         }
         
@@ -247,39 +242,30 @@ public class ResumeService {
         log.info("Found resume to delete - ID: {}, File: {}", resumeId, resume.getFileName());
         
         try {
-            // Delete file from filesystem first
-            Path filePath = Paths.get(resume.getFilePath());
-            boolean fileDeleted = Files.deleteIfExists(filePath);
-            log.info("File deletion result: {} for path: {}", fileDeleted, filePath);
-            
-            // Refresh the user entity to ensure it's in the correct state
-            entityManager.refresh(user);
-            
-            // Clear the user's resume reference
-            user.setResume(null);
-            entityManager.merge(user);
-            
             // Delete the resume entity
             entityManager.remove(resume);
             entityManager.flush();
+            resumeTextStore.delete(resumeId);
+            resumeFileStore.release(resume.getFilePath(), resume.getContentHash());
+            resumeVectorIndex.remove(resumeId);
+            matchResultCache.invalidateResume(resumeId);
             
-            log.info("Resume record deleted from database for user: {}", user.getEmail());
+            log.info("Resume record deleted from database for user: {}", user.email());
             
             return new ResumeResponse(true, "Resume deleted successfully", null);
             
-        } catch (IOException e) {
-            log.error("Error deleting resume file for user {}: {}", user.getEmail(), e.getMessage());
-            return new ResumeResponse(false, "Error deleting resume: " + e.getMessage(), null);
         } catch (Exception e) {
-            log.error("Unexpected error deleting resume for user {}: {}", user.getEmail(), e.getMessage());
+            log.error("Unexpected error deleting resume for user {}: {}", user.email(), e.getMessage());
             return new ResumeResponse(false, "Error deleting resume: " + e.getMessage(), null);
         }
     }
     
-    public Optional<Resume> findByIdAndUser(UUID resumeId, User user) {
-        log.info("Looking up resume with ID: {} for user: {} (user ID: {})", resumeId, user.getEmail(), user.getId());
+    public Optional<Resume> findByIdAndUser(UUID resumeId, AuthenticatedUser user) {
+        log.info("Looking up resume with ID: {} for user: {} (user ID: {})", resumeId, user.email(), user.id());
         try {
-            Optional<Resume> result = resumeRepository.findByUserAndId(user, resumeId);
+            Timer.Sample sample = metrics.start();
+            Optional<Resume> result = resumeRepository.findByUserIdAndId(user.id(), resumeId);
+            metrics.stop(sample, PipelineMetrics.DB_LOOKUP, "query", "resume");
             log.info("Resume lookup result: {}", result.isPresent() ? "Found" : "Not found");
             return result;
         } catch (Exception e) {
@@ -288,6 +274,77 @@ public class ResumeService {
         }
     }
     
+    // Attaches the extracted text, which is stored apart from the resume row
+    public Optional<Resume> findForMatching(UUID resumeId, AuthenticatedUser user) {
+        return findByIdAndUser(resumeId, user).map(resume -> {
+            Timer.Sample sample = metrics.start();
+            Resume withText = resumeTextStore.attach(resume);
+            metrics.stop(sample, PipelineMetrics.DB_LOOKUP, "query", "resume_text");
+            return withText;
+        });
+    }
+    
+    // Reuses text and embedding from a processed resume with the same bytes, otherwise queues processing
+    private ResumeResponse.ResumeDto process(Resume resume, AuthenticatedUser user) {
+        Optional<Resume> processed = resumeRepository.findFirstByContentHashAndProcessingStatus(
+                resume.getContentHash(), ResumeStatus.READY);
+        if (processed.isPresent()) {
+            Resume source = processed.get();
+            resume.setLegacyExtractedText(null);
+            resume.setEmbedding(source.getEmbedding());
+            resume.setEmbeddingChunks(source.getEmbeddingChunks());
+            resume.setEmbeddingModel(source.getEmbeddingModel());
+            resume.setEmbeddingDimension(source.getEmbeddingDimension());
+            resume.setProcessingStatus(ResumeStatus.READY);
+            
+            Resume saved = resumeRepository.save(resume);
+            resumeTextStore.copy(source, saved.getId());
+            resumeVectorIndex.update(saved);
+            log.info("Resume for user: {} matches already processed content {}; reused its text and embedding", 
+                    user.email(), saved.getContentHash());
+            return toDto(ResumeRepository.ResumeSummary.of(saved), null);
+        }
+        
+        resume.setLegacyExtractedText(null);
+        resume.setEmbedding(null);
+        resume.setEmbeddingChunks(null);
+        resume.setEmbeddingModel(null);
+        resume.setEmbeddingDimension(null);
+        resume.setProcessingStatus(ResumeStatus.PROCESSING);
+        
+        Resume saved = resumeRepository.save(resume);
+        resumeTextStore.delete(saved.getId());
+        resumeVectorIndex.remove(saved.getId());
+        ResumeProcessingJob job = resumeProcessingService.enqueue(saved);
+        log.info("Resume stored for user: {}; processing job {} queued", user.email(), job.getId());
+        return toDto(ResumeRepository.ResumeSummary.of(saved), job.getId());
+    }
+    
+    // Whichever row changes were saved before the failure, releasing both is safe: the sweep deletes
+    // only files no row references, so neither the new nor the old file is left behind unreferenced
+    private void releaseAfterFailure(ResumeFileStore.StoredFile stored, String oldFilePath, String oldContentHash) {
+        resumeFileStore.release(stored.key(), stored.contentHash());
+        resumeFileStore.release(oldFilePath, oldContentHash);
+    }
+    
+    private ResumeResponse.ResumeDto toDto(ResumeRepository.ResumeSummary resume, UUID processingId) {
+        return new ResumeResponse.ResumeDto(
+                resume.id(),
+                resume.fileName(),
+                resume.fileSize(),
+                resume.uploadDate(),
+                resume.fileType(),
+                "/resume/download/" + resume.id(),
+                statusOf(resume).name(),
+                processingId
+        );
+    }
+    
+    // Rows from before background processing have no status and were processed on upload
+    private static ResumeStatus statusOf(ResumeRepository.ResumeSummary resume) {
+        return resume.processingStatus() != null ? resume.processingStatus() : ResumeStatus.READY;
+    }
+    
     private String getFileExtension(String filename) {
         int lastDotIndex = filename.lastIndexOf('.');
         return lastDotIndex > 0 ? filename.substring(lastDotIndex + 1).toLowerCase() : "";
@@ -0,0 +1,41 @@
+package com.jobfitengine.code.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Where uploaded resume files live, addressed by key. Implementations are selected through the
+ * {@code file.storage.type} property: {@code local} keeps them under {@code file.upload.path}, which
+ * only works for a single replica, and {@code s3} puts them in an S3-compatible bucket shared by all
+ * replicas. Contents are always streamed, never held in memory whole.
+ */
+public interface ResumeStorage {
+
+    // Reads the stream to its end and stores it under key; nothing is left under key when this fails
+    long write(String key, InputStream content) throws IOException;
+
+    // Moves source to target, or discards source when target already exists (false). Used to publish
+    // an upload under its content hash, so an existing target always holds the same bytes
+    boolean move(String source, String target) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    // NoSuchFileException when there is nothing stored under key
+    long size(String key) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    InputStream open(String key, long offset, long length) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    // Stored on the resume row as fileUrl
+    String url(String key);
+
+    // Backends on the local disk expose the file so it can be parsed and sent without copying
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,185 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.entity.Resume;
+import com.jobfitengine.code.entity.ResumeContent;
+import com.jobfitengine.code.repository.ResumeContentRepository;
+import com.jobfitengine.code.repository.ResumeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Extracted resume text, kept Deflate-compressed in {@code resume_contents} rather than on the
+ * resume row. Only matching and processing read it; they attach it to the resume they work on.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumeTextStore {
+    
+    private static final int LEGACY_BATCH_SIZE = 100;
+    private static final int SCAN_PAGE_SIZE = 100;
+    
+    private final ResumeContentRepository contentRepository;
+    private final ResumeRepository resumeRepository;
+    
+    public void save(UUID resumeId, String text) {
+        if (text == null) {
+            delete(resumeId);
+            return;
+        }
+        contentRepository.save(encode(resumeId, text));
+    }
+    
+    public Optional<String> load(UUID resumeId) {
+        return contentRepository.findById(resumeId).map(ResumeTextStore::decode);
+    }
+    
+    // Rows not yet moved out of the resumes table still carry their text in the old column
+    public Resume attach(Resume resume) {
+        resume.setExtractedText(load(resume.getId()).orElse(resume.getLegacyExtractedText()));
+        return resume;
+    }
+    
+    // One query for all of them
+    public void attachAll(Collection<Resume> resumes) {
+        Map<UUID, ResumeContent> contents = contentRepository.findAllById(resumes.stream().map(Resume::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(ResumeContent::getResumeId, Function.identity()));
+        for (Resume resume : resumes) {
+            ResumeContent content = contents.get(resume.getId());
+            resume.setExtractedText(content != null ? decode(content) : resume.getLegacyExtractedText());
+        }
+    }
+    
+    // Gives target the same text as source without decompressing it
+    public void copy(Resume source, UUID targetId) {
+        Optional<ResumeContent> content = contentRepository.findById(source.getId());
+        if (content.isEmpty()) {
+            save(targetId, source.getLegacyExtractedText());
+            return;
+        }
+        ResumeContent stored = content.get();
+        contentRepository.save(new ResumeContent(targetId, stored.getCodec(), stored.getTextLength(), 
+                stored.getRawSize(), stored.getData(), null));
+    }
+    
+    public void delete(UUID resumeId) {
+        contentRepository.deleteById(resumeId);
+    }
+    
+    // Up to limit stored texts in resume id order, read a page at a time; returns how many were read
+    public int forEachText(int limit, Consumer<String> action) {
+        int read = 0;
+        Pageable page = PageRequest.of(0, SCAN_PAGE_SIZE, Sort.by("resumeId"));
+        Slice<ResumeContent> slice;
+        do {
+            slice = contentRepository.findAll(page);
+            for (ResumeContent content : slice) {
+                if (read == limit) {
+                    return read;
+                }
+                action.accept(decode(content));
+                read++;
+            }
+            page = slice.nextPageable();
+        } while (slice.hasNext());
+        return read;
+    }
+    
+    // Moves text written before resume_contents existed out of the resumes rows
+    @EventListener(ApplicationReadyEvent.class)
+    public void moveLegacyText() {
+        try {
+            int moved = 0;
+            Slice<ResumeRepository.LegacyText> batch;
+            do {
+                // Always the first page: rows drop out of the query once cleared
+                batch = resumeRepository.findLegacyText(PageRequest.of(0, LEGACY_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (ResumeRepository.LegacyText legacy : batch) {
+                    if (!contentRepository.existsById(legacy.getId())) {
+                        save(legacy.getId(), legacy.getText());
+                    }
+                }
+                List<UUID> ids = batch.stream().map(ResumeRepository.LegacyText::getId).toList();
+                resumeRepository.clearLegacyText(ids);
+                moved += ids.size();
+            } while (batch.hasNext());
+            if (moved > 0) {
+                log.info("Moved extracted text of {} resumes to resume_contents", moved);
+            }
+        } catch (Exception e) {
+            // Unmoved rows keep working from the old column; the next start retries
+            log.error("Error moving resume text to resume_contents: {}", e.getMessage());
+        }
+    }
+    
+    static ResumeContent encode(UUID resumeId, String text) {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            // Output that does not fit in the input's size is not worth compressing
+            byte[] compressed = new byte[raw.length];
+            int size = deflater.deflate(compressed);
+            if (deflater.finished() && size < raw.length) {
+                return new ResumeContent(resumeId, ResumeContent.Codec.DEFLATE, text.length(), raw.length, 
+                        Arrays.copyOf(compressed, size), null);
+            }
+        } finally {
+            deflater.end();
+        }
+        return new ResumeContent(resumeId, ResumeContent.Codec.NONE, text.length(), raw.length, raw, null);
+    }
+    
+    static String decode(ResumeContent content) {
+        if (content.getCodec() == ResumeContent.Codec.NONE) {
+            return new String(content.getData(), StandardCharsets.UTF_8);
+        }
+        byte[] raw = new byte[content.getRawSize()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(content.getData());
+            int size = 0;
+            while (size < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, size, raw.length - size);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                size += inflated;
+            }
+            if (size != raw.length) {
+                throw new IllegalStateException("Stored text of resume " + content.getResumeId() + " is truncated");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Stored text of resume " + content.getResumeId() + " is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,174 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.entity.Resume;
+import com.jobfitengine.code.repository.ResumeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory approximate nearest-neighbour index over stored resume embeddings, used to find the
+ * resumes closest to a job description without scanning the table. It is loaded from the database
+ * on a background thread once the application is ready, so startup does not wait on a large table,
+ * and is kept current by {@link ResumeService} and lazy re-embedding. Only embeddings from the
+ * configured model are indexed. Rebuilding the graph to drop deleted nodes runs on its own thread,
+ * never on the request that crossed the threshold.
+ */
+@Service
+@Slf4j
+public class ResumeVectorIndex {
+
+    private static final int LOAD_PAGE_SIZE = 500;
+
+    private final ResumeRepository resumeRepository;
+    private final EmbeddingProvider embeddingProvider;
+    private final HnswIndex<UUID> index;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "resume-index-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // At most one compaction queued or running
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private volatile boolean loaded;
+
+    @Value("${matcher.index.ef-search:100}")
+    private int efSearch;
+
+    @Value("${matcher.index.compact-ratio:0.25}")
+    private double compactRatio;
+
+    public ResumeVectorIndex(ResumeRepository resumeRepository,
+                             EmbeddingProvider embeddingProvider,
+                             @Value("${matcher.index.max-connections:16}") int maxConnections,
+                             @Value("${matcher.index.ef-construction:100}") int efConstruction) {
+        this.resumeRepository = resumeRepository;
+        this.embeddingProvider = embeddingProvider;
+        this.index = new HnswIndex<>(maxConnections, efConstruction, 42L);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread loader = new Thread(() -> {
+            try {
+                embeddingProvider.warmUp();
+                load();
+            } catch (Exception e) {
+                log.error("Failed to load resume index: {}", e.getMessage(), e);
+            }
+        }, "resume-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public void load() {
+        long start = System.nanoTime();
+        String model = embeddingProvider.getModelId();
+        int count = 0;
+
+        Pageable page = PageRequest.of(0, LOAD_PAGE_SIZE);
+        Slice<ResumeRepository.StoredEmbedding> slice;
+        do {
+            slice = resumeRepository.findEmbeddingsByModel(model, page);
+            for (ResumeRepository.StoredEmbedding stored : slice) {
+                if (addIfAbsent(stored.getId(), Embedding.fromBytes(stored.getEmbedding()))) {
+                    count++;
+                }
+            }
+            page = slice.nextPageable();
+        } while (slice.hasNext());
+
+        loaded = true;
+        log.info("Indexed {} resume embeddings for model {} in {} ms", count, model, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // False while the startup load is still running; searches then only see part of the resumes
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // Call after the resume has been saved, so it has an id
+    public void update(Resume resume) {
+        if (resume.getId() == null) {
+            return;
+        }
+        if (resume.getEmbedding() == null || !embeddingProvider.getModelId().equals(resume.getEmbeddingModel())) {
+            remove(resume.getId());
+            return;
+        }
+        add(resume.getId(), Embedding.fromBytes(resume.getEmbedding()));
+    }
+
+    public void remove(UUID resumeId) {
+        if (index.remove(resumeId)) {
+            compactIfNeeded();
+        }
+    }
+
+    public List<HnswIndex.Neighbor<UUID>> findNearest(Embedding jobEmbedding, int k) {
+        return index.search(jobEmbedding, k, Math.max(efSearch, k));
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    int deletedCount() {
+        return index.deletedCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compactor.shutdownNow();
+    }
+
+    private void add(UUID resumeId, Embedding embedding) {
+        try {
+            index.add(resumeId, embedding);
+            compactIfNeeded();
+        } catch (IllegalArgumentException e) {
+            log.warn("Not indexing resume {}: {}", resumeId, e.getMessage());
+        }
+    }
+
+    private boolean addIfAbsent(UUID resumeId, Embedding embedding) {
+        try {
+            return index.addIfAbsent(resumeId, embedding);
+        } catch (IllegalArgumentException e) {
+            log.warn("Not indexing resume {}: {}", resumeId, e.getMessage());
+            return false;
+        }
+    }
+
+    // Replaced and removed resumes stay in the graph as deleted nodes until it is rebuilt
+    private void compactIfNeeded() {
+        if (needsCompaction() && compactionScheduled.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                try {
+                    if (needsCompaction()) {
+                        log.info("Compacting resume index ({} live, {} deleted)", index.size(), index.deletedCount());
+                        index.compact();
+                    }
+                } finally {
+                    compactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    private boolean needsCompaction() {
+        return index.deletedCount() > index.size() * compactRatio;
+    }
+}
@@ -0,0 +1,157 @@
+package com.jobfitengine.code.service;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps resume files in an S3 (or S3-compatible) bucket so every replica sees the same files.
+ * Uploads go up one part at a time: only a single part is buffered, and files smaller than a part
+ * are sent with a plain PUT. Downloads stream the object, or the requested byte range of it.
+ */
+@Slf4j
+public class S3ResumeStorage implements ResumeStorage, AutoCloseable {
+
+    private final S3Client s3;
+    private final String bucket;
+    private final int partSize;
+
+    // S3 needs every part but the last to be at least 5 MiB
+    public S3ResumeStorage(S3Client s3, String bucket, int partSize) {
+        this.s3 = s3;
+        this.bucket = bucket;
+        this.partSize = partSize;
+    }
+
+    @Override
+    public long write(String key, InputStream content) throws IOException {
+        byte[] part = new byte[partSize];
+        int read = content.readNBytes(part, 0, partSize);
+        if (read < partSize) {
+            s3.putObject(request -> request.bucket(bucket).key(key), body(part, read));
+            return read;
+        }
+
+        String uploadId = s3.createMultipartUpload(request -> request.bucket(bucket).key(key)).uploadId();
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            long total = 0;
+            while (read > 0) {
+                int partNumber = parts.size() + 1;
+                String eTag = s3.uploadPart(request -> request.bucket(bucket).key(key).uploadId(uploadId)
+                        .partNumber(partNumber), body(part, read)).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+                total += read;
+                read = content.readNBytes(part, 0, partSize);
+            }
+            s3.completeMultipartUpload(request -> request.bucket(bucket).key(key).uploadId(uploadId)
+                    .multipartUpload(upload -> upload.parts(parts)));
+            return total;
+        } catch (IOException | RuntimeException e) {
+            abort(key, uploadId);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean move(String source, String target) throws IOException {
+        if (!exists(target)) {
+            s3.copyObject(request -> request.sourceBucket(bucket).sourceKey(source)
+                    .destinationBucket(bucket).destinationKey(target));
+            delete(source);
+            return true;
+        }
+        delete(source);
+        return false;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            s3.headObject(request -> request.bucket(bucket).key(key));
+            return true;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        try {
+            return s3.headObject(request -> request.bucket(bucket).key(key)).contentLength();
+        } catch (S3Exception e) {
+            throw notFoundOr(key, e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            return s3.getObject(request -> request.bucket(bucket).key(key));
+        } catch (S3Exception e) {
+            throw notFoundOr(key, e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key, long offset, long length) throws IOException {
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        try {
+            return s3.getObject(request -> request.bucket(bucket).key(key)
+                    .range("bytes=" + offset + "-" + (offset + length - 1)));
+        } catch (S3Exception e) {
+            throw notFoundOr(key, e);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        s3.deleteObject(request -> request.bucket(bucket).key(key));
+    }
+
+    @Override
+    public String url(String key) {
+        return "s3://" + bucket + "/" + key;
+    }
+
+    @Override
+    public void close() {
+        s3.close();
+    }
+
+    private void abort(String key, String uploadId) {
+        try {
+            s3.abortMultipartUpload(request -> request.bucket(bucket).key(key).uploadId(uploadId));
+        } catch (RuntimeException e) {
+            // The bucket's lifecycle rule for incomplete uploads cleans up what is left
+            log.warn("Could not abort multipart upload {} for {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+
+    private static RequestBody body(byte[] buffer, int length) {
+        // The SDK marks and resets this stream to retry a part, so the buffer is not copied
+        return RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, length), length);
+    }
+
+    // Callers rethrow the result, so a missing object surfaces like a missing local file
+    private static IOException notFoundOr(String key, S3Exception e) {
+        if (e.statusCode() == 404) {
+            return new NoSuchFileException(key);
+        }
+        throw e;
+    }
+}
@@ -0,0 +1,469 @@
+package com.jobfitengine.code.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Every known skill and alias compiled into one Aho-Corasick automaton, so a text is scanned for
+ * all of them in a single pass regardless of dictionary size. A hit only counts when it is not
+ * glued to a neighbouring letter, digit, '_', '+', '#' or dotted name, which keeps "java" out of
+ * "javascript" and "js" out of "node.js" while still matching tokens such as "c++", "c#" and "node.js".
+ * {@link Matching#REFERENCE} instead reproduces the Python matcher's regexes over the same automaton.
+ */
+@Component
+@Slf4j
+public class SkillDictionary {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private static final Comparator<Hit> LEFTMOST_FIRST = Comparator.comparingInt(Hit::start).thenComparingInt(Hit::term);
+
+    private final String[] canonicalNames;
+    private final String[] categories;
+    private final boolean[] referenceTerms;
+    private final int[] termLengths;
+    private final int maxTermLength;
+    private final String fingerprint;
+
+    private final Transitions transitions;
+    private final int[] fail;
+    private final int[] termAtState;
+    private final int[] outputLink;
+
+    @Autowired
+    public SkillDictionary(@Value("${skills.dictionary.location:classpath:skills/skills.txt}") Resource location)
+            throws IOException {
+        this(parse(location));
+        log.info("Compiled skill dictionary from {} with {} terms", location.getDescription(), canonicalNames.length);
+    }
+
+    public SkillDictionary(Collection<Skill> skills) {
+        Builder builder = new Builder(skills.size());
+        for (Skill skill : skills) {
+            builder.add(skill);
+        }
+
+        this.canonicalNames = builder.canonicalNames.toArray(new String[0]);
+        this.categories = builder.categories.toArray(new String[0]);
+        this.referenceTerms = new boolean[builder.referenceTerms.size()];
+        for (int i = 0; i < referenceTerms.length; i++) {
+            referenceTerms[i] = builder.referenceTerms.get(i);
+        }
+        this.termLengths = builder.termLengths.stream().mapToInt(Integer::intValue).toArray();
+        this.maxTermLength = builder.maxTermLength;
+        this.fingerprint = Long.toHexString(builder.fingerprint);
+        this.transitions = builder.transitions;
+        this.termAtState = Arrays.copyOf(builder.termAtState, builder.stateCount);
+        this.fail = new int[builder.stateCount];
+        this.outputLink = new int[builder.stateCount];
+        linkFailures(builder);
+    }
+
+    public static List<Skill> parse(Resource location) throws IOException {
+        try (InputStream in = location.getInputStream()) {
+            return parse(in);
+        }
+    }
+
+    public static List<Skill> parse(InputStream in) throws IOException {
+        List<Skill> skills = new ArrayList<>();
+        String category = "general";
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (line.startsWith("[") && line.endsWith("]")) {
+                category = line.substring(1, line.length() - 1).strip();
+                continue;
+            }
+
+            // '~' marks a skill outside the reference vocabulary
+            boolean reference = !line.startsWith("~");
+            String[] terms = (reference ? line : line.substring(1)).split("\\|");
+            String canonical = terms[0].strip();
+            for (int i = 0; i < terms.length; i++) {
+                skills.add(new Skill(terms[i].strip(), canonical, category, reference && i == 0));
+            }
+        }
+        return skills;
+    }
+
+    public int size() {
+        return canonicalNames.length;
+    }
+
+    // Changes whenever the compiled terms change, so results derived from the dictionary can be versioned
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    public Set<String> findSkills(String text) {
+        return findSkills(text, Matching.TOKENS);
+    }
+
+    public Set<String> findSkills(String text, Matching matching) {
+        Set<String> skills = new LinkedHashSet<>();
+        for (SkillMatch match : findAll(text, matching)) {
+            skills.add(match.skill());
+        }
+        return skills;
+    }
+
+    public List<SkillMatch> findAll(String text) {
+        return findAll(text, Matching.TOKENS);
+    }
+
+    public List<SkillMatch> findAll(String text, Matching matching) {
+        List<Hit> hits = new ArrayList<>();
+        scan(text, matching, hit -> {
+            hits.add(hit);
+            return true;
+        });
+        List<Hit> kept = matching == Matching.REFERENCE ? leftmostFirst(hits) : hits;
+
+        List<SkillMatch> matches = new ArrayList<>(kept.size());
+        for (Hit hit : kept) {
+            matches.add(new SkillMatch(canonicalNames[hit.term()], categories[hit.term()], hit.start(), hit.end()));
+        }
+        return matches;
+    }
+
+    public boolean containsSkill(String text) {
+        boolean[] found = {false};
+        scan(text, Matching.TOKENS, hit -> {
+            found[0] = true;
+            return false;
+        });
+        return found[0];
+    }
+
+    // A regex alternation consumes what it matches and prefers its earlier alternatives, so within a
+    // section a hit is dropped when it starts inside an earlier one or a line above matched at the same place
+    private List<Hit> leftmostFirst(List<Hit> hits) {
+        hits.sort(LEFTMOST_FIRST);
+        Map<String, Integer> sectionEnds = new HashMap<>();
+        List<Hit> kept = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            String section = categories[hit.term()];
+            if (hit.start() >= sectionEnds.getOrDefault(section, 0)) {
+                sectionEnds.put(section, hit.end());
+                kept.add(hit);
+            }
+        }
+        return kept;
+    }
+
+    private void scan(String text, Matching matching, HitVisitor visitor) {
+        if (text == null || text.isEmpty() || canonicalNames.length == 0) {
+            return;
+        }
+        boolean reference = matching == Matching.REFERENCE;
+
+        // Source index of each of the last maxTermLength normalized characters
+        int[] positions = new int[maxTermLength + 1];
+        int consumed = 0;
+        int state = ROOT;
+        boolean previousWasSpace = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            // The Python patterns only match a literal single space between words
+            char c = reference ? Character.toLowerCase(text.charAt(i)) : normalize(text.charAt(i));
+            if (c == ' ' && !reference) {
+                if (previousWasSpace) {
+                    continue;
+                }
+                previousWasSpace = true;
+            } else {
+                previousWasSpace = false;
+            }
+
+            positions[consumed % positions.length] = i;
+            consumed++;
+
+            int next = transitions.get(state, c);
+            while (next == NONE && state != ROOT) {
+                state = fail[state];
+                next = transitions.get(state, c);
+            }
+            state = next == NONE ? ROOT : next;
+
+            int hit = termAtState[state] != NONE ? state : outputLink[state];
+            while (hit != ROOT) {
+                int term = termAtState[hit];
+                int start = positions[(consumed - termLengths[term]) % positions.length];
+                boolean matches = reference
+                        ? referenceTerms[term] && isWordBoundary(text, start) && isWordBoundary(text, i + 1)
+                        : isBoundary(text, start - 1, -1) && isBoundary(text, i + 1, 1);
+                if (matches && !visitor.visit(new Hit(term, start, i + 1))) {
+                    return;
+                }
+                hit = outputLink[hit];
+            }
+        }
+    }
+
+    private void linkFailures(Builder builder) {
+        int[] queue = new int[builder.stateCount];
+        int head = 0;
+        int tail = 0;
+
+        for (int child = builder.firstChild[ROOT]; child != NONE; child = builder.nextSibling[child]) {
+            fail[child] = ROOT;
+            outputLink[child] = ROOT;
+            queue[tail++] = child;
+        }
+
+        while (head < tail) {
+            int state = queue[head++];
+            for (int child = builder.firstChild[state]; child != NONE; child = builder.nextSibling[child]) {
+                char c = builder.edgeChar[child];
+                int fallback = fail[state];
+                int target = transitions.get(fallback, c);
+                while (target == NONE && fallback != ROOT) {
+                    fallback = fail[fallback];
+                    target = transitions.get(fallback, c);
+                }
+                fail[child] = target == NONE ? ROOT : target;
+                outputLink[child] = termAtState[fail[child]] != NONE ? fail[child] : outputLink[fail[child]];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    private static boolean isBoundary(String text, int index, int direction) {
+        if (index < 0 || index >= text.length()) {
+            return true;
+        }
+        char c = text.charAt(index);
+        if (c == '.') {
+            // A dot only separates when it is not part of a dotted name like "node.js"
+            int beyond = index + direction;
+            return beyond < 0 || beyond >= text.length() || !Character.isLetterOrDigit(text.charAt(beyond));
+        }
+        return !(Character.isLetterOrDigit(c) || c == '_' || c == '+' || c == '#');
+    }
+
+    // Python's \b: a word character on exactly one side, where '_' counts as one and '+', '#' and '.' do not
+    private static boolean isWordBoundary(String text, int index) {
+        return isWordChar(text, index - 1) != isWordChar(text, index);
+    }
+
+    private static boolean isWordChar(String text, int index) {
+        if (index < 0 || index >= text.length()) {
+            return false;
+        }
+        char c = text.charAt(index);
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static char normalize(char c) {
+        return Character.isWhitespace(c) ? ' ' : Character.toLowerCase(c);
+    }
+
+    static String normalizeTerm(String term) {
+        return term.strip().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    /**
+     * How {@link #findSkills(String, Matching)} recognises a skill in a text.
+     */
+    public enum Matching {
+        // Every term and alias, whitespace runs read as one space, hits bounded as described above
+        TOKENS,
+        // The Python matcher's patterns: reference terms only, literal text, regex word boundaries and
+        // alternation order within a section, so "spring boot" is reported as "spring" and "c++" only
+        // when a word character follows it
+        REFERENCE
+    }
+
+    // Reference terms are the ones the Python matcher's patterns list; aliases never are
+    public record Skill(String term, String canonicalName, String category, boolean reference) {
+
+        public Skill(String term, String canonicalName, String category) {
+            this(term, canonicalName, category, term.strip().equalsIgnoreCase(canonicalName.strip()));
+        }
+    }
+
+    public record SkillMatch(String skill, String category, int start, int end) {
+    }
+
+    private record Hit(int term, int start, int end) {
+    }
+
+    @FunctionalInterface
+    private interface HitVisitor {
+        boolean visit(Hit hit);
+    }
+
+    private static final class Builder {
+
+        private final List<String> canonicalNames = new ArrayList<>();
+        private final List<String> categories = new ArrayList<>();
+        private final List<Boolean> referenceTerms = new ArrayList<>();
+        private final List<Integer> termLengths = new ArrayList<>();
+        private final Transitions transitions;
+
+        private int stateCount = 1;
+        private int maxTermLength;
+        private long fingerprint = 17;
+        private int[] termAtState;
+        private int[] firstChild;
+        private int[] nextSibling;
+        private char[] edgeChar;
+
+        Builder(int expectedTerms) {
+            int capacity = Math.max(16, expectedTerms * 8);
+            transitions = new Transitions(capacity);
+            termAtState = new int[capacity];
+            firstChild = new int[capacity];
+            nextSibling = new int[capacity];
+            edgeChar = new char[capacity];
+            termAtState[ROOT] = NONE;
+            firstChild[ROOT] = NONE;
+            nextSibling[ROOT] = NONE;
+        }
+
+        void add(Skill skill) {
+            String term = normalizeTerm(skill.term());
+            if (term.isEmpty()) {
+                return;
+            }
+
+            int state = ROOT;
+            for (int i = 0; i < term.length(); i++) {
+                char c = term.charAt(i);
+                int next = transitions.get(state, c);
+                if (next == NONE) {
+                    next = newState(state, c);
+                    transitions.put(state, c, next);
+                }
+                state = next;
+            }
+
+            if (termAtState[state] != NONE) {
+                log.debug("Ignoring duplicate skill term '{}'", term);
+                return;
+            }
+            termAtState[state] = canonicalNames.size();
+            canonicalNames.add(normalizeTerm(skill.canonicalName()));
+            categories.add(skill.category());
+            referenceTerms.add(skill.reference());
+            termLengths.add(term.length());
+            maxTermLength = Math.max(maxTermLength, term.length());
+            fingerprint = 31 * (31 * fingerprint + term.hashCode()) + canonicalNames.get(canonicalNames.size() - 1).hashCode();
+            fingerprint = 31 * fingerprint + Boolean.hashCode(skill.reference());
+        }
+
+        private int newState(int parent, char c) {
+            if (stateCount == termAtState.length) {
+                int capacity = termAtState.length * 2;
+                termAtState = Arrays.copyOf(termAtState, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                nextSibling = Arrays.copyOf(nextSibling, capacity);
+                edgeChar = Arrays.copyOf(edgeChar, capacity);
+            }
+            int state = stateCount++;
+            termAtState[state] = NONE;
+            firstChild[state] = NONE;
+            edgeChar[state] = c;
+            nextSibling[state] = firstChild[parent];
+            firstChild[parent] = state;
+            return state;
+        }
+    }
+
+    // Open-addressing (state, char) -> state table; avoids boxing on the per-character hot path
+    private static final class Transitions {
+
+        private static final long EMPTY = -1L;
+
+        private long[] keys;
+        private int[] values;
+        private int size;
+
+        Transitions(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        int get(int state, char c) {
+            long key = key(state, c);
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+                long existing = keys[slot];
+                if (existing == key) {
+                    return values[slot];
+                }
+                if (existing == EMPTY) {
+                    return NONE;
+                }
+            }
+        }
+
+        void put(int state, char c, int target) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            insert(key(state, c), target);
+            size++;
+        }
+
+        private void insert(long key, int target) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = target;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            Arrays.fill(keys, EMPTY);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    insert(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static long key(int state, char c) {
+            return ((long) state << 16) | c;
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
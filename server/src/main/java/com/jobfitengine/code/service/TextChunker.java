@@ -0,0 +1,197 @@
+package com.jobfitengine.code.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into overlapping windows for embedding, so no single model call goes past the input
+ * limit. Windows end on sentence boundaries and hold at most {@code maxWords} whitespace-separated
+ * words (a conservative stand-in for model tokens); each one repeats the trailing sentences of the
+ * previous window, up to {@code overlapWords}, so context that spans a boundary is not lost. A
+ * sentence longer than a whole window is cut on word boundaries instead. Text that fits in one
+ * window comes back unchanged as the only chunk.
+ */
+@Component
+public class TextChunker {
+
+    private final int maxWords;
+    private final int overlapWords;
+
+    public TextChunker(@Value("${aws.bedrock.chunk.max-words:400}") int maxWords,
+                       @Value("${aws.bedrock.chunk.overlap-words:50}") int overlapWords) {
+        if (maxWords <= 0 || overlapWords < 0 || overlapWords >= maxWords) {
+            throw new IllegalArgumentException("Chunk overlap must be smaller than the chunk size");
+        }
+        this.maxWords = maxWords;
+        this.overlapWords = overlapWords;
+    }
+
+    public List<String> chunk(String text) {
+        String trimmed = text.trim();
+        if (trimmed.isEmpty()) {
+            return List.of();
+        }
+        if (wordCount(trimmed) <= maxWords) {
+            return List.of(trimmed);
+        }
+
+        List<String[]> sentences = new ArrayList<>();
+        for (String sentence : sentences(trimmed)) {
+            String[] words = sentence.split("\\s+");
+            // Cut an over-long sentence into pieces that each fit in a window
+            for (int start = 0; start < words.length; start += maxWords - overlapWords) {
+                sentences.add(Arrays.copyOfRange(words, start, Math.min(start + maxWords, words.length)));
+                if (start + maxWords >= words.length) {
+                    break;
+                }
+            }
+        }
+
+        List<String> chunks = new ArrayList<>();
+        int first = 0;
+        while (first < sentences.size()) {
+            int words = 0;
+            int end = first;
+            while (end < sentences.size() && words + sentences.get(end).length <= maxWords) {
+                words += sentences.get(end).length;
+                end++;
+            }
+            chunks.add(join(sentences, first, end));
+            if (end == sentences.size()) {
+                break;
+            }
+
+            // Step back over whole trailing sentences that fit in the overlap, always moving forward
+            int next = end;
+            int overlap = 0;
+            while (next - 1 > first && overlap + sentences.get(next - 1).length <= overlapWords) {
+                next--;
+                overlap += sentences.get(next).length;
+            }
+            first = next;
+        }
+        return chunks;
+    }
+
+    /**
+     * Packs whole sentences into pieces of at most {@code maxBytes} UTF-8 bytes, without overlap, for
+     * APIs that cap the size of each document. A sentence over the limit is cut on words, and a word
+     * over the limit on characters.
+     */
+    public static List<String> splitByBytes(String text, int maxBytes) {
+        String trimmed = text.trim();
+        if (trimmed.isEmpty()) {
+            return List.of();
+        }
+        if (utf8Length(trimmed) <= maxBytes) {
+            return List.of(trimmed);
+        }
+
+        List<String> units = new ArrayList<>();
+        for (String sentence : sentences(trimmed)) {
+            if (utf8Length(sentence) <= maxBytes) {
+                units.add(sentence);
+                continue;
+            }
+            for (String word : sentence.split("\\s+")) {
+                units.addAll(cutWord(word, maxBytes));
+            }
+        }
+
+        List<String> pieces = new ArrayList<>();
+        StringBuilder piece = new StringBuilder();
+        int pieceBytes = 0;
+        for (String unit : units) {
+            int bytes = utf8Length(unit);
+            if (!piece.isEmpty() && pieceBytes + 1 + bytes > maxBytes) {
+                pieces.add(piece.toString());
+                piece.setLength(0);
+            }
+            if (piece.isEmpty()) {
+                pieceBytes = bytes;
+            } else {
+                piece.append(' ');
+                pieceBytes += 1 + bytes;
+            }
+            piece.append(unit);
+        }
+        if (!piece.isEmpty()) {
+            pieces.add(piece.toString());
+        }
+        return pieces;
+    }
+
+    // Slices on code points so a multi-byte character is never split
+    private static List<String> cutWord(String word, int maxBytes) {
+        if (utf8Length(word) <= maxBytes) {
+            return List.of(word);
+        }
+        List<String> slices = new ArrayList<>();
+        int start = 0;
+        int bytes = 0;
+        for (int i = 0; i < word.length(); ) {
+            int codePoint = word.codePointAt(i);
+            int size = utf8Length(new String(Character.toChars(codePoint)));
+            if (bytes + size > maxBytes) {
+                slices.add(word.substring(start, i));
+                start = i;
+                bytes = 0;
+            }
+            bytes += size;
+            i += Character.charCount(codePoint);
+        }
+        slices.add(word.substring(start));
+        return slices;
+    }
+
+    private static int utf8Length(String text) {
+        return text.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static List<String> sentences(String text) {
+        BreakIterator iterator = BreakIterator.getSentenceInstance(Locale.ENGLISH);
+        iterator.setText(text);
+        List<String> sentences = new ArrayList<>();
+        for (int start = iterator.first(), end = iterator.next(); end != BreakIterator.DONE;
+             start = end, end = iterator.next()) {
+            String sentence = text.substring(start, end).trim();
+            if (!sentence.isEmpty()) {
+                sentences.add(sentence);
+            }
+        }
+        return sentences;
+    }
+
+    private static String join(List<String[]> sentences, int from, int to) {
+        StringBuilder chunk = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            for (String word : sentences.get(i)) {
+                if (!chunk.isEmpty()) {
+                    chunk.append(' ');
+                }
+                chunk.append(word);
+            }
+        }
+        return chunk.toString();
+    }
+
+    private static int wordCount(String text) {
+        int count = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            boolean space = Character.isWhitespace(text.charAt(i));
+            if (!space && !inWord) {
+                count++;
+            }
+            inWord = !space;
+        }
+        return count;
+    }
+}
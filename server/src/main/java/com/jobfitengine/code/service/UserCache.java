@@ -0,0 +1,62 @@
+package com.jobfitengine.code.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobfitengine.code.repository.UserRepository.UserSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of account details by user id for the operations that need more than the
+ * token-derived principal. It holds immutable {@link UserSummary} projections, never managed
+ * {@code User} entities, so concurrent requests can share an entry and none of them can change it.
+ * {@link UserCacheInvalidator} evicts an entry whenever its row is updated or deleted; the TTL bounds
+ * anything changed outside JPA. Kept free of dependencies so Hibernate can build the entity listener
+ * while the persistence unit is still starting.
+ */
+@Service
+public class UserCache implements MeterBinder {
+    
+    private final Cache<UUID, UserSummary> users;
+    
+    public UserCache(@Value("${user.cache.max-size:10000}") long maxSize,
+                     @Value("${user.cache.ttl:10m}") Duration ttl) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, users, "users");
+    }
+    
+    // Unknown ids are not cached, so a user registered right after a miss is found on the next call
+    public Optional<UserSummary> get(UUID userId, Function<UUID, Optional<UserSummary>> loader) {
+        UserSummary cached = users.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<UserSummary> loaded = loader.apply(userId);
+        loaded.ifPresent(user -> users.put(userId, user));
+        return loaded;
+    }
+    
+    public void evict(UUID userId) {
+        users.invalidate(userId);
+    }
+    
+    public long estimatedSize() {
+        return users.estimatedSize();
+    }
+} 
\ No newline at end of file
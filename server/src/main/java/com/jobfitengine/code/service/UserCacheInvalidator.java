@@ -0,0 +1,22 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JPA entity listener on {@link User}: any account change made through JPA drops the cached copy.
+ * Hibernate instantiates it through Spring, which supplies the {@link UserCache}.
+ */
+@RequiredArgsConstructor
+public class UserCacheInvalidator {
+    
+    private final UserCache userCache;
+    
+    @PostUpdate
+    @PostRemove
+    void evict(User user) {
+        userCache.evict(user.getId());
+    }
+} 
\ No newline at end of file
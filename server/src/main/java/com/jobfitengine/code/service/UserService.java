@@ -3,6 +3,8 @@ package com.jobfitengine.code.service;
 import com.jobfitengine.code.dto.AuthResponse;
 import com.jobfitengine.code.entity.User;
 import com.jobfitengine.code.repository.UserRepository;
+import com.jobfitengine.code.repository.UserRepository.UserSummary;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,6 +19,8 @@ import java.util.UUID;
 public class UserService {
     
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final PipelineMetrics metrics;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationProvider authenticationProvider;
@@ -34,7 +38,7 @@ public class UserService {
         
         User savedUser = userRepository.save(user);
         
-        String token = jwtService.generateToken(savedUser.getId(), savedUser.getEmail());
+        String token = jwtService.generateToken(savedUser.getId(), savedUser.getEmail(), savedUser.getRole());
         
         AuthResponse.UserDto userDto = new AuthResponse.UserDto(
                 savedUser.getId(),
@@ -57,7 +61,7 @@ public class UserService {
             }
             
             User user = userOpt.get();
-            String token = jwtService.generateToken(user.getId(), user.getEmail());
+            String token = jwtService.generateToken(user.getId(), user.getEmail(), user.getRole());
             
             AuthResponse.UserDto userDto = new AuthResponse.UserDto(
                     user.getId(),
@@ -72,8 +76,19 @@ public class UserService {
         }
     }
     
-    public Optional<User> findById(UUID userId) {
-        return userRepository.findById(userId);
+    // Only for operations that need more than the token's AuthenticatedUser, which request authorization uses
+    public Optional<UserSummary> findSummaryById(UUID userId) {
+        return userCache.get(userId, this::loadUser);
+    }
+    
+    // Runs only on a cache miss, so the timer counts real repository round trips, failed ones included
+    private Optional<UserSummary> loadUser(UUID userId) {
+        Timer.Sample sample = metrics.start();
+        try {
+            return userRepository.findSummaryById(userId);
+        } finally {
+            metrics.stop(sample, PipelineMetrics.DB_LOOKUP, "query", "user");
+        }
     }
     
     public Optional<User> findByEmail(String email) {
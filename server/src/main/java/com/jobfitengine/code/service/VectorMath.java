@@ -0,0 +1,75 @@
+package com.jobfitengine.code.service;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dot products over float vectors. Uses the incubating JDK Vector API when the JVM was started
+ * with {@code --add-modules jdk.incubator.vector}, and a plain scalar loop otherwise.
+ */
+@Slf4j
+final class VectorMath {
+
+    private static final boolean VECTORIZED = detectVectorSupport();
+
+    private VectorMath() {
+    }
+
+    static float dot(float[] a, float[] b) {
+        return VECTORIZED ? Simd.dot(a, b) : scalarDot(a, b);
+    }
+
+    static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    static float scalarDot(float[] a, float[] b) {
+        float sum = 0f;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    static float simdDot(float[] a, float[] b) {
+        return Simd.dot(a, b);
+    }
+
+    private static boolean detectVectorSupport() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            log.info("jdk.incubator.vector not enabled; using scalar dot product");
+            return false;
+        }
+        try {
+            Simd.dot(new float[1], new float[1]);
+            return true;
+        } catch (LinkageError e) {
+            log.warn("Vector API unavailable, using scalar dot product: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Only loaded when the incubator module is present
+    private static final class Simd {
+
+        private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+        static float dot(float[] a, float[] b) {
+            FloatVector sum = FloatVector.zero(SPECIES);
+            int i = 0;
+            int bound = SPECIES.loopBound(a.length);
+            for (; i < bound; i += SPECIES.length()) {
+                FloatVector va = FloatVector.fromArray(SPECIES, a, i);
+                FloatVector vb = FloatVector.fromArray(SPECIES, b, i);
+                sum = va.fma(vb, sum);
+            }
+            float result = sum.reduceLanes(VectorOperators.ADD);
+            for (; i < a.length; i++) {
+                result += a[i] * b[i];
+            }
+            return result;
+        }
+    }
+}
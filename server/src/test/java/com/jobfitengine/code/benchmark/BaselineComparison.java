@@ -0,0 +1,102 @@
+package com.jobfitengine.code.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Compares a JMH JSON result with the committed baseline in {@code benchmarks/jmh-baseline.json}
+ * and prints the change for every benchmark present in both. Exits with status 1 when one got
+ * worse by more than the threshold, or when a baseline benchmark selected by the include pattern
+ * produced no result, so {@code mvn -Pjmh verify} fails on a regression and a benchmark cannot
+ * silently drop out. Scores only compare on the same hardware: refresh the baseline by copying
+ * {@code target/jmh-result.json} over it after a run on the machine that checks regressions.
+ *
+ * <p>Usage: {@code BaselineComparison <baseline.json> <result.json> [thresholdPercent] [includeRegex]}
+ */
+public final class BaselineComparison {
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <result.json> [thresholdPercent] [includeRegex]");
+            System.exit(2);
+        }
+        Map<String, Score> baseline = read(Path.of(args[0]));
+        Map<String, Score> current = read(Path.of(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 20.0;
+        // Same semantics as the JMH include argument, so a narrowed run only owes the benchmarks it selected
+        Pattern include = Pattern.compile(args.length > 3 ? args[3] : "");
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null || !before.mode().equals(after.mode())) {
+                System.out.printf("  new        %s: %.3f %s%n", entry.getKey(), after.value(), after.unit());
+                continue;
+            }
+            double change = (after.value() - before.value()) / before.value() * 100;
+            // Throughput gets worse as it drops; every other JMH mode reports time, which gets worse as it grows
+            double worse = "thrpt".equals(after.mode()) ? -change : change;
+            String verdict = worse > threshold ? "REGRESSED" : worse < -threshold ? "improved" : "ok";
+            if (worse > threshold) {
+                regressions++;
+            }
+            System.out.printf("  %-10s %s: %.3f -> %.3f %s (%+.1f%%)%n", verdict, entry.getKey(),
+                    before.value(), after.value(), after.unit(), change);
+        }
+        int missing = 0;
+        for (Map.Entry<String, Score> entry : baseline.entrySet()) {
+            if (!current.containsKey(entry.getKey()) && include.matcher(entry.getValue().benchmark()).find()) {
+                System.out.printf("  MISSING    %s: in the baseline but not in the results%n", entry.getKey());
+                missing++;
+            }
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold);
+        }
+        if (missing > 0) {
+            System.out.printf("%d baseline benchmark(s) missing from the results%n", missing);
+        }
+        if (regressions > 0 || missing > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            JsonNode metric = run.get("primaryMetric");
+            scores.put(key(run), new Score(run.get("benchmark").asText(), run.get("mode").asText(),
+                    metric.get("score").asDouble(), metric.get("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    // Benchmark method plus its @Param values, e.g. SkillDictionaryBenchmark.ahoCorasick{dictionarySize=1000}
+    private static String key(JsonNode run) {
+        String name = run.get("benchmark").asText();
+        String key = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+        JsonNode params = run.get("params");
+        if (params == null) {
+            return key;
+        }
+        Map<String, String> sorted = new TreeMap<>();
+        for (Map.Entry<String, JsonNode> field : params.properties()) {
+            sorted.put(field.getKey(), field.getValue().asText());
+        }
+        return key + sorted;
+    }
+
+    private record Score(String benchmark, String mode, double value, String unit) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.jobfitengine.code.benchmark;
+
+import com.jobfitengine.code.service.DocumentTextExtractionService;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.sax.BodyContentHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Text extraction of the sample resumes in {@code server/uploads}; run from {@code server/} or point
+ * {@code -Dbenchmark.uploads} at another directory of PDFs. One operation handles every file.
+ * {@code extract} is the whole service call, and {@code normalizeWhitespace} is its final cleanup
+ * step alone, over the raw text Tika produced for the same files.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentExtractionBenchmark {
+
+    private DocumentTextExtractionService service;
+    private List<byte[]> documents;
+    private List<String> rawTexts;
+
+    @Setup
+    public void setUp() throws Exception {
+        service = new DocumentTextExtractionService(100_000);
+        Path uploads = Path.of(System.getProperty("benchmark.uploads", "uploads"));
+        try (Stream<Path> files = Files.list(uploads)) {
+            documents = files.filter(file -> file.toString().endsWith(".pdf")).sorted()
+                    .map(DocumentExtractionBenchmark::read).toList();
+        }
+        if (documents.isEmpty()) {
+            throw new IllegalStateException("No PDFs in " + uploads.toAbsolutePath());
+        }
+
+        rawTexts = new ArrayList<>();
+        AutoDetectParser parser = new AutoDetectParser();
+        for (byte[] document : documents) {
+            BodyContentHandler handler = new BodyContentHandler(100_000);
+            parser.parse(new ByteArrayInputStream(document), handler, new Metadata(), new ParseContext());
+            rawTexts.add(handler.toString());
+        }
+    }
+
+    @Benchmark
+    public void extract(Blackhole blackhole) {
+        for (byte[] document : documents) {
+            InputStream in = new ByteArrayInputStream(document);
+            blackhole.consume(service.extract(in));
+        }
+    }
+
+    @Benchmark
+    public void normalizeWhitespace(Blackhole blackhole) {
+        for (String text : rawTexts) {
+            blackhole.consume(DocumentTextExtractionService.normalizeWhitespace(text));
+        }
+    }
+
+    private static byte[] read(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot read " + file, e);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DocumentExtractionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,88 @@
+package com.jobfitengine.code.benchmark;
+
+import com.jobfitengine.code.service.BedrockEmbeddingService;
+import com.jobfitengine.code.service.Embedding;
+import com.jobfitengine.code.service.PipelineMetrics;
+import com.jobfitengine.code.service.TextChunker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cosine similarity of two 1536-dimension Titan embeddings. {@code calculateCosineSimilarity} is the
+ * service call, a dot product of vectors normalized on creation; {@code scalarCosine} computes both
+ * norms and the dot product in one plain loop on every call, for reference.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class EmbeddingSimilarityBenchmark {
+
+    private static final int DIMENSION = 1536;
+
+    private BedrockEmbeddingService service;
+    private Embedding first;
+    private Embedding second;
+    private float[] rawFirst;
+    private float[] rawSecond;
+
+    @Setup
+    public void setUp() {
+        service = new BedrockEmbeddingService(null, new PipelineMetrics(new SimpleMeterRegistry()),
+                new TextChunker(400, 50), 1, 0, 1);
+        Random random = new Random(11);
+        rawFirst = gaussian(random);
+        rawSecond = gaussian(random);
+        first = Embedding.of(rawFirst);
+        second = Embedding.of(rawSecond);
+    }
+
+    @Benchmark
+    public double calculateCosineSimilarity() {
+        return service.calculateCosineSimilarity(first, second);
+    }
+
+    @Benchmark
+    public double scalarCosine() {
+        double dot = 0;
+        double normFirst = 0;
+        double normSecond = 0;
+        for (int i = 0; i < rawFirst.length; i++) {
+            dot += rawFirst[i] * rawSecond[i];
+            normFirst += rawFirst[i] * rawFirst[i];
+            normSecond += rawSecond[i] * rawSecond[i];
+        }
+        return dot / (Math.sqrt(normFirst) * Math.sqrt(normSecond));
+    }
+
+    private static float[] gaussian(Random random) {
+        float[] values = new float[DIMENSION];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (float) random.nextGaussian();
+        }
+        return values;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmbeddingSimilarityBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
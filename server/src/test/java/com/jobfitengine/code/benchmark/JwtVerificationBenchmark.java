@@ -0,0 +1,86 @@
+package com.jobfitengine.code.benchmark;
+
+import com.jobfitengine.code.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work the JWT filter does per request. {@code perRequestParsing} is the old path: the key
+ * and parser rebuilt for each of the four parses the filter made (subject, subject and expiry for
+ * the validity check, user id). {@code verifyUncached} parses once with the cached parser, and
+ * {@code verifyCached} is a repeat request answered from the verified-token cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "your-super-secret-jwt-key-that-should-be-at-least-256-bits-long";
+
+    private JwtService cached;
+    private JwtService uncached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtService(SECRET, 86_400_000, 10_000, Duration.ofMinutes(5));
+        uncached = new JwtService(SECRET, 86_400_000, 0, Duration.ofMinutes(5));
+        token = cached.generateToken(UUID.randomUUID(), "dev@example.com");
+        cached.verify(token);
+    }
+
+    @Benchmark
+    public UUID perRequestParsing() {
+        String email = oldClaims(token).getSubject();
+        boolean valid = oldClaims(token).getSubject().equals(email)
+                && !oldClaims(token).getExpiration().before(new Date());
+        return valid ? UUID.fromString(oldClaims(token).get("userId", String.class)) : null;
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyUncached() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyCached() {
+        return cached.verify(token);
+    }
+
+    // What JwtService.extractAllClaims did before the key and parser were cached
+    private static Claims oldClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
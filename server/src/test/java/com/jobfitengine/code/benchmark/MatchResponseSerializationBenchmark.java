@@ -0,0 +1,81 @@
+package com.jobfitengine.code.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobfitengine.code.dto.BatchJobMatchingResponse;
+import com.jobfitengine.code.dto.JobMatchingResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of match responses with the mapper Spring MVC configures by default: one
+ * {@code JobMatchingResponse} with 20 matched and 12 missing skills, and a batch of 50 of them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private JobMatchingResponse response;
+    private BatchJobMatchingResponse batch;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<JobMatchingResponse.MatchedSkill> matched = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            matched.add(new JobMatchingResponse.MatchedSkill("skill-" + i, 0.8, "Technical"));
+        }
+        List<JobMatchingResponse.MissingSkill> missing = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            missing.add(new JobMatchingResponse.MissingSkill("missing-skill-" + i, 0.7, "Technical"));
+        }
+        JobMatchingResponse.Analysis analysis = new JobMatchingResponse.Analysis(
+                "Good match. You have many of the required skills but some gaps exist.",
+                List.of("Focus on learning the missing skills identified",
+                        "Emphasize transferable skills and experience",
+                        "Prioritize learning: missing-skill-0, missing-skill-1, missing-skill-2"));
+        response = new JobMatchingResponse(true, "Job matching analysis completed successfully", 67.5,
+                matched, missing, analysis);
+        batch = new BatchJobMatchingResponse(true, "Batch job matching completed", 50, 0,
+                new ArrayList<>(Collections.nCopies(50, response)));
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeBatch() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(batch);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MatchResponseSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
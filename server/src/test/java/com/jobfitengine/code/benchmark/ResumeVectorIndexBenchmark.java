@@ -0,0 +1,136 @@
+package com.jobfitengine.code.benchmark;
+
+import com.jobfitengine.code.service.Embedding;
+import com.jobfitengine.code.service.HnswIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-10 lookup over clustered 1536-dimension embeddings: the HNSW resume index against a brute
+ * force scan of every vector. Setup also prints the index's recall@10 against the exact answer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "--add-modules", "jdk.incubator.vector"})
+public class ResumeVectorIndexBenchmark {
+
+    private static final int DIMENSION = 1536;
+    private static final int K = 10;
+    private static final int QUERIES = 64;
+
+    @Param({"10000", "50000"})
+    private int resumes;
+
+    private List<Embedding> vectors;
+    private HnswIndex<Integer> index;
+    private Embedding[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(5);
+        List<float[]> centres = new ArrayList<>();
+        for (int i = 0; i < resumes / 20; i++) {
+            centres.add(gaussian(random, 1f));
+        }
+
+        vectors = new ArrayList<>(resumes);
+        index = new HnswIndex<>(16, 100, 42);
+        long start = System.nanoTime();
+        for (int i = 0; i < resumes; i++) {
+            Embedding vector = near(random, centres.get(random.nextInt(centres.size())));
+            vectors.add(vector);
+            index.add(i, vector);
+        }
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+
+        queries = new Embedding[QUERIES];
+        int hits = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = near(random, centres.get(random.nextInt(centres.size())));
+            Set<Integer> exact = new HashSet<>(bruteForce(queries[q]));
+            for (HnswIndex.Neighbor<Integer> neighbour : index.search(queries[q], K, 100)) {
+                if (exact.contains(neighbour.key())) {
+                    hits++;
+                }
+            }
+        }
+        System.out.printf("%n%d resumes: index built in %d ms, recall@%d = %.3f%n",
+                resumes, buildMillis, K, hits / (double) (QUERIES * K));
+    }
+
+    @Benchmark
+    public List<HnswIndex.Neighbor<Integer>> hnsw() {
+        return index.search(queries[next++ & (QUERIES - 1)], K, 100);
+    }
+
+    @Benchmark
+    public List<Integer> bruteForce() {
+        return bruteForce(queries[next++ & (QUERIES - 1)]);
+    }
+
+    private List<Integer> bruteForce(Embedding query) {
+        PriorityQueue<double[]> best = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+        for (int i = 0; i < vectors.size(); i++) {
+            double similarity = vectors.get(i).cosineSimilarity(query);
+            if (best.size() < K) {
+                best.add(new double[]{similarity, i});
+            } else if (similarity > best.peek()[0]) {
+                best.poll();
+                best.add(new double[]{similarity, i});
+            }
+        }
+        List<Integer> ids = new ArrayList<>(K);
+        for (double[] entry : best) {
+            ids.add((int) entry[1]);
+        }
+        return ids;
+    }
+
+    private static Embedding near(Random random, float[] centre) {
+        float[] noise = gaussian(random, 0.5f / (float) Math.sqrt(DIMENSION));
+        float[] values = Embedding.of(centre).toArray();
+        for (int i = 0; i < DIMENSION; i++) {
+            values[i] += noise[i];
+        }
+        return Embedding.of(values);
+    }
+
+    private static float[] gaussian(Random random, float scale) {
+        float[] values = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            values[i] = (float) random.nextGaussian() * scale;
+        }
+        return values;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ResumeVectorIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
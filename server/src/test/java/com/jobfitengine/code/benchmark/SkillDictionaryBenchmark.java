@@ -0,0 +1,102 @@
+package com.jobfitengine.code.benchmark;
+
+import com.jobfitengine.code.service.SkillDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skill extraction cost over a ~6KB resume as the dictionary grows. {@code ahoCorasick} should stay
+ * flat across sizes while {@code linearScan}, the old per-skill {@code contains} loop, grows with
+ * the number of entries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkillDictionaryBenchmark {
+
+    private static final String RESUME_PARAGRAPH =
+            "Senior software engineer with 6 years of experience in Java, Spring Boot and Hibernate. "
+            + "Designed microservices on AWS (EC2, S3, Lambda) with Docker, Kubernetes and Jenkins. "
+            + "Built React and TypeScript front ends, REST API design, Kafka event streaming, "
+            + "PostgreSQL and Redis data stores. Practiced Agile and Scrum, mentoring junior engineers "
+            + "and leading cross-team communication on delivery and incident reviews. ";
+
+    @Param({"100", "1000", "10000", "50000"})
+    private int dictionarySize;
+
+    private SkillDictionary dictionary;
+    private List<String> terms;
+    private String text;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<SkillDictionary.Skill> skills = new ArrayList<>(SkillDictionary.parse(new ClassPathResource("skills/skills.txt")));
+        skills = new ArrayList<>(skills.subList(0, Math.min(dictionarySize, skills.size())));
+
+        Random random = new Random(7);
+        while (skills.size() < dictionarySize) {
+            String term = syntheticTerm(random);
+            skills.add(new SkillDictionary.Skill(term, term, "synthetic"));
+        }
+
+        dictionary = new SkillDictionary(skills);
+        terms = skills.stream().map(SkillDictionary.Skill::term).toList();
+        text = RESUME_PARAGRAPH.repeat(16);
+    }
+
+    @Benchmark
+    public Set<String> ahoCorasick() {
+        return dictionary.findSkills(text);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        String lower = text.toLowerCase(Locale.ROOT);
+        int found = 0;
+        for (String term : terms) {
+            if (lower.contains(term)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static String syntheticTerm(Random random) {
+        StringBuilder term = new StringBuilder();
+        int length = 4 + random.nextInt(10);
+        for (int i = 0; i < length; i++) {
+            term.append((char) ('a' + random.nextInt(26)));
+        }
+        return term.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SkillDictionaryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,69 @@
+package com.jobfitengine.code.benchmark;
+
+import com.jobfitengine.code.service.AwsComprehendService;
+import com.jobfitengine.code.service.PipelineMetrics;
+import com.jobfitengine.code.service.SkillDictionary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtering the key phrases Comprehend returns for one resume, about 200 of them, down to likely
+ * skills: a dictionary lookup and then two regular expressions per phrase that is not a known skill.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkillPhraseFilterBenchmark {
+
+    private static final List<String> PHRASES = List.of(
+            "Java", "Spring Boot", "6 years of experience", "microservices", "the team", "AWS Lambda",
+            "proficient in Kafka", "cross-team communication", "incident reviews", "Kubernetes",
+            "a senior software engineer", "REST API design", "PostgreSQL", "junior engineers", "delivery",
+            "experienced leader", "Docker", "event streaming", "front ends", "3 yrs", "Scrum", "TypeScript",
+            "an agile environment", "Redis data stores", "on-call rotation");
+
+    private AwsComprehendService service;
+    private List<String> phrases;
+
+    @Setup
+    public void setUp() throws IOException {
+        SkillDictionary dictionary = new SkillDictionary(new ClassPathResource("skills/skills.txt"));
+        service = new AwsComprehendService(null, dictionary, new PipelineMetrics(new SimpleMeterRegistry()));
+        phrases = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            phrases.addAll(PHRASES);
+        }
+    }
+
+    @Benchmark
+    public List<String> filterSkills() {
+        return service.filterSkills(phrases);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SkillPhraseFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,232 @@
+package com.jobfitengine.code.controller;
+
+import com.jobfitengine.code.dto.ResumeResponse;
+import com.jobfitengine.code.entity.Resume;
+import com.jobfitengine.code.exception.ResponseAbortedException;
+import com.jobfitengine.code.security.AuthenticatedUser;
+import com.jobfitengine.code.service.LocalResumeStorage;
+import com.jobfitengine.code.service.ResumeService;
+import com.jobfitengine.code.service.ResumeStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ResumeControllerTest {
+
+    private static final String BYTES = "%PDF-1.4 0123456789 resume body";
+    private static final String HASH = "ab".repeat(32);
+    private static final String ETAG = "\"" + HASH + "\"";
+
+    @TempDir
+    Path uploads;
+
+    private final ResumeService resumeService = mock(ResumeService.class);
+    private ResumeStorage storage;
+    private MockMvc mvc;
+
+    private final AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "jane@example.com");
+    private Resume resume;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storage = new LocalResumeStorage(uploads);
+        mvc = mvcFor(storage);
+        Files.writeString(uploads.resolve(HASH), BYTES);
+
+        resume = new Resume();
+        resume.setId(UUID.randomUUID());
+        resume.setFileName("resume.pdf");
+        resume.setFileType("pdf");
+        resume.setFilePath(HASH);
+        resume.setContentHash(HASH);
+
+        when(resumeService.findByIdAndUser(resume.getId(), user)).thenReturn(Optional.of(resume));
+        // What JwtAuthenticationFilter establishes for a valid token
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(user, null, List.of()));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void downloadCarriesStrongEtagAndAcceptsRanges() throws Exception {
+        mvc.perform(download())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, BYTES.length()))
+                .andExpect(content().string(BYTES));
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws Exception {
+        MvcResult result = mvc.perform(download().header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andReturn();
+        assertThat(result.getResponse().getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void weakIfNoneMatchIsNotModified() throws Exception {
+        mvc.perform(download().header(HttpHeaders.IF_NONE_MATCH, "W/" + ETAG))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void rangeReturnsPartialContent() throws Exception {
+        mvc.perform(download().header(HttpHeaders.RANGE, "bytes=9-18"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 9-18/" + BYTES.length()))
+                .andExpect(content().string("0123456789"));
+
+        mvc.perform(download().header(HttpHeaders.RANGE, "bytes=-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("body"));
+    }
+
+    @Test
+    void staleIfRangeGetsTheWholeFile() throws Exception {
+        mvc.perform(download().header(HttpHeaders.RANGE, "bytes=9-18").header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(BYTES));
+
+        mvc.perform(download().header(HttpHeaders.RANGE, "bytes=9-18").header(HttpHeaders.IF_RANGE, ETAG))
+                .andExpect(status().isPartialContent());
+    }
+
+    @Test
+    void rangePastTheEndIsNotSatisfiable() throws Exception {
+        mvc.perform(download().header(HttpHeaders.RANGE, "bytes=1000-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + BYTES.length()));
+    }
+
+    @Test
+    void usesTomcatSendfileWhenTheConnectorOffersIt() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.setAttribute(FileRangeResponder.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=9-18");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FileRangeResponder.write(request, response, storage, HASH, "application/pdf", "resume.pdf", ETAG);
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute(FileRangeResponder.SENDFILE_START)).isEqualTo(9L);
+        assertThat(request.getAttribute(FileRangeResponder.SENDFILE_END)).isEqualTo(19L);
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+    }
+
+    @Test
+    void streamsTheRangeFromRemoteStorage() throws Exception {
+        ResumeStorage remote = mock(ResumeStorage.class);
+        when(remote.size(HASH)).thenReturn((long) BYTES.length());
+        when(remote.localPath(HASH)).thenReturn(Optional.empty());
+        when(remote.open(HASH, 9, 10))
+                .thenReturn(new ByteArrayInputStream(BYTES.substring(9, 19).getBytes(StandardCharsets.UTF_8)));
+        MockMvc remoteMvc = mvcFor(remote);
+
+        remoteMvc.perform(download().header(HttpHeaders.RANGE, "bytes=9-18"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void failureAfterTheResponseIsCommittedAbortsIt() throws Exception {
+        ResumeStorage remote = mock(ResumeStorage.class);
+        when(remote.size(HASH)).thenReturn(20_000L);
+        when(remote.localPath(HASH)).thenReturn(Optional.empty());
+        // More than the response buffer, so the status line and the first bytes are out before the failure
+        when(remote.open(HASH, 0, 20_000)).thenReturn(new SequenceInputStream(
+                new ByteArrayInputStream(new byte[8_192]), new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("connection to storage reset");
+                    }
+                }));
+        MockMvc remoteMvc = mvcFor(remote);
+
+        assertThatThrownBy(() -> remoteMvc.perform(download()))
+                .hasCauseInstanceOf(ResponseAbortedException.class)
+                .hasRootCauseMessage("connection to storage reset");
+    }
+
+    @Test
+    void missingFileIsNotFound() throws Exception {
+        Files.delete(uploads.resolve(HASH));
+
+        mvc.perform(download()).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void resumeMetadataIsConditional() throws Exception {
+        ResumeResponse.ResumeDto dto = new ResumeResponse.ResumeDto(resume.getId(), "resume.pdf", 31L,
+                LocalDateTime.of(2025, 1, 1, 12, 0), "pdf", "/resume/download/" + resume.getId(), "READY", null);
+        when(resumeService.getUserResume(user)).thenReturn(new ResumeResponse(true, "ok", dto));
+
+        String etag = mvc.perform(get("/api/v1/resumes/me"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+
+        mvc.perform(get("/api/v1/resumes/me").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        dto.setStatus("FAILED");
+        mvc.perform(get("/api/v1/resumes/me").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void anonymousRequestIsRejected() throws Exception {
+        SecurityContextHolder.clearContext();
+
+        mvc.perform(download()).andExpect(status().isForbidden());
+        mvc.perform(get("/api/v1/resumes/me")).andExpect(status().isBadRequest());
+    }
+
+    private MockMvc mvcFor(ResumeStorage resumeStorage) {
+        return MockMvcBuilders.standaloneSetup(new ResumeController(resumeService, resumeStorage))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+    }
+
+    private MockHttpServletRequestBuilder download() {
+        return get("/api/v1/resumes/{id}/download", resume.getId());
+    }
+}
@@ -0,0 +1,94 @@
+package com.jobfitengine.code.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latencies of one load-test phase, kept per endpoint. Every sample is retained so the percentiles
+ * are exact rather than bucketed; a run of a few minutes stays well within memory.
+ */
+class LoadReport {
+
+    private final String phase;
+    private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+
+    LoadReport(String phase) {
+        this.phase = phase;
+    }
+
+    void record(String endpoint, long nanos, boolean ok) {
+        endpoints.computeIfAbsent(endpoint, name -> new Samples()).add(nanos, ok);
+    }
+
+    List<EndpointStats> summarize(Duration window) {
+        double seconds = Math.max(window.toNanos() / 1e9, 1e-9);
+        List<EndpointStats> stats = new ArrayList<>();
+        endpoints.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> stats.add(entry.getValue().stats(entry.getKey(), seconds)));
+        return stats;
+    }
+
+    String format(Duration window) {
+        StringBuilder table = new StringBuilder(String.format("%n%s phase (%.1fs)%n", phase, window.toMillis() / 1e3));
+        table.append(String.format("%-24s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (EndpointStats stat : summarize(window)) {
+            table.append(String.format("%-24s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", stat.endpoint(),
+                    stat.requests(), stat.errors(), stat.throughput(), stat.p50Millis(), stat.p95Millis(),
+                    stat.p99Millis(), stat.maxMillis()));
+        }
+        return table.toString();
+    }
+
+    Map<String, Object> toJson(Duration window) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("phase", phase);
+        json.put("windowSeconds", window.toMillis() / 1e3);
+        json.put("endpoints", summarize(window));
+        return json;
+    }
+
+    record EndpointStats(String endpoint, long requests, long errors, double throughput,
+                         double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+    }
+
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long latency, boolean ok) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized EndpointStats stats(String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return new EndpointStats(endpoint, count, errors, count / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        // Nearest-rank percentile, in milliseconds
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(rank - 1, 0)] / 1e6;
+        }
+    }
+}
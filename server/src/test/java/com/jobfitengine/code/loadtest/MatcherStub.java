@@ -0,0 +1,87 @@
+package com.jobfitengine.code.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the Flask matcher's {@code /analyze} endpoint. Each call waits a log-normal
+ * latency with the configured median and 99th percentile, then answers with a fixed match or, at the
+ * configured error rate, a 500. Replies are scheduled rather than slept on, so the stub holds no
+ * thread per in-flight request and its own cost stays out of the measurement.
+ */
+class MatcherStub implements AutoCloseable {
+
+    private static final byte[] RESPONSE = ("{\"matchScore\": 61.5, \"matchedSkills\": [\"java\", \"spring\"], "
+            + "\"missingSkills\": [\"kafka\"], \"missingExperience\": [], \"otherMissing\": []}")
+            .getBytes(StandardCharsets.UTF_8);
+    // z-score of the 99th percentile of a standard normal
+    private static final double Z_99 = 2.3263;
+
+    final AtomicLong calls = new AtomicLong();
+    final AtomicLong failures = new AtomicLong();
+    private final HttpServer server;
+    private final ScheduledExecutorService responder = Executors.newScheduledThreadPool(2);
+    private volatile double mu;
+    private volatile double sigma;
+    private volatile double errorRate;
+
+    MatcherStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/analyze", this::handle);
+        server.start();
+        configure(Duration.ZERO, Duration.ZERO, 0);
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    void configure(Duration median, Duration p99, double errorRate) {
+        double medianMicros = Math.max(median.toNanos() / 1_000.0, 1);
+        double p99Micros = Math.max(p99.toNanos() / 1_000.0, medianMicros);
+        this.mu = Math.log(medianMicros);
+        this.sigma = Math.log(p99Micros / medianMicros) / Z_99;
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        responder.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        calls.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delayMicros = Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+        boolean fail = random.nextDouble() < errorRate;
+        responder.schedule(() -> reply(exchange, fail), delayMicros, TimeUnit.MICROSECONDS);
+    }
+
+    private void reply(HttpExchange exchange, boolean fail) {
+        try (exchange; OutputStream out = exchange.getResponseBody()) {
+            if (fail) {
+                failures.incrementAndGet();
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            out.write(RESPONSE);
+        } catch (IOException e) {
+            // The server gave up on the call; nothing left to answer
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.jobfitengine.code.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeAsyncClient;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * End-to-end throughput of one node: the whole server on a random port, H2 for the database and
+ * {@link MatcherStub} in place of the Python matcher. Each closed-loop virtual user registers, logs
+ * in, uploads a resume and waits for it to be READY (the setup phase). Once all of them are ready
+ * they run the configured mix of job matches, resume reads, status checks and logins for the warmup
+ * plus the measured duration; requests finished during the warmup are left out of the mixed phase.
+ *
+ * <p>Tagged {@code load} and skipped by a plain {@code mvn test}; run it with
+ * {@code mvn -Pload-test test}, changing any {@code loadtest.*} setting from
+ * {@code application-loadtest.properties} with {@code -D}. Throughput and p50/p95/p99 per endpoint are
+ * printed and written to {@code target/loadtest-report.json}. Bedrock is mocked out, so resumes stay
+ * unembedded and matching measures the server and the matcher round trip only.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@Tag("load")
+class MatchingLoadTest {
+
+    private static final String JOB_MATCHING = "POST /job-matching";
+    private static final String GET_RESUME = "GET /resumes/me";
+    private static final String STATUS = "GET /resumes/{id}/status";
+    private static final String LOGIN = "POST /auth/login";
+    private static final String PASSWORD = "load-test-password";
+
+    private static MatcherStub matcher;
+
+    @MockitoBean
+    private BedrockRuntimeAsyncClient bedrockRuntimeAsyncClient;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${loadtest.users}")
+    private int users;
+    @Value("${loadtest.duration}")
+    private Duration duration;
+    @Value("${loadtest.warmup}")
+    private Duration warmup;
+    @Value("${loadtest.matcher.median-latency}")
+    private Duration medianLatency;
+    @Value("${loadtest.matcher.p99-latency}")
+    private Duration p99Latency;
+    @Value("${loadtest.matcher.error-rate}")
+    private double errorRate;
+    @Value("${loadtest.mix.get-resume}")
+    private double getResumeShare;
+    @Value("${loadtest.mix.status}")
+    private double statusShare;
+    @Value("${loadtest.mix.login}")
+    private double loginShare;
+    @Value("${loadtest.report:target/loadtest-report.json}")
+    private Path reportFile;
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final AtomicLong jobCounter = new AtomicLong();
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+
+    @DynamicPropertySource
+    static void matcherUrl(DynamicPropertyRegistry registry) throws IOException {
+        matcher = new MatcherStub();
+        registry.add("python.matcher.url", matcher::url);
+    }
+
+    @AfterAll
+    static void stopMatcher() {
+        matcher.close();
+    }
+
+    @Test
+    void mixedTrafficAgainstOneNode() throws Exception {
+        when(bedrockRuntimeAsyncClient.invokeModel(any(InvokeModelRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Bedrock is not part of the load test")));
+        matcher.configure(medianLatency, p99Latency, errorRate);
+        LoadReport setup = new LoadReport("setup");
+        LoadReport mixed = new LoadReport("mixed");
+
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        long start = System.nanoTime();
+        List<Future<Session>> setUps = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            int index = i;
+            setUps.add(pool.submit(() -> setUp(index, setup)));
+        }
+        List<Session> sessions = new ArrayList<>();
+        for (Future<Session> session : setUps) {
+            sessions.add(session.get());
+        }
+
+        // Every user is ready before the clock for the mixed phase starts
+        long ready = System.nanoTime();
+        Duration setupWindow = Duration.ofNanos(ready - start);
+        long measureFrom = ready + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        List<Future<?>> runs = new ArrayList<>();
+        for (Session session : sessions) {
+            runs.add(pool.submit(() -> {
+                runMix(session, mixed, measureFrom, end);
+                return null;
+            }));
+        }
+        for (Future<?> run : runs) {
+            run.get();
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        System.out.println(setup.format(setupWindow) + mixed.format(duration));
+        System.out.printf("matcher stub: %d calls, %d answered with 500%n", matcher.calls.get(), matcher.failures.get());
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", users);
+        report.put("matcher", Map.of("medianMillis", medianLatency.toMillis(), "p99Millis", p99Latency.toMillis(),
+                "errorRate", errorRate));
+        report.put("phases", List.of(setup.toJson(setupWindow), mixed.toJson(duration)));
+        json.writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+
+        assertThat(setup.summarize(setupWindow)).allSatisfy(stat -> assertThat(stat.errors()).isZero());
+        List<LoadReport.EndpointStats> stats = mixed.summarize(duration);
+        assertThat(stats).extracting(LoadReport.EndpointStats::endpoint).contains(JOB_MATCHING);
+        // Matcher failures surface as failed matches; anything well beyond the injected rate is the server
+        assertThat(stats).filteredOn(stat -> stat.endpoint().equals(JOB_MATCHING)).singleElement()
+                .satisfies(stat -> assertThat(stat.errors()).isLessThanOrEqualTo(
+                        (long) (stat.requests() * (errorRate * 2 + 0.01))));
+        assertThat(stats).filteredOn(stat -> !stat.endpoint().equals(JOB_MATCHING))
+                .allSatisfy(stat -> assertThat(stat.errors()).isZero());
+    }
+
+    private Session setUp(int index, LoadReport report) throws Exception {
+        String email = "load-" + runId + "-" + index + "@example.com";
+        send(report, "POST /auth/register", post("/api/v1/auth/register", null,
+                Map.of("email", email, "password", PASSWORD, "name", "Load User " + index)));
+        String token = login(report, email);
+
+        String boundary = "----loadtest" + runId;
+        HttpResponse<String> upload = send(report, "POST /resumes", HttpRequest.newBuilder(uri("/api/v1/resumes"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(multipart(boundary, "resume-" + index + ".pdf",
+                        resumePdf("Load User " + index + " Senior Java developer with Spring Boot, PostgreSQL, "
+                                + "Docker and REST APIs. Eight years building backend services."))))
+                .build());
+        String resumeId = json.readTree(upload.body()).path("resume").path("id").asText();
+
+        // Extraction runs on the background workers; matching answers 409 until it finishes
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (true) {
+            JsonNode status = json.readTree(send(null, STATUS, get("/api/v1/resumes/" + resumeId + "/status", token))
+                    .body());
+            String state = status.path("status").asText();
+            if (state.equals("READY")) {
+                return new Session(email, token, resumeId);
+            }
+            if (state.equals("FAILED") || System.nanoTime() > deadline) {
+                throw new IllegalStateException("Resume " + resumeId + " did not become READY: " + status);
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private void runMix(Session session, LoadReport mixed, long measureFrom, long end) throws Exception {
+        String token = session.token();
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            LoadReport report = now >= measureFrom ? mixed : null;
+            double pick = ThreadLocalRandom.current().nextDouble();
+            if (pick < getResumeShare) {
+                send(report, GET_RESUME, get("/api/v1/resumes/me", token));
+            } else if (pick < getResumeShare + statusShare) {
+                send(report, STATUS, get("/api/v1/resumes/" + session.resumeId() + "/status", token));
+            } else if (pick < getResumeShare + statusShare + loginShare) {
+                token = login(report, session.email());
+            } else {
+                // A fresh description each time; repeats would only measure the match result cache
+                send(report, JOB_MATCHING, post("/api/v1/job-matching", token, Map.of(
+                        "resume", session.resumeId(),
+                        "type", "full-job",
+                        "textArea", "Backend engineer #" + jobCounter.incrementAndGet()
+                                + ": Java, Spring Boot, Kafka and PostgreSQL, five years of experience.")));
+            }
+        }
+    }
+
+    private String login(LoadReport report, String email) throws Exception {
+        HttpResponse<String> response = send(report, LOGIN, post("/api/v1/auth/login", null,
+                Map.of("email", email, "password", PASSWORD)));
+        return json.readTree(response.body()).path("token").asText();
+    }
+
+    // Times one request; a null report sends it unrecorded (warmup and status polling)
+    private HttpResponse<String> send(LoadReport report, String endpoint, HttpRequest request) throws Exception {
+        long started = System.nanoTime();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        long elapsed = System.nanoTime() - started;
+        if (report != null) {
+            report.record(endpoint, elapsed, response.statusCode() / 100 == 2);
+        }
+        return response;
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, Map<String, String> body) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + port + path);
+    }
+
+    private static byte[] multipart(String boundary, String fileName, byte[] content) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    // Smallest well-formed single-page PDF carrying the text, so uploads go through the real Tika path
+    private static byte[] resumePdf(String text) {
+        String stream = "BT /F1 11 Tf 72 720 Td (" + text.replace("(", "\\(").replace(")", "\\)") + ") Tj ET";
+        String[] objects = {
+                "<< /Type /Catalog /Pages 2 0 R >>",
+                "<< /Type /Pages /Kids [3 0 R] /Count 1 >>",
+                "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] /Contents 4 0 R "
+                        + "/Resources << /Font << /F1 5 0 R >> >> >>",
+                "<< /Length " + stream.length() + " >>\nstream\n" + stream + "\nendstream",
+                "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica >>"
+        };
+        StringBuilder pdf = new StringBuilder("%PDF-1.4\n");
+        int[] offsets = new int[objects.length];
+        for (int i = 0; i < objects.length; i++) {
+            offsets[i] = pdf.length();
+            pdf.append(i + 1).append(" 0 obj\n").append(objects[i]).append("\nendobj\n");
+        }
+        int xref = pdf.length();
+        pdf.append("xref\n0 ").append(objects.length + 1).append("\n0000000000 65535 f \n");
+        for (int offset : offsets) {
+            pdf.append(String.format("%010d 00000 n \n", offset));
+        }
+        pdf.append("trailer\n<< /Size ").append(objects.length + 1).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xref).append("\n%%EOF\n");
+        return pdf.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private record Session(String email, String token, String resumeId) {
+    }
+}
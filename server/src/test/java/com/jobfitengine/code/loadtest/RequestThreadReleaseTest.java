@@ -0,0 +1,128 @@
+package com.jobfitengine.code.loadtest;
+
+import com.jobfitengine.code.entity.Resume;
+import com.jobfitengine.code.entity.ResumeStatus;
+import com.jobfitengine.code.entity.User;
+import com.jobfitengine.code.repository.ResumeRepository;
+import com.jobfitengine.code.repository.UserRepository;
+import com.jobfitengine.code.service.JwtService;
+import com.jobfitengine.code.service.ResumeTextStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeAsyncClient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Job matches through the whole HTTP stack with Tomcat capped at a few request threads and a slow
+ * {@link MatcherStub}. The controller returns a {@code Mono}, so a request thread is handed back while
+ * the matcher call is in flight: many more matches than threads complete in about one matcher
+ * latency instead of queueing behind each other for one latency per thread's worth of requests.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"server.tomcat.threads.max=" + RequestThreadReleaseTest.TOMCAT_THREADS,
+                "server.tomcat.threads.min-spare=" + RequestThreadReleaseTest.TOMCAT_THREADS})
+@ActiveProfiles("loadtest")
+@Tag("load")
+class RequestThreadReleaseTest {
+
+    static final int TOMCAT_THREADS = 4;
+    private static final int REQUESTS = 32;
+    private static final Duration MATCHER_LATENCY = Duration.ofMillis(400);
+
+    private static MatcherStub matcher;
+
+    @MockitoBean
+    private BedrockRuntimeAsyncClient bedrockRuntimeAsyncClient;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ResumeRepository resumeRepository;
+    @Autowired
+    private ResumeTextStore resumeTextStore;
+    @Autowired
+    private JwtService jwtService;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @DynamicPropertySource
+    static void matcherUrl(DynamicPropertyRegistry registry) throws IOException {
+        matcher = new MatcherStub();
+        registry.add("python.matcher.url", matcher::url);
+    }
+
+    @AfterAll
+    static void stopMatcher() {
+        matcher.close();
+    }
+
+    @Test
+    void matchesWaitingOnTheMatcherDoNotHoldRequestThreads() throws Exception {
+        matcher.configure(MATCHER_LATENCY, MATCHER_LATENCY, 0);
+        User user = new User();
+        user.setEmail("threads-" + UUID.randomUUID() + "@example.com");
+        user.setName("Thread Release");
+        user.setPassword("unused");
+        user = userRepository.save(user);
+
+        Resume resume = new Resume();
+        resume.setFileName("resume.pdf");
+        resume.setFileSize(1L);
+        resume.setFileType("pdf");
+        resume.setProcessingStatus(ResumeStatus.READY);
+        resume.setUser(user);
+        resume = resumeRepository.save(resume);
+        resumeTextStore.save(resume.getId(), "Senior Java developer with Spring Boot, PostgreSQL and Docker.");
+        String token = jwtService.generateToken(user.getId(), user.getEmail(), user.getRole());
+
+        // Warms up the request path so the timed requests measure waiting, not first-call setup
+        assertThat(match(resume.getId(), token, -1).join().statusCode()).isEqualTo(200);
+
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(match(resume.getId(), token, i));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(responses).allSatisfy(response -> assertThat(response.join().statusCode()).isEqualTo(200));
+        assertThat(matcher.calls.get()).isEqualTo(REQUESTS + 1);
+        // Holding a thread per request would take REQUESTS / TOMCAT_THREADS matcher latencies (3.2s)
+        assertThat(elapsed).isLessThan(MATCHER_LATENCY.multipliedBy(REQUESTS / TOMCAT_THREADS / 2));
+    }
+
+    // Distinct descriptions so no request is answered from the match result cache
+    private CompletableFuture<HttpResponse<String>> match(UUID resumeId, String token, int job) {
+        String body = "{\"resume\": \"" + resumeId + "\", \"type\": \"full-job\", "
+                + "\"textArea\": \"Backend engineer #" + job + ": Java, Spring Boot and Kafka.\"}";
+        return http.sendAsync(HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/v1/job-matching"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,174 @@
+package com.jobfitengine.code.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.comprehend.ComprehendAsyncClient;
+import software.amazon.awssdk.services.comprehend.model.BatchDetectEntitiesItemResult;
+import software.amazon.awssdk.services.comprehend.model.BatchDetectEntitiesRequest;
+import software.amazon.awssdk.services.comprehend.model.BatchDetectEntitiesResponse;
+import software.amazon.awssdk.services.comprehend.model.BatchDetectKeyPhrasesItemResult;
+import software.amazon.awssdk.services.comprehend.model.BatchDetectKeyPhrasesRequest;
+import software.amazon.awssdk.services.comprehend.model.BatchDetectKeyPhrasesResponse;
+import software.amazon.awssdk.services.comprehend.model.BatchDetectSyntaxItemResult;
+import software.amazon.awssdk.services.comprehend.model.BatchDetectSyntaxRequest;
+import software.amazon.awssdk.services.comprehend.model.BatchDetectSyntaxResponse;
+import software.amazon.awssdk.services.comprehend.model.BatchItemError;
+import software.amazon.awssdk.services.comprehend.model.Entity;
+import software.amazon.awssdk.services.comprehend.model.KeyPhrase;
+import software.amazon.awssdk.services.comprehend.model.PartOfSpeechTag;
+import software.amazon.awssdk.services.comprehend.model.PartOfSpeechTagType;
+import software.amazon.awssdk.services.comprehend.model.SyntaxToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AwsComprehendServiceTest {
+
+    private final ComprehendAsyncClient client = mock(ComprehendAsyncClient.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private AwsComprehendService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        service = new AwsComprehendService(client, new SkillDictionary(new ClassPathResource("skills/skills.txt")),
+                new PipelineMetrics(registry));
+        // One sentence per document, so a handful of sentences spans several batches
+        ReflectionTestUtils.setField(service, "maxDocumentBytes", 12);
+    }
+
+    @Test
+    void mergesBatchesInDocumentOrderWhicheverFinishesFirst() {
+        List<String> documents = documents(30);
+        when(client.batchDetectKeyPhrases(any(BatchDetectKeyPhrasesRequest.class))).thenAnswer(invocation -> {
+            List<String> batch = invocation.<BatchDetectKeyPhrasesRequest>getArgument(0).textList();
+            List<BatchDetectKeyPhrasesItemResult> results = new ArrayList<>();
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                results.add(BatchDetectKeyPhrasesItemResult.builder()
+                        .index(i)
+                        .keyPhrases(KeyPhrase.builder().text("Kafka").build(), phrase(batch.get(i)))
+                        .build());
+            }
+            BatchDetectKeyPhrasesResponse response = BatchDetectKeyPhrasesResponse.builder().resultList(results).build();
+            // The first batch answers last
+            return batch.get(0).equals(documents.get(0))
+                    ? CompletableFuture.supplyAsync(() -> response, CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS))
+                    : CompletableFuture.completedFuture(response);
+        });
+
+        List<String> skills = service.extractSkills(String.join(" ", documents));
+
+        verify(client, times(2)).batchDetectKeyPhrases(any(BatchDetectKeyPhrasesRequest.class));
+        List<String> expected = new ArrayList<>(List.of("Kafka"));
+        documents.forEach(document -> expected.add(phraseText(document)));
+        assertThat(skills).containsExactlyElementsOf(expected);
+        assertThat(calls("key_phrases", PipelineMetrics.SUCCESS)).isEqualTo(1);
+    }
+
+    @Test
+    void skipsDocumentsInTheErrorListAndKeepsTheRest() {
+        List<String> documents = documents(3);
+        when(client.batchDetectKeyPhrases(any(BatchDetectKeyPhrasesRequest.class))).thenReturn(
+                CompletableFuture.completedFuture(BatchDetectKeyPhrasesResponse.builder()
+                        .resultList(
+                                BatchDetectKeyPhrasesItemResult.builder().index(0).keyPhrases(phrase(documents.get(0))).build(),
+                                BatchDetectKeyPhrasesItemResult.builder().index(2).keyPhrases(phrase(documents.get(2))).build())
+                        .errorList(BatchItemError.builder()
+                                .index(1)
+                                .errorCode("TextSizeLimitExceededException")
+                                .errorMessage("Document is too long")
+                                .build())
+                        .build()));
+
+        List<String> skills = service.extractSkills(String.join(" ", documents));
+
+        assertThat(skills).containsExactly(phraseText(documents.get(0)), phraseText(documents.get(2)));
+        assertThat(calls("key_phrases", PipelineMetrics.PARTIAL)).isEqualTo(1);
+    }
+
+    @Test
+    void failedBatchLeavesOutOnlyItsOwnDocuments() {
+        List<String> documents = documents(30);
+        when(client.batchDetectKeyPhrases(any(BatchDetectKeyPhrasesRequest.class))).thenAnswer(invocation -> {
+            List<String> batch = invocation.<BatchDetectKeyPhrasesRequest>getArgument(0).textList();
+            if (!batch.get(0).equals(documents.get(0))) {
+                return CompletableFuture.failedFuture(new IllegalStateException("ThrottlingException"));
+            }
+            return CompletableFuture.completedFuture(BatchDetectKeyPhrasesResponse.builder()
+                    .resultList(IntStream.range(0, batch.size())
+                            .mapToObj(i -> BatchDetectKeyPhrasesItemResult.builder().index(i).keyPhrases(phrase(batch.get(i))).build())
+                            .toList())
+                    .build());
+        });
+
+        List<String> skills = service.extractSkills(String.join(" ", documents));
+
+        assertThat(skills).containsExactlyElementsOf(documents.subList(0, 25).stream().map(AwsComprehendServiceTest::phraseText).toList());
+        assertThat(calls("key_phrases", PipelineMetrics.PARTIAL)).isEqualTo(1);
+    }
+
+    @Test
+    void analyzeDeduplicatesEntitiesAndKeepsOnlyNounLikeTerms() {
+        when(client.batchDetectKeyPhrases(any(BatchDetectKeyPhrasesRequest.class))).thenReturn(
+                CompletableFuture.completedFuture(BatchDetectKeyPhrasesResponse.builder()
+                        .resultList(BatchDetectKeyPhrasesItemResult.builder().index(0).keyPhrases(
+                                KeyPhrase.builder().text("Spring Boot").build()).build())
+                        .build()));
+        when(client.batchDetectEntities(any(BatchDetectEntitiesRequest.class))).thenAnswer(invocation -> {
+            List<String> batch = invocation.<BatchDetectEntitiesRequest>getArgument(0).textList();
+            return CompletableFuture.completedFuture(BatchDetectEntitiesResponse.builder()
+                    .resultList(IntStream.range(0, batch.size())
+                            .mapToObj(i -> BatchDetectEntitiesItemResult.builder().index(i).entities(
+                                    Entity.builder().text("AWS").build()).build())
+                            .toList())
+                    .build());
+        });
+        when(client.batchDetectSyntax(any(BatchDetectSyntaxRequest.class))).thenReturn(
+                CompletableFuture.completedFuture(BatchDetectSyntaxResponse.builder()
+                        .resultList(BatchDetectSyntaxItemResult.builder().index(0).syntaxTokens(
+                                token("Kubernetes", PartOfSpeechTagType.PROPN),
+                                token("deployed", PartOfSpeechTagType.VERB),
+                                token("clusters", PartOfSpeechTagType.NOUN)).build())
+                        .build()));
+
+        AwsComprehendService.ComprehendAnalysis analysis = service.analyze("Doc 1. Doc 2.");
+
+        assertThat(analysis.skills()).containsExactly("Spring Boot");
+        assertThat(analysis.entities()).containsExactly("AWS");
+        assertThat(analysis.technicalTerms()).containsExactly("Kubernetes", "clusters");
+    }
+
+    private long calls(String operation, String outcome) {
+        return registry.get(PipelineMetrics.COMPREHEND).tag("operation", operation).tag("outcome", outcome).timer().count();
+    }
+
+    private static List<String> documents(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "Doc " + i + ".").toList();
+    }
+
+    private static KeyPhrase phrase(String document) {
+        return KeyPhrase.builder().text(phraseText(document)).build();
+    }
+
+    // "Doc 7." yields "skill 7", long enough to pass the skill filter
+    private static String phraseText(String document) {
+        return "skill " + document.substring(4, document.length() - 1);
+    }
+
+    private static SyntaxToken token(String text, PartOfSpeechTagType tag) {
+        return SyntaxToken.builder().text(text).partOfSpeech(PartOfSpeechTag.builder().tag(tag).build()).build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.jobfitengine.code.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeAsyncClient;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelRequest;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BedrockEmbeddingServiceTest {
+
+    private static final String VECTOR = "{\"embedding\": [3.0, 4.0]}";
+
+    private final BedrockRuntimeAsyncClient client = mock(BedrockRuntimeAsyncClient.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BedrockEmbeddingService service =
+            new BedrockEmbeddingService(client, new PipelineMetrics(registry), new TextChunker(8, 2), 2, 1, 100);
+    private final List<CompletableFuture<InvokeModelResponse>> calls = new CopyOnWriteArrayList<>();
+
+    @Test
+    void streamsEmbeddingArrayIntoPrimitiveVector() throws IOException {
+        String body = "{\"inputTextTokenCount\": 3, \"meta\": {\"embedding\": [9]}, \"embedding\": [3.0, 4, -0.0e0]}";
+
+        Embedding embedding = service.parseEmbedding(stream(body));
+
+        assertThat(embedding.dimension()).isEqualTo(3);
+        assertThat(embedding.toArray()).containsExactly(new float[]{0.6f, 0.8f, 0f}, within(1e-6f));
+    }
+
+    @Test
+    void returnsEmptyEmbeddingWhenFieldIsMissing() throws IOException {
+        assertThat(service.parseEmbedding(stream("{\"message\": \"throttled\"}")).isEmpty()).isTrue();
+    }
+
+    @Test
+    void payloadStaysValidJsonForQuotesBackslashesAndNewlines() throws IOException {
+        when(client.invokeModel(any(InvokeModelRequest.class))).thenReturn(CompletableFuture.completedFuture(response()));
+        String text = "C:\\dev \"lead\"\nJava\tdeveloper";
+
+        assertThat(service.generateEmbedding(text).isEmpty()).isFalse();
+
+        ArgumentCaptor<InvokeModelRequest> request = ArgumentCaptor.forClass(InvokeModelRequest.class);
+        verify(client).invokeModel(request.capture());
+        assertThat(new ObjectMapper().readTree(request.getValue().body().asUtf8String()).get("inputText").asText())
+                .isEqualTo(text);
+    }
+
+    @Test
+    void concurrentRequestsForTheSameTextShareOneCall() {
+        holdCalls();
+
+        CompletableFuture<Embedding> first = service.generateEmbeddingAsync("Java job");
+        CompletableFuture<Embedding> second = service.generateEmbeddingAsync("Java job");
+        calls.get(0).complete(response());
+
+        assertThat(first.join()).isSameAs(second.join());
+        verify(client, times(1)).invokeModel(any(InvokeModelRequest.class));
+        assertThat(registry.get(PipelineMetrics.BEDROCK_REQUESTS).tags("result", "coalesced").counter().count())
+                .isEqualTo(1);
+
+        // Once the call is done the same text comes from the cache
+        assertThat(service.generateEmbeddingAsync("Java job").join()).isSameAs(first.join());
+        verify(client, times(1)).invokeModel(any(InvokeModelRequest.class));
+    }
+
+    @Test
+    void limitsCallsInFlightAndQueuesTheRest() {
+        holdCalls();
+
+        CompletableFuture<Embedding> first = service.generateEmbeddingAsync("one");
+        service.generateEmbeddingAsync("two");
+        CompletableFuture<Embedding> third = service.generateEmbeddingAsync("three");
+        assertThat(calls).hasSize(2);
+
+        // Queue capacity is one, so a fourth distinct text is turned away rather than waiting
+        assertThat(service.generateEmbeddingAsync("four").join().isEmpty()).isTrue();
+
+        calls.get(0).complete(response());
+        assertThat(first.join().isEmpty()).isFalse();
+        assertThat(calls).hasSize(3);
+        calls.get(2).completeExceptionally(new IllegalStateException("ThrottlingException"));
+        assertThat(third.join().isEmpty()).isTrue();
+    }
+
+    @Test
+    void semanticSimilarityEmbedsBothTextsAtOnce() {
+        holdCalls();
+
+        CompletableFuture<Double> similarity = CompletableFuture.supplyAsync(
+                () -> service.calculateSemanticSimilarity("resume text", "job text"));
+        while (calls.size() < 2) {
+            Thread.onSpinWait();
+        }
+        calls.forEach(call -> call.complete(response()));
+
+        assertThat(similarity.join()).isCloseTo(1.0, within(1e-6));
+    }
+
+    @Test
+    void editedTextOnlyReEmbedsTheChunksThatChanged() {
+        when(client.invokeModel(any(InvokeModelRequest.class))).thenReturn(CompletableFuture.completedFuture(response()));
+        String original = "Java developer at Acme. Built payment services in Spring. Led a team of five engineers.";
+        String edited = "Java developer at Acme. Built payment services in Spring. Mentored three junior engineers.";
+
+        ChunkedEmbedding first = service.embedChunks(original);
+        verify(client, times(3)).invokeModel(any(InvokeModelRequest.class));
+        ChunkedEmbedding second = service.embedChunks(edited);
+
+        assertThat(first.chunks()).hasSize(3);
+        assertThat(second.chunks()).hasSize(3);
+        verify(client, times(4)).invokeModel(any(InvokeModelRequest.class));
+    }
+
+    // Every Bedrock call stays pending until the test completes it
+    private void holdCalls() {
+        when(client.invokeModel(any(InvokeModelRequest.class))).thenAnswer(invocation -> {
+            CompletableFuture<InvokeModelResponse> call = new CompletableFuture<>();
+            calls.add(call);
+            return call;
+        });
+    }
+
+    private static InvokeModelResponse response() {
+        return InvokeModelResponse.builder().body(SdkBytes.fromUtf8String(VECTOR)).build();
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
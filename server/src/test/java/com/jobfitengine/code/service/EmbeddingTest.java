@@ -0,0 +1,107 @@
+package com.jobfitengine.code.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class EmbeddingTest {
+
+    @Test
+    void normalizesOnceSoCosineIsAPlainDotProduct() {
+        Embedding a = Embedding.of(new float[]{3f, 4f});
+        Embedding b = Embedding.of(new float[]{6f, 8f});
+        Embedding c = Embedding.of(new float[]{-4f, 3f});
+
+        assertThat(a.toArray()).containsExactly(new float[]{0.6f, 0.8f}, within(1e-6f));
+        assertThat(a.cosineSimilarity(b)).isCloseTo(1.0, within(1e-6));
+        assertThat(a.cosineSimilarity(c)).isCloseTo(0.0, within(1e-6));
+    }
+
+    @Test
+    void chunkedEmbeddingBlendsMeanWithBestChunkMatches() {
+        Embedding java = Embedding.of(new float[]{1f, 0f, 0f});
+        Embedding kafka = Embedding.of(new float[]{0f, 1f, 0f});
+        Embedding hobbies = Embedding.of(new float[]{0f, 0f, 1f});
+        ChunkedEmbedding resume = ChunkedEmbedding.of(List.of(java, kafka, hobbies));
+        ChunkedEmbedding job = ChunkedEmbedding.of(List.of(java, kafka));
+
+        double mean = resume.mean().cosineSimilarity(job.mean());
+        assertThat(job.similarity(resume)).isCloseTo(0.5 * mean + 0.5 * 1.0, within(1e-6));
+        assertThat(ChunkedEmbedding.of(List.of(java)).similarity(ChunkedEmbedding.of(List.of(kafka))))
+                .isCloseTo(java.cosineSimilarity(kafka), within(1e-6));
+    }
+
+    @Test
+    void chunkedEmbeddingRoundTripsThroughBytes() {
+        ChunkedEmbedding chunks = ChunkedEmbedding.of(List.of(
+                Embedding.of(new float[]{3f, 4f}), Embedding.of(new float[]{-4f, 3f})));
+
+        ChunkedEmbedding copy = ChunkedEmbedding.fromBytes(chunks.toBytes(), 2);
+
+        assertThat(copy.chunks()).isEqualTo(chunks.chunks());
+        assertThat(copy.mean()).isEqualTo(chunks.mean());
+        assertThat(ChunkedEmbedding.of(List.of(Embedding.of(new float[]{1f}), Embedding.EMPTY)).isEmpty()).isTrue();
+    }
+
+    @Test
+    void matchesDoublePrecisionCosineAt1536Dimensions() {
+        Random random = new Random(1);
+        float[] x = randomVector(random, 1536);
+        float[] y = randomVector(random, 1536);
+
+        double dot = 0;
+        double normX = 0;
+        double normY = 0;
+        for (int i = 0; i < x.length; i++) {
+            dot += (double) x[i] * y[i];
+            normX += (double) x[i] * x[i];
+            normY += (double) y[i] * y[i];
+        }
+
+        assertThat(Embedding.of(x).cosineSimilarity(Embedding.of(y)))
+                .isCloseTo(dot / (Math.sqrt(normX) * Math.sqrt(normY)), within(1e-5));
+    }
+
+    @Test
+    void scalarAndVectorizedDotProductsAgree() {
+        Random random = new Random(2);
+        for (int dimension : new int[]{1, 7, 64, 1023, 1536}) {
+            float[] x = randomVector(random, dimension);
+            float[] y = randomVector(random, dimension);
+            float expected = VectorMath.scalarDot(x, y);
+            assertThat(VectorMath.dot(x, y)).isCloseTo(expected, within(1e-3f));
+            if (VectorMath.isVectorized()) {
+                assertThat(VectorMath.simdDot(x, y)).isCloseTo(expected, within(1e-3f));
+            }
+        }
+    }
+
+    @Test
+    void handlesEmptyZeroAndMismatchedVectors() {
+        assertThat(Embedding.EMPTY.cosineSimilarity(Embedding.of(new float[]{1f}))).isZero();
+        assertThat(Embedding.of(new float[]{0f, 0f}).cosineSimilarity(Embedding.of(new float[]{1f, 0f}))).isZero();
+        assertThat(Embedding.of(new float[]{1f, 0f}).cosineSimilarity(Embedding.of(new float[]{1f, 0f, 0f}))).isZero();
+    }
+
+    @Test
+    void roundTripsThroughCompactBytes() {
+        Embedding embedding = Embedding.of(randomVector(new Random(3), 1536));
+
+        byte[] bytes = embedding.toBytes();
+
+        assertThat(bytes).hasSize(1536 * Float.BYTES);
+        assertThat(Embedding.fromBytes(bytes)).isEqualTo(embedding);
+    }
+
+    private static float[] randomVector(Random random, int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,123 @@
+package com.jobfitengine.code.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HnswIndexTest {
+
+    private static final int DIMENSION = 128;
+
+    @Test
+    void recallAtTenAgainstBruteForce() {
+        Random random = new Random(11);
+        List<Embedding> vectors = clustered(random, 5_000);
+        HnswIndex<Integer> index = new HnswIndex<>(16, 200, 7);
+        for (int i = 0; i < vectors.size(); i++) {
+            index.add(i, vectors.get(i));
+        }
+
+        int queries = 200;
+        int hits = 0;
+        for (int q = 0; q < queries; q++) {
+            Embedding query = perturb(random, vectors.get(random.nextInt(vectors.size())), 0.3f);
+            Set<Integer> expected = new HashSet<>(bruteForce(vectors, query, 10));
+            for (HnswIndex.Neighbor<Integer> neighbour : index.search(query, 10, 100)) {
+                if (expected.contains(neighbour.key())) {
+                    hits++;
+                }
+            }
+        }
+
+        assertThat(hits / (double) (queries * 10)).isGreaterThanOrEqualTo(0.95);
+    }
+
+    @Test
+    void returnsExactSimilaritiesBestFirst() {
+        HnswIndex<String> index = new HnswIndex<>(8, 50, 1);
+        index.add("a", Embedding.of(new float[]{1f, 0f}));
+        index.add("b", Embedding.of(new float[]{1f, 1f}));
+        index.add("c", Embedding.of(new float[]{0f, 1f}));
+
+        List<HnswIndex.Neighbor<String>> result = index.search(Embedding.of(new float[]{1f, 0.1f}), 2, 10);
+
+        assertThat(result).extracting(HnswIndex.Neighbor::key).containsExactly("a", "b");
+        assertThat(result.get(0).similarity()).isCloseTo(1 / Math.sqrt(1.01), within(1e-6));
+    }
+
+    @Test
+    void removedAndReplacedVectorsAreNeverReturned() {
+        Random random = new Random(3);
+        List<Embedding> vectors = clustered(random, 500);
+        HnswIndex<Integer> index = new HnswIndex<>(8, 100, 5);
+        for (int i = 0; i < vectors.size(); i++) {
+            index.add(i, vectors.get(i));
+        }
+
+        index.remove(0);
+        Embedding moved = perturb(random, vectors.get(1), 2f);
+        index.add(1, moved);
+
+        assertThat(index.size()).isEqualTo(499);
+        assertThat(index.search(vectors.get(0), 10, 50)).extracting(HnswIndex.Neighbor::key).doesNotContain(0);
+        List<HnswIndex.Neighbor<Integer>> nearMoved = index.search(moved, 500, 500);
+        assertThat(nearMoved.get(0).key()).isEqualTo(1);
+        assertThat(nearMoved).extracting(HnswIndex.Neighbor::key).doesNotHaveDuplicates();
+
+        index.compact();
+        assertThat(index.deletedCount()).isZero();
+        assertThat(index.search(moved, 1, 50).get(0).key()).isEqualTo(1);
+    }
+
+    @Test
+    void ignoresQueriesOfAnotherDimension() {
+        HnswIndex<String> index = new HnswIndex<>(8, 50, 1);
+        index.add("a", Embedding.of(new float[]{1f, 0f}));
+
+        assertThat(index.search(Embedding.of(new float[]{1f, 0f, 0f}), 1, 10)).isEmpty();
+    }
+
+    static List<Integer> bruteForce(List<Embedding> vectors, Embedding query, int k) {
+        return IntStream.range(0, vectors.size()).boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> vectors.get(i).cosineSimilarity(query)).reversed())
+                .limit(k)
+                .toList();
+    }
+
+    // Resume embeddings cluster by role, so random points around a few hundred centres are a fair stand-in
+    static List<Embedding> clustered(Random random, int count) {
+        List<float[]> centres = IntStream.range(0, Math.max(1, count / 20)).mapToObj(i -> gaussian(random)).toList();
+        return IntStream.range(0, count)
+                .mapToObj(i -> perturb(random, Embedding.of(centres.get(random.nextInt(centres.size()))), 0.5f))
+                .toList();
+    }
+
+    private static Embedding perturb(Random random, Embedding base, float scale) {
+        float[] values = base.toArray();
+        float[] noise = gaussian(random, values.length);
+        for (int i = 0; i < values.length; i++) {
+            values[i] += noise[i] * scale / (float) Math.sqrt(values.length);
+        }
+        return Embedding.of(values);
+    }
+
+    private static float[] gaussian(Random random) {
+        return gaussian(random, DIMENSION);
+    }
+
+    private static float[] gaussian(Random random, int dimension) {
+        float[] values = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            values[i] = (float) random.nextGaussian();
+        }
+        return values;
+    }
+}
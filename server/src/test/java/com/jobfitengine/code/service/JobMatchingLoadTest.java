@@ -0,0 +1,136 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.config.WebClientConfig;
+import com.jobfitengine.code.dto.JobMatchingResponse;
+import com.jobfitengine.code.entity.Resume;
+import com.jobfitengine.code.security.AuthenticatedUser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Drives many concurrent matches through the Python engine against a stub matcher whose latency is
+ * raised between runs. With the non-blocking path the JVM thread count must not follow the number
+ * of in-flight requests or the matcher latency.
+ */
+class JobMatchingLoadTest {
+
+    private static final int CONCURRENT_REQUESTS = 200;
+    private static final String RESPONSE = "{\"matchScore\": 61.5, \"matchedSkills\": [\"java\"], "
+            + "\"missingSkills\": [\"kafka\"], \"missingExperience\": [], \"otherMissing\": []}";
+
+    private final ScheduledExecutorService responder = Executors.newSingleThreadScheduledExecutor();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private volatile long latencyMillis;
+    private HttpServer matcher;
+    private JobMatchingService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        matcher = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        matcher.createContext("/analyze", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            // Reply later from the scheduler so the stub itself holds no thread per request
+            responder.schedule(() -> reply(exchange), latencyMillis, TimeUnit.MILLISECONDS);
+        });
+        matcher.start();
+
+        PipelineMetrics metrics = new PipelineMetrics(new SimpleMeterRegistry());
+        PythonMatchEngine engine = new PythonMatchEngine(new WebClientConfig().webClient(), metrics,
+                mock(LocalMatchEngine.class), CONCURRENT_REQUESTS, 20, 0.5, Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(engine, "pythonMatcherUrl", "http://127.0.0.1:" + matcher.getAddress().getPort());
+        ReflectionTestUtils.setField(engine, "pythonMatcherVersion", "1");
+        service = new JobMatchingService(mock(ResumeService.class), List.of(engine), new BatchMatchExecutor(2, 10),
+                new MatchResultCache(1 << 20, Duration.ofMinutes(5)), metrics, Schedulers.immediate());
+        ReflectionTestUtils.setField(service, "matcherEngine", PythonMatchEngine.NAME);
+    }
+
+    @AfterEach
+    void tearDown() {
+        matcher.stop(0);
+        responder.shutdownNow();
+    }
+
+    @Test
+    void threadCountStaysFlatAsMatcherLatencyRises() throws InterruptedException {
+        run(50);  // warm up the connection pool and event loops
+
+        int baseline = threads.getThreadCount();
+        int peakAtFastMatcher = run(100);
+        int peakAtSlowMatcher = run(1_000);
+
+        assertThat(peakAtSlowMatcher - baseline).isLessThan(CONCURRENT_REQUESTS / 10);
+        assertThat(peakAtSlowMatcher - peakAtFastMatcher).isLessThanOrEqualTo(4);
+    }
+
+    // Fires every request at once and returns the peak live thread count while they are in flight
+    private int run(long latency) throws InterruptedException {
+        latencyMillis = latency;
+        AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "load@example.com");
+        Resume resume = new Resume();
+        resume.setId(UUID.randomUUID());
+        resume.setExtractedText("Java developer");
+
+        AtomicInteger peak = new AtomicInteger(threads.getThreadCount());
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = new Thread(() -> {
+            while (running.get()) {
+                peak.accumulateAndGet(threads.getThreadCount(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.start();
+
+        List<JobMatchingResponse> responses = Flux.range(0, CONCURRENT_REQUESTS)
+                .flatMap(i -> service.performJobMatching(resume, user, "Job " + latency + "-" + i, "full-job"),
+                        CONCURRENT_REQUESTS)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        running.set(false);
+        sampler.join();
+
+        assertThat(responses).hasSize(CONCURRENT_REQUESTS).allMatch(JobMatchingResponse::isSuccess);
+        // Minus the sampler thread itself
+        return peak.get() - 1;
+    }
+
+    private static void reply(HttpExchange exchange) {
+        byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            out.write(body);
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+}
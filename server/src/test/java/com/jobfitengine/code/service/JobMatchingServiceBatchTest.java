@@ -0,0 +1,196 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.dto.BatchJobMatchingResponse;
+import com.jobfitengine.code.dto.JobMatchingResponse;
+import com.jobfitengine.code.entity.Resume;
+import com.jobfitengine.code.security.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class JobMatchingServiceBatchTest {
+
+    private final BatchMatchExecutor executor = new BatchMatchExecutor(3, 100);
+    private final CountingEngine engine = new CountingEngine();
+    private final MatchResultCache cache = new MatchResultCache(1 << 20, Duration.ofMinutes(5));
+    private final JobMatchingService service = new JobMatchingService(mock(ResumeService.class), List.of(engine), executor,
+            cache, new PipelineMetrics(new SimpleMeterRegistry()), Schedulers.immediate());
+
+    private final AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "batch@example.com");
+    private final Resume resume = new Resume();
+
+    JobMatchingServiceBatchTest() {
+        ReflectionTestUtils.setField(service, "matcherEngine", "counting");
+        ReflectionTestUtils.setField(service, "maxBatchJobs", 50);
+        resume.setExtractedText("Java developer");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void preparesResumeOnceAndKeepsInputOrder() {
+        List<String> jobs = IntStream.range(0, 30).mapToObj(i -> "job " + i).toList();
+
+        BatchJobMatchingResponse response = service.performBatchJobMatching(resume, user, jobs, "full-job").block();
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getSucceeded()).isEqualTo(30);
+        assertThat(engine.prepared).hasValue(1);
+        assertThat(response.getResults()).extracting(JobMatchingResponse::getMatchingScore)
+                .containsExactlyElementsOf(IntStream.range(0, 30).mapToObj(i -> (double) i).toList());
+    }
+
+    @Test
+    void reportsItemFailuresWithoutFailingTheBatch() {
+        List<String> jobs = new ArrayList<>(List.of("job 1", "fail", " ", "job 4"));
+
+        BatchJobMatchingResponse response = service.performBatchJobMatching(resume, user, jobs, "full-job").block();
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(JobMatchingResponse::isSuccess)
+                .containsExactly(true, false, false, true);
+        assertThat(response.getResults().get(1).getMessage()).contains("engine exploded");
+        assertThat(response.getResults().get(2).getMessage()).isEqualTo("No job description provided");
+    }
+
+    @Test
+    void analysisErrorsFailAndAreNeverCached() {
+        BatchJobMatchingResponse first = service.performBatchJobMatching(resume, user, List.of("error", "job 2"), "full-job").block();
+        BatchJobMatchingResponse second = service.performBatchJobMatching(resume, user, List.of("error"), "full-job").block();
+
+        assertThat(first.getResults()).extracting(JobMatchingResponse::isSuccess).containsExactly(false, true);
+        assertThat(first.getResults().get(0).getMatchingScore()).isZero();
+        assertThat(second.getFailed()).isEqualTo(1);
+        assertThat(engine.analyzed).hasValue(3);
+        assertThat(cache.estimatedSize()).isEqualTo(1);
+    }
+
+    @Test
+    void engineExceptionsFailASingleMatch() {
+        JobMatchingResponse response = service.performJobMatching(resume, user, "job 1", "full-job").block();
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getMessage()).contains("single analysis unsupported");
+        assertThat(cache.estimatedSize()).isZero();
+    }
+
+    @Test
+    void neverRunsMoreAnalysesThanTheConcurrencyLimit() {
+        List<String> jobs = IntStream.range(0, 40).mapToObj(i -> "job " + i).toList();
+
+        service.performBatchJobMatching(resume, user, jobs, "full-job").block();
+
+        assertThat(engine.maxInFlight.get()).isBetween(1, 3);
+    }
+
+    @Test
+    void rejectsOversizedBatches() {
+        List<String> jobs = IntStream.range(0, 51).mapToObj(i -> "job " + i).toList();
+
+        BatchJobMatchingResponse response = service.performBatchJobMatching(resume, user, jobs, "full-job").block();
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(engine.prepared).hasValue(0);
+    }
+
+    @Test
+    void itemsBeyondAFullQueueFailWithoutAbortingTheBatch() throws Exception {
+        BatchMatchExecutor small = new BatchMatchExecutor(1, 2);
+        JobMatchingService smallService = new JobMatchingService(mock(ResumeService.class), List.of(engine), small,
+                new MatchResultCache(1 << 20, Duration.ofMinutes(5)), new PipelineMetrics(new SimpleMeterRegistry()), Schedulers.immediate());
+        ReflectionTestUtils.setField(smallService, "matcherEngine", "counting");
+        ReflectionTestUtils.setField(smallService, "maxBatchJobs", 50);
+        // Holds the only worker so the items are all submitted from it while it prepares the resume
+        CountDownLatch release = new CountDownLatch(1);
+        small.submit(() -> {
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        try {
+            List<String> jobs = IntStream.range(0, 5).mapToObj(i -> "job " + i).toList();
+            CompletableFuture<BatchJobMatchingResponse> pending =
+                    smallService.performBatchJobMatching(resume, user, jobs, "full-job").toFuture();
+            release.countDown();
+
+            BatchJobMatchingResponse response = pending.get();
+
+            assertThat(response.isSuccess()).isTrue();
+            assertThat(response.getSucceeded()).isEqualTo(2);
+            assertThat(response.getFailed()).isEqualTo(3);
+            assertThat(response.getResults().get(4).getMessage()).contains("Batch matching queue is full");
+        } finally {
+            small.shutdown();
+        }
+    }
+
+    private static final class CountingEngine implements MatchEngine {
+
+        final AtomicInteger prepared = new AtomicInteger();
+        final AtomicInteger analyzed = new AtomicInteger();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        public String getName() {
+            return "counting";
+        }
+
+        @Override
+        public MatchResult analyze(String resumeText, String jobDescription) {
+            throw new UnsupportedOperationException("single analysis unsupported");
+        }
+
+        @Override
+        public PreparedResume prepare(Resume resume) {
+            prepared.incrementAndGet();
+            return jobDescription -> {
+                analyzed.incrementAndGet();
+                int running = inFlight.incrementAndGet();
+                maxInFlight.accumulateAndGet(running, Math::max);
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextInt(1, 5));
+                    if (jobDescription.equals("fail")) {
+                        throw new IllegalStateException("engine exploded");
+                    }
+                    if (jobDescription.equals("error")) {
+                        // What the Python matcher sends back when its analysis throws
+                        return new MatchResult(0.0, List.of(), List.of(), List.of(),
+                                List.of(MatchResult.ANALYSIS_ERROR + "invalid literal"));
+                    }
+                    double score = Double.parseDouble(jobDescription.substring(4));
+                    return new MatchResult(score, List.of(), List.of(), List.of(), List.of());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.entity.UserRole;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hmac-sha-256-signing";
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void verifiesOnceAndServesRepeatsFromTheCache() {
+        JwtService service = new JwtService(SECRET, 60_000, 100, Duration.ofMinutes(5));
+        String token = service.generateToken(userId, "dev@example.com");
+
+        JwtService.VerifiedToken verified = service.verify(token);
+
+        assertThat(verified.email()).isEqualTo("dev@example.com");
+        assertThat(verified.userId()).isEqualTo(userId);
+        assertThat(verified.expiresAt()).isAfter(Instant.now());
+        assertThat(service.verify(token)).isSameAs(verified);
+        assertThat(service.isTokenValid(token, "dev@example.com")).isTrue();
+        assertThat(service.isTokenValid(token, "other@example.com")).isFalse();
+    }
+
+    @Test
+    void carriesTheUserRoleAndTreatsTokensWithoutOneAsUsers() {
+        JwtService service = new JwtService(SECRET, 60_000, 100, Duration.ofMinutes(5));
+
+        assertThat(service.verify(service.generateToken(userId, "hr@example.com", UserRole.RECRUITER)).role())
+                .isEqualTo(UserRole.RECRUITER);
+        assertThat(service.verify(service.generateToken(userId, "dev@example.com")).role()).isEqualTo(UserRole.USER);
+        assertThat(UserRole.ADMIN.authorities()).extracting(Object::toString).containsExactly("USER", "ADMIN");
+    }
+
+    @Test
+    void rejectsTokensSignedWithAnotherKey() {
+        JwtService service = new JwtService(SECRET, 60_000, 100, Duration.ofMinutes(5));
+        JwtService other = new JwtService(SECRET + "-other", 60_000, 100, Duration.ofMinutes(5));
+        String token = other.generateToken(userId, "dev@example.com");
+
+        assertThatThrownBy(() -> service.verify(token)).isInstanceOf(JwtException.class);
+        assertThat(service.isTokenValid(token, "dev@example.com")).isFalse();
+    }
+
+    @Test
+    void cachedTokensStopVerifyingWhenTheyExpire() throws Exception {
+        JwtService service = new JwtService(SECRET, 1_500, 100, Duration.ofMinutes(5));
+        String token = service.generateToken(userId, "dev@example.com");
+        service.verify(token);
+
+        Thread.sleep(1_600);
+
+        assertThatThrownBy(() -> service.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+}
@@ -0,0 +1,135 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.entity.LocalEmbeddingIdf;
+import com.jobfitengine.code.repository.LocalEmbeddingIdfRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LocalEmbeddingProviderTest {
+
+    private static final List<String> RESUMES = List.of(
+            "Experienced software engineer. Go and Kubernetes.",
+            "Experienced software engineer. React and TypeScript.",
+            "Experienced software engineer. Rust and embedded systems.",
+            "Experienced software engineer. Ruby on Rails.");
+
+    private final ResumeTextStore resumeTextStore = mock(ResumeTextStore.class);
+    private final LocalEmbeddingIdfRepository idfRepository = mock(LocalEmbeddingIdfRepository.class);
+    private final LocalEmbeddingProvider provider = newProvider();
+
+    @Test
+    void embedsIntoFixedDimensionDeterministically() {
+        ChunkedEmbedding first = provider.embedChunks("Senior Java developer, Spring Boot and Kafka.");
+        ChunkedEmbedding second = provider.embedChunks("Senior Java developer, Spring Boot and Kafka.");
+
+        assertThat(first.dimension()).isEqualTo(1024);
+        assertThat(first.mean().toArray()).containsExactly(second.mean().toArray());
+        assertThat(first.similarity(second)).isCloseTo(1.0, within(1e-6));
+        assertThat(provider.embedChunks("   ").isEmpty()).isTrue();
+    }
+
+    @Test
+    void relatedTextsScoreAboveUnrelatedOnes() {
+        String job = "Backend engineer with Java, Spring Boot and PostgreSQL experience.";
+        String related = "Java developer building Spring Boot services on PostgreSQL.";
+        String unrelated = "Pastry chef experienced in French desserts and bread baking.";
+
+        assertThat(provider.calculateSemanticSimilarity(job, related))
+                .isGreaterThan(provider.calculateSemanticSimilarity(job, unrelated) + 0.2);
+    }
+
+    @Test
+    void characterGramsMatchInflectedWords() {
+        assertThat(provider.calculateSemanticSimilarity("developers", "developer")).isGreaterThan(0.5);
+    }
+
+    @Test
+    void learnedIdfDownWeightsTermsEveryResumeShares() {
+        String java = "experienced software engineer Java";
+        String python = "experienced software engineer Python";
+        double before = provider.calculateSemanticSimilarity(java, python);
+        String untrainedModel = provider.getModelId();
+
+        storedResumes(RESUMES);
+        provider.warmUp();
+
+        assertThat(provider.getModelId()).isNotEqualTo(untrainedModel).startsWith("local-tfidf-1024-");
+        assertThat(provider.calculateSemanticSimilarity(java, python)).isLessThan(before);
+        verify(idfRepository).save(any(LocalEmbeddingIdf.class));
+    }
+
+    @Test
+    void restartsReloadTheStoredTableWhateverTheCorpusHoldsNow() {
+        storedResumes(RESUMES);
+        provider.warmUp();
+        LocalEmbeddingIdf saved = savedTable();
+        String text = "Java developer building Spring Boot services on PostgreSQL.";
+
+        LocalEmbeddingProvider restarted = newProvider();
+        when(idfRepository.findFirstByDimensionOrderByCreatedAtDesc(1024)).thenReturn(Optional.of(saved));
+        storedResumes(List.of("Pastry chef. French desserts and bread baking."));
+        restarted.warmUp();
+
+        assertThat(restarted.getModelId()).isEqualTo(provider.getModelId());
+        assertThat(restarted.embedChunks(text).mean().toArray()).containsExactly(provider.embedChunks(text).mean().toArray());
+    }
+
+    @Test
+    void refreshRelearnsEvenWithAStoredTable() {
+        storedResumes(RESUMES);
+        provider.warmUp();
+        LocalEmbeddingIdf saved = savedTable();
+        when(idfRepository.findFirstByDimensionOrderByCreatedAtDesc(1024)).thenReturn(Optional.of(saved));
+
+        LocalEmbeddingProvider refreshed = newProvider();
+        ReflectionTestUtils.setField(refreshed, "refreshIdf", true);
+        storedResumes(List.of("Pastry chef. French desserts and bread baking.", "Sous chef. Sauces and pastry."));
+        refreshed.warmUp();
+
+        assertThat(refreshed.getModelId()).startsWith("local-tfidf-1024-").isNotEqualTo(provider.getModelId());
+    }
+
+    @Test
+    void warmUpWithoutStoredResumesKeepsUniformWeights() {
+        storedResumes(List.of());
+        String model = provider.getModelId();
+
+        provider.warmUp();
+
+        assertThat(provider.getModelId()).isEqualTo(model);
+        verify(idfRepository, never()).save(any(LocalEmbeddingIdf.class));
+    }
+
+    private LocalEmbeddingProvider newProvider() {
+        return new LocalEmbeddingProvider(new TextChunker(400, 50), resumeTextStore, idfRepository, 1024, 100);
+    }
+
+    private LocalEmbeddingIdf savedTable() {
+        ArgumentCaptor<LocalEmbeddingIdf> saved = ArgumentCaptor.forClass(LocalEmbeddingIdf.class);
+        verify(idfRepository).save(saved.capture());
+        return saved.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void storedResumes(List<String> texts) {
+        doAnswer(invocation -> {
+            texts.forEach(invocation.<Consumer<String>>getArgument(1));
+            return texts.size();
+        }).when(resumeTextStore).forEachText(anyInt(), any(Consumer.class));
+    }
+}
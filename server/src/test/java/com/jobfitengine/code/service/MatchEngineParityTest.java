@@ -0,0 +1,106 @@
+package com.jobfitengine.code.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks the in-JVM engine against reference output of the Python {@code ResumeJobMatcher}
+ * recorded in {@code matching/parity-corpus.json}. The reference was produced with the spaCy stage
+ * disabled and a fixed semantic similarity, so every pattern-driven step must agree exactly,
+ * including dictionary aliases, overlapping terms and the regex boundaries around "c++", "c#" and
+ * "node.js".
+ */
+class MatchEngineParityTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final LocalMatchEngine localEngine = new LocalMatchEngine(skillDictionary(), mock(ResumeEmbeddingService.class));
+
+    static Stream<JsonNode> corpus() throws IOException {
+        try (InputStream in = MatchEngineParityTest.class.getResourceAsStream("/matching/parity-corpus.json")) {
+            List<JsonNode> cases = new ArrayList<>();
+            MAPPER.readTree(in).forEach(cases::add);
+            return cases.stream();
+        }
+    }
+
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("corpus")
+    void localEngineMatchesPythonReference(JsonNode testCase) {
+        String resumeText = testCase.get("resumeText").asText();
+        String jobDescription = testCase.get("jobDescription").asText();
+        JsonNode expected = testCase.get("expected");
+
+        List<String> resumeSkills = localEngine.extractSkills(resumeText);
+        List<String> jobSkills = localEngine.extractSkills(jobDescription);
+        assertThat(resumeSkills).containsExactlyInAnyOrderElementsOf(strings(expected.get("resumeSkills")));
+        assertThat(jobSkills).containsExactlyInAnyOrderElementsOf(strings(expected.get("jobSkills")));
+
+        MatchResult result = localEngine.analyze(resumeText, jobDescription,
+                expected.get("semanticSimilarity").asDouble());
+
+        assertThat(result.getMatchedSkills()).containsExactlyInAnyOrderElementsOf(strings(expected.get("matchedSkills")));
+        assertThat(result.getMissingSkills()).containsExactlyInAnyOrderElementsOf(strings(expected.get("missingSkills")));
+        assertThat(result.getMissingExperience()).containsExactlyElementsOf(strings(expected.get("missingExperience")));
+        assertThat(result.getMatchScore()).isEqualTo(expected.get("matchScore").asDouble());
+    }
+
+    // Runs both engines over the corpus; needs a live matcher, e.g. PYTHON_MATCHER_URL=http://localhost:5001
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("corpus")
+    @EnabledIfEnvironmentVariable(named = "PYTHON_MATCHER_URL", matches = ".+")
+    void localEngineAgreesWithLivePythonEngine(JsonNode testCase) {
+        PythonMatchEngine pythonEngine = new PythonMatchEngine(WebClient.create(), new PipelineMetrics(new SimpleMeterRegistry()),
+                localEngine, 8, 20, 0.5, Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(pythonEngine, "pythonMatcherUrl", System.getenv("PYTHON_MATCHER_URL"));
+
+        String resumeText = testCase.get("resumeText").asText();
+        String jobDescription = testCase.get("jobDescription").asText();
+
+        MatchResult local = localEngine.analyze(resumeText, jobDescription);
+        MatchResult remote = pythonEngine.analyze(resumeText, jobDescription);
+        assertThat(remote).isNotNull();
+        assertThat(remote.getOtherMissing()).isEmpty();
+
+        // spaCy only adds skills on the Python side, so the pattern-derived sets must be contained in it
+        Set<String> remoteJobSkills = new HashSet<>(remote.getMatchedSkills());
+        remoteJobSkills.addAll(remote.getMissingSkills());
+        assertThat(remote.getMatchedSkills()).containsAll(local.getMatchedSkills());
+        assertThat(remoteJobSkills).containsAll(localEngine.extractSkills(jobDescription));
+        assertThat(remote.getMissingExperience()).containsExactlyElementsOf(local.getMissingExperience());
+    }
+
+    private static SkillDictionary skillDictionary() {
+        try {
+            return new SkillDictionary(new ClassPathResource("skills/skills.txt"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<String> strings(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        array.forEach(node -> values.add(node.asText()));
+        return values;
+    }
+}
@@ -0,0 +1,150 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.dto.JobMatchingResponse;
+import com.jobfitengine.code.entity.Resume;
+import com.jobfitengine.code.security.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MatchResultCacheTest {
+
+    private final MatchEngine engine = mock(MatchEngine.class);
+    private final MatchResultCache cache = new MatchResultCache(1 << 20, Duration.ofMinutes(5));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JobMatchingService service = new JobMatchingService(
+            mock(ResumeService.class), List.of(engine), new BatchMatchExecutor(2, 10), cache,
+            new PipelineMetrics(registry), Schedulers.immediate());
+
+    private final AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "cache@example.com");
+    private final Resume resume = new Resume();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "matcherEngine", "local");
+        when(engine.getName()).thenReturn("local");
+        when(engine.getVersion()).thenReturn("1");
+        when(engine.analyzeAsync(any(Resume.class), anyString(), any(Scheduler.class))).thenCallRealMethod();
+        when(engine.analyze(any(Resume.class), anyString()))
+                .thenReturn(new MatchResult(72.5, List.of("java"), List.of("kafka"), List.of(), List.of()));
+
+        resume.setId(UUID.randomUUID());
+        resume.setExtractedText("Java developer");
+        resume.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+    }
+
+    @Test
+    void repeatAnalysisIsServedFromCache() {
+        JobMatchingResponse first = service.performJobMatching(resume, user, "Java and Kafka", "full-job").block();
+        JobMatchingResponse second = service.performJobMatching(resume, user, "  Java   and\nKafka ", "full-job").block();
+
+        assertThat(second).isSameAs(first);
+        verify(engine, times(1)).analyze(any(Resume.class), anyString());
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cacheHitsAndConversionsShowUpAsMeters() {
+        cache.bindTo(registry);
+
+        service.performJobMatching(resume, user, "Java and Kafka", "full-job").block();
+        service.performJobMatching(resume, user, "Java and Kafka", "full-job").block();
+
+        assertThat(registry.get(PipelineMetrics.MATCH_REQUESTS).tags("mode", "single", "result", "computed")
+                .counter().count()).isEqualTo(1);
+        assertThat(registry.get(PipelineMetrics.MATCH_REQUESTS).tags("mode", "single", "result", "cached")
+                .counter().count()).isEqualTo(1);
+        assertThat(registry.get(PipelineMetrics.RESPONSE_CONVERSION).timer().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tags("cache", "match_results", "result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void typeResumeVersionAndEngineVersionAreAllPartOfTheKey() {
+        service.performJobMatching(resume, user, "Java and Kafka", "full-job").block();
+        service.performJobMatching(resume, user, "Java and Kafka", "skills-section").block();
+
+        resume.setUpdatedAt(resume.getUpdatedAt().plusMinutes(1));
+        service.performJobMatching(resume, user, "Java and Kafka", "full-job").block();
+
+        when(engine.getVersion()).thenReturn("2");
+        service.performJobMatching(resume, user, "Java and Kafka", "full-job").block();
+
+        verify(engine, times(4)).analyze(any(Resume.class), anyString());
+    }
+
+    @Test
+    void invalidatingAResumeDropsOnlyItsEntries() {
+        Resume other = new Resume();
+        other.setId(UUID.randomUUID());
+        other.setExtractedText("Python developer");
+        service.performJobMatching(resume, user, "Java and Kafka", "full-job").block();
+        service.performJobMatching(other, user, "Java and Kafka", "full-job").block();
+
+        cache.invalidateResume(resume.getId());
+
+        assertThat(cache.estimatedSize()).isEqualTo(1);
+        service.performJobMatching(resume, user, "Java and Kafka", "full-job").block();
+        service.performJobMatching(other, user, "Java and Kafka", "full-job").block();
+        verify(engine, times(3)).analyze(any(Resume.class), anyString());
+    }
+
+    @Test
+    void failedAnalysesAreNotCached() {
+        when(engine.analyze(any(Resume.class), anyString())).thenReturn(null);
+
+        service.performJobMatching(resume, user, "Java and Kafka", "full-job").block();
+        service.performJobMatching(resume, user, "Java and Kafka", "full-job").block();
+
+        verify(engine, times(2)).analyze(any(Resume.class), anyString());
+        assertThat(cache.estimatedSize()).isZero();
+    }
+
+    @Test
+    void degradedAnalysesAreFlaggedAndNotCached() {
+        MatchResult fallback = new MatchResult(40.0, List.of("java"), List.of("kafka"), List.of(), List.of());
+        fallback.setDegraded(true);
+        when(engine.analyze(any(Resume.class), anyString())).thenReturn(fallback);
+
+        JobMatchingResponse response = service.performJobMatching(resume, user, "Java and Kafka", "full-job").block();
+        service.performJobMatching(resume, user, "Java and Kafka", "full-job").block();
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.isDegraded()).isTrue();
+        verify(engine, times(2)).analyze(any(Resume.class), anyString());
+        assertThat(cache.estimatedSize()).isZero();
+    }
+
+    @Test
+    void evictsByApproximateResponseSize() {
+        JobMatchingResponse response = service.performJobMatching(resume, user, "Java and Kafka", "full-job").block();
+        int weight = MatchResultCache.estimateSize(response);
+        MatchResultCache small = new MatchResultCache(weight * 3L, Duration.ofMinutes(5));
+
+        for (int i = 0; i < 10; i++) {
+            small.put(small.key(resume, "job " + i, "full-job", engine), response);
+        }
+
+        assertThat(small.estimatedSize()).isLessThanOrEqualTo(3);
+        assertThat(small.stats().evictionCount()).isGreaterThanOrEqualTo(7);
+        // Evicted entries leave the per-resume index too
+        assertThat(small.indexedKeys()).isEqualTo(small.estimatedSize());
+    }
+}
@@ -0,0 +1,171 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.config.WebClientConfig;
+import com.jobfitengine.code.entity.Resume;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PythonMatchEngineTest {
+
+    private final ScheduledExecutorService responder = Executors.newSingleThreadScheduledExecutor();
+    private final List<Stub> stubs = new ArrayList<>();
+    private final LocalMatchEngine fallback = mock(LocalMatchEngine.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        stubs.forEach(stub -> stub.server.stop(0));
+        responder.shutdownNow();
+    }
+
+    @Test
+    void failingMatcherOpensTheCircuitAndIsNoLongerCalled() throws IOException {
+        Stub matcher = stub(0, 500, 0);
+        PythonMatchEngine engine = engine(matcher, 8);
+        fallbackScore(35.0);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(engine.analyze("Java developer", "Java job").isDegraded()).isTrue();
+        }
+        assertThat(engine.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        MatchResult result = engine.analyze("Java developer", "Java job");
+
+        assertThat(result.getMatchScore()).isEqualTo(35.0);
+        assertThat(result.isDegraded()).isTrue();
+        assertThat(matcher.requests.get()).isEqualTo(4);
+        assertThat(registry.get(PipelineMetrics.PYTHON_MATCHER_EVENTS).tags("event", "circuit_open").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void slowMatcherIsCutOffAtTheTimeout() throws IOException {
+        PythonMatchEngine engine = engine(stub(2_000, 200, 70.0), 8);
+        ReflectionTestUtils.setField(engine, "timeout", Duration.ofMillis(200));
+        fallbackScore(35.0);
+
+        long start = System.nanoTime();
+        MatchResult result = engine.analyze("Java developer", "Java job");
+
+        assertThat(result.isDegraded()).isTrue();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void hedgeToTheSecondInstanceAnswersWhenThePrimaryIsSlow() throws IOException {
+        Stub primary = stub(2_000, 200, 70.0);
+        Stub secondary = stub(10, 200, 71.0);
+        PythonMatchEngine engine = engine(primary, 8);
+        ReflectionTestUtils.setField(engine, "hedgeUrl", secondary.url());
+        ReflectionTestUtils.setField(engine, "initialHedgeDelay", Duration.ofMillis(100));
+
+        long start = System.nanoTime();
+        MatchResult result = engine.analyze("Java developer", "Java job");
+
+        assertThat(result.getMatchScore()).isEqualTo(71.0);
+        assertThat(result.isDegraded()).isFalse();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(registry.get(PipelineMetrics.PYTHON_MATCHER_EVENTS).tags("event", "hedged").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void fastPrimaryIsNotHedged() throws IOException {
+        Stub primary = stub(10, 200, 70.0);
+        Stub secondary = stub(10, 200, 71.0);
+        PythonMatchEngine engine = engine(primary, 8);
+        ReflectionTestUtils.setField(engine, "hedgeUrl", secondary.url());
+        ReflectionTestUtils.setField(engine, "initialHedgeDelay", Duration.ofMillis(500));
+
+        assertThat(engine.analyze("Java developer", "Java job").getMatchScore()).isEqualTo(70.0);
+        assertThat(secondary.requests.get()).isZero();
+    }
+
+    @Test
+    void callsBeyondTheBulkheadAreAnsweredLocally() throws IOException {
+        Stub matcher = stub(500, 200, 70.0);
+        PythonMatchEngine engine = engine(matcher, 1);
+        fallbackScore(35.0);
+
+        Mono<MatchResult> first = engine.analyzeAsync(resume(), "Java job", Schedulers.immediate()).cache();
+        first.subscribe();
+        MatchResult second = engine.analyze("Java developer", "Java job");
+
+        assertThat(second.isDegraded()).isTrue();
+        assertThat(first.block().getMatchScore()).isEqualTo(70.0);
+        assertThat(matcher.requests.get()).isEqualTo(1);
+    }
+
+    private PythonMatchEngine engine(Stub matcher, int maxConcurrency) {
+        PythonMatchEngine engine = new PythonMatchEngine(new WebClientConfig().webClient(),
+                new PipelineMetrics(registry), fallback, maxConcurrency, 4, 0.5, Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(engine, "pythonMatcherUrl", matcher.url());
+        return engine;
+    }
+
+    private void fallbackScore(double score) {
+        when(fallback.analyzeLexical("Java developer", "Java job"))
+                .thenAnswer(invocation -> new MatchResult(score, List.of("java"), List.of(), List.of(), List.of()));
+    }
+
+    private static Resume resume() {
+        Resume resume = new Resume();
+        resume.setExtractedText("Java developer");
+        return resume;
+    }
+
+    // A matcher that answers every request after latencyMillis with the given status and score
+    private Stub stub(long latencyMillis, int status, double score) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 64);
+        Stub stub = new Stub(server, new AtomicInteger());
+        server.createContext("/analyze", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            stub.requests.incrementAndGet();
+            responder.schedule(() -> reply(exchange, status, score), latencyMillis, TimeUnit.MILLISECONDS);
+        });
+        server.start();
+        stubs.add(stub);
+        return stub;
+    }
+
+    private static void reply(HttpExchange exchange, int status, double score) {
+        byte[] body = ("{\"matchScore\": " + score + ", \"matchedSkills\": [\"java\"], \"missingSkills\": [], "
+                + "\"missingExperience\": [], \"otherMissing\": []}").getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            out.write(body);
+        } catch (IOException e) {
+            // The engine stopped waiting for this reply
+        }
+    }
+
+    private record Stub(HttpServer server, AtomicInteger requests) {
+
+        String url() {
+            return "http://127.0.0.1:" + server.getAddress().getPort();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.entity.Resume;
+import com.jobfitengine.code.repository.ResumeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeEmbeddingServiceTest {
+
+    private static final Embedding RESUME_VECTOR = Embedding.of(new float[]{0.5f, -0.25f, 1.0f});
+    private static final Embedding JOB_VECTOR = Embedding.of(new float[]{0.5f, 0.25f, 1.0f});
+
+    private final EmbeddingProvider embeddingService = mock(EmbeddingProvider.class);
+    private final ResumeRepository resumeRepository = mock(ResumeRepository.class);
+    private final ResumeVectorIndex resumeVectorIndex = mock(ResumeVectorIndex.class);
+    private final ResumeEmbeddingService service =
+            new ResumeEmbeddingService(embeddingService, resumeRepository, resumeVectorIndex, Duration.ofMinutes(1));
+
+    private Resume resume;
+
+    @BeforeEach
+    void setUp() {
+        resume = new Resume();
+        resume.setExtractedText("Java developer");
+        when(embeddingService.getModelId()).thenReturn("titan-v1");
+        when(embeddingService.embedChunks("Java developer")).thenReturn(chunked(RESUME_VECTOR));
+        when(embeddingService.embedChunks("Java job")).thenReturn(chunked(JOB_VECTOR));
+        when(embeddingService.embedChunksAsync("Java job"))
+                .thenReturn(CompletableFuture.completedFuture(chunked(JOB_VECTOR)));
+    }
+
+    @Test
+    void storesCompactVectorWithModelAndDimension() {
+        service.embedResume(resume);
+
+        assertThat(resume.getEmbedding()).hasSize(3 * Float.BYTES);
+        assertThat(resume.getEmbeddingModel()).isEqualTo("titan-v1");
+        assertThat(resume.getEmbeddingDimension()).isEqualTo(3);
+        assertThat(Embedding.fromBytes(resume.getEmbedding())).isEqualTo(RESUME_VECTOR);
+        assertThat(resume.getEmbeddingChunks()).isEqualTo(RESUME_VECTOR.toBytes());
+    }
+
+    @Test
+    void longResumesStoreEveryChunkAndIndexTheirMean() {
+        Embedding second = Embedding.of(new float[]{1.0f, 0f, 0f});
+        when(embeddingService.embedChunks("Java developer")).thenReturn(chunked(RESUME_VECTOR, second));
+
+        service.embedResume(resume);
+
+        assertThat(resume.getEmbeddingChunks()).hasSize(2 * 3 * Float.BYTES);
+        assertThat(service.getResumeEmbedding(resume).chunks()).containsExactly(RESUME_VECTOR, second);
+        assertThat(Embedding.fromBytes(resume.getEmbedding()))
+                .isEqualTo(ChunkedEmbedding.of(List.of(RESUME_VECTOR, second)).mean());
+    }
+
+    @Test
+    void rowsEmbeddedBeforeChunkingAreUsedAsOneChunk() {
+        resume.setEmbedding(RESUME_VECTOR.toBytes());
+        resume.setEmbeddingModel("titan-v1");
+        resume.setEmbeddingDimension(3);
+
+        assertThat(service.getResumeEmbedding(resume).chunks()).containsExactly(RESUME_VECTOR);
+        verify(embeddingService, never()).embedChunks("Java developer");
+    }
+
+    @Test
+    void matchingOnlyEmbedsTheJobDescription() {
+        service.embedResume(resume);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(service.calculateSemanticSimilarity(resume, "Java job").getAsDouble())
+                    .isCloseTo(RESUME_VECTOR.cosineSimilarity(JOB_VECTOR), within(1e-6));
+        }
+
+        verify(embeddingService, times(1)).embedChunks("Java developer");
+        verify(embeddingService, times(3)).embedChunksAsync("Java job");
+        verify(resumeRepository, never()).save(resume);
+    }
+
+    @Test
+    void reEmbedsLazilyWhenTheConfiguredModelChanges() {
+        service.embedResume(resume);
+        when(embeddingService.getModelId()).thenReturn("titan-v2");
+
+        service.getResumeEmbedding(resume);
+
+        assertThat(resume.getEmbeddingModel()).isEqualTo("titan-v2");
+        verify(embeddingService, times(2)).embedChunks("Java developer");
+        verify(resumeRepository).save(resume);
+        verify(resumeVectorIndex).update(resume);
+    }
+
+    @Test
+    void reportsNoSimilarityWhenEmbeddingFails() {
+        when(embeddingService.embedChunks("Java developer")).thenReturn(ChunkedEmbedding.EMPTY);
+
+        service.embedResume(resume);
+
+        assertThat(resume.getEmbedding()).isNull();
+        assertThat(service.calculateSemanticSimilarity(resume, "Java job")).isEmpty();
+    }
+
+    @Test
+    void failedReEmbeddingIsNotRetriedOnEveryMatch() {
+        resume.setId(UUID.randomUUID());
+        when(embeddingService.embedChunks("Java developer")).thenReturn(ChunkedEmbedding.EMPTY);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(service.calculateSemanticSimilarity(resume, "Java job")).isEmpty();
+        }
+        verify(embeddingService, times(1)).embedChunks("Java developer");
+
+        // A different model gets its own attempt
+        when(embeddingService.getModelId()).thenReturn("titan-v2");
+        service.getResumeEmbedding(resume);
+        verify(embeddingService, times(2)).embedChunks("Java developer");
+    }
+
+    private static ChunkedEmbedding chunked(Embedding... chunks) {
+        return ChunkedEmbedding.of(List.of(chunks));
+    }
+}
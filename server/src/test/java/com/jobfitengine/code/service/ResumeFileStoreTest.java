@@ -0,0 +1,143 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.repository.ResumeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResumeFileStoreTest {
+
+    private static final byte[] CONTENT = "%PDF-1.4 Java developer".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path uploads;
+
+    private final ResumeRepository resumeRepository = mock(ResumeRepository.class);
+    private ResumeFileStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ResumeFileStore(resumeRepository, new LocalResumeStorage(uploads));
+        ReflectionTestUtils.setField(store, "releaseGrace", Duration.ZERO);
+    }
+
+    @Test
+    void storesFilesUnderTheirContentHash() throws Exception {
+        ResumeFileStore.StoredFile stored = store.store(new ByteArrayInputStream(CONTENT));
+
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(CONTENT));
+        assertThat(stored.contentHash()).isEqualTo(hash);
+        assertThat(stored.key()).isEqualTo(hash.substring(0, 2) + "/" + hash);
+        assertThat(stored.url()).isEqualTo(uploads.resolve(stored.key()).toUri().toString());
+        assertThat(stored.size()).isEqualTo(CONTENT.length);
+        assertThat(stored.duplicate()).isFalse();
+        assertThat(Files.readAllBytes(uploads.resolve(stored.key()))).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void identicalUploadsShareOneFile() throws Exception {
+        ResumeFileStore.StoredFile first = store.store(new ByteArrayInputStream(CONTENT));
+        ResumeFileStore.StoredFile second = store.store(new ByteArrayInputStream(CONTENT));
+
+        assertThat(second.duplicate()).isTrue();
+        assertThat(second.key()).isEqualTo(first.key());
+        assertThat(storedFiles()).containsExactly(uploads.resolve(first.key()));
+    }
+
+    @Test
+    void deletesFileOnlyWhenTheLastReferenceIsReleased() throws Exception {
+        ResumeFileStore.StoredFile stored = store.store(new ByteArrayInputStream(CONTENT));
+        Path file = uploads.resolve(stored.key());
+
+        when(resumeRepository.countByContentHash(stored.contentHash())).thenReturn(1L);
+        store.release(stored.key(), stored.contentHash());
+        store.sweep();
+        assertThat(file).exists();
+
+        // Rows written before storage keys reference the same file by its full path
+        when(resumeRepository.countByContentHash(stored.contentHash())).thenReturn(0L);
+        store.release(file.toString(), stored.contentHash());
+        assertThat(file).exists();
+        store.sweep();
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void releasedFilesSurviveTheGracePeriod() throws Exception {
+        ReflectionTestUtils.setField(store, "releaseGrace", Duration.ofMinutes(5));
+        ResumeFileStore.StoredFile stored = store.store(new ByteArrayInputStream(CONTENT));
+
+        store.release(stored.key(), stored.contentHash());
+        store.sweep();
+
+        assertThat(uploads.resolve(stored.key())).exists();
+    }
+
+    @Test
+    void uploadReusingAReleasedFileCancelsItsRelease() throws Exception {
+        ResumeFileStore.StoredFile stored = store.store(new ByteArrayInputStream(CONTENT));
+        when(resumeRepository.countByContentHash(stored.contentHash())).thenReturn(0L);
+        store.release(stored.key(), stored.contentHash());
+
+        // The new row is not saved yet, so a sweep now would count no references
+        ResumeFileStore.StoredFile reused = store.store(new ByteArrayInputStream(CONTENT));
+        store.sweep();
+
+        assertThat(reused.duplicate()).isTrue();
+        assertThat(uploads.resolve(reused.key())).exists();
+    }
+
+    @Test
+    void uuidNamedFilesAreCountedByPath() throws Exception {
+        Path legacy = uploads.resolve("0b5c9a1e-legacy.pdf");
+        Files.write(legacy, CONTENT);
+
+        when(resumeRepository.countByFilePath(legacy.toString())).thenReturn(0L);
+        store.release(legacy.toString(), "ab".repeat(32));
+        store.sweep();
+
+        assertThat(legacy).doesNotExist();
+    }
+
+    @Test
+    void leavesNothingBehindWhenTheUploadFails() throws IOException {
+        InputStream failing = new InputStream() {
+            private int remaining = 10_000;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining-- <= 0) {
+                    throw new IOException("connection reset");
+                }
+                return 'a';
+            }
+        };
+
+        assertThatThrownBy(() -> store.store(failing)).isInstanceOf(IOException.class);
+        assertThat(storedFiles()).isEmpty();
+    }
+
+    private List<Path> storedFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(uploads)) {
+            return files.filter(Files::isRegularFile).toList();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.jobfitengine.code.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeIngestionServiceTest {
+
+    @TempDir
+    Path uploads;
+
+    @Test
+    void extractsNormalizedTextFromTheStoredFile() throws Exception {
+        Path stored = uploads.resolve("resume.txt");
+        Files.writeString(stored, "Senior Java developer.\n\n  Spring Boot,   Kafka and AWS.");
+        ResumeIngestionService service = new ResumeIngestionService(new DocumentTextExtractionService(1_000),
+                new LocalResumeStorage(uploads));
+
+        DocumentTextExtractionService.ExtractedText extracted = service.extract(stored.getFileName().toString());
+
+        assertThat(extracted.text()).isEqualTo("Senior Java developer. Spring Boot, Kafka and AWS.");
+        assertThat(extracted.truncated()).isFalse();
+    }
+
+    @Test
+    void truncatesExtractedText() throws Exception {
+        Path stored = uploads.resolve("long.txt");
+        Files.writeString(stored, "java ".repeat(20_000));
+        ResumeIngestionService service = new ResumeIngestionService(new DocumentTextExtractionService(100),
+                new LocalResumeStorage(uploads));
+
+        DocumentTextExtractionService.ExtractedText extracted = service.extract(stored.getFileName().toString());
+
+        assertThat(extracted.truncated()).isTrue();
+        assertThat(extracted.text().length()).isLessThanOrEqualTo(100);
+    }
+}
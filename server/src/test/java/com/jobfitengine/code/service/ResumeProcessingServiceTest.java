@@ -0,0 +1,133 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.entity.Resume;
+import com.jobfitengine.code.entity.ResumeProcessingJob;
+import com.jobfitengine.code.entity.ResumeStatus;
+import com.jobfitengine.code.repository.ResumeProcessingJobRepository;
+import com.jobfitengine.code.repository.ResumeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeProcessingServiceTest {
+
+    @TempDir
+    Path uploads;
+
+    private final ResumeProcessingJobRepository jobRepository = mock(ResumeProcessingJobRepository.class);
+    private final ResumeRepository resumeRepository = mock(ResumeRepository.class);
+    private final ResumeEmbeddingService resumeEmbeddingService = mock(ResumeEmbeddingService.class);
+    private final ResumeVectorIndex resumeVectorIndex = mock(ResumeVectorIndex.class);
+    private final MatchResultCache matchResultCache = mock(MatchResultCache.class);
+    private final ResumeTextStore resumeTextStore = mock(ResumeTextStore.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ResumeProcessingService service;
+
+    private Resume resume;
+    private ResumeProcessingJob job;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new ResumeProcessingService(jobRepository, resumeRepository,
+                new ResumeIngestionService(new DocumentTextExtractionService(10_000), new LocalResumeStorage(uploads)),
+                resumeEmbeddingService, resumeVectorIndex, matchResultCache, resumeTextStore,
+                new PipelineMetrics(registry), 1, 10);
+        ReflectionTestUtils.setField(service, "maxAttempts", 2);
+        ReflectionTestUtils.setField(service, "staleAfter", Duration.ofMinutes(10));
+
+        Path file = uploads.resolve("resume.txt");
+        Files.writeString(file, "Java developer with   Kafka");
+
+        resume = new Resume();
+        resume.setId(UUID.randomUUID());
+        resume.setFilePath("resume.txt");
+        resume.setFileType("txt");
+        resume.setProcessingStatus(ResumeStatus.PROCESSING);
+
+        job = new ResumeProcessingJob();
+        job.setId(UUID.randomUUID());
+        job.setResumeId(resume.getId());
+        job.setFilePath("resume.txt");
+        job.setStatus(ResumeProcessingJob.Status.RUNNING);
+        job.setStage(ResumeProcessingJob.Stage.STORED);
+
+        when(jobRepository.transition(eq(job.getId()), eq(ResumeProcessingJob.Status.QUEUED),
+                eq(ResumeProcessingJob.Status.RUNNING), any())).thenReturn(1);
+        when(jobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(resumeRepository.findById(resume.getId())).thenReturn(Optional.of(resume));
+        when(resumeRepository.save(any(Resume.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void extractsEmbedsAndMarksResumeReady() {
+        service.run(job.getId());
+
+        assertThat(resume.getExtractedText()).isEqualTo("Java developer with Kafka");
+        assertThat(resume.getProcessingStatus()).isEqualTo(ResumeStatus.READY);
+        verify(resumeTextStore).save(resume.getId(), "Java developer with Kafka");
+        verify(resumeEmbeddingService).embedResume(resume);
+        verify(resumeVectorIndex).update(resume);
+        verify(matchResultCache).invalidateResume(resume.getId());
+        assertThat(registry.get(PipelineMetrics.EXTRACTION).tags("type", "txt", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+
+        assertThat(job.getStatus()).isEqualTo(ResumeProcessingJob.Status.DONE);
+        assertThat(job.getStage()).isEqualTo(ResumeProcessingJob.Stage.COMPLETED);
+        assertThat(job.getError()).isNull();
+    }
+
+    @Test
+    void skipsJobClaimedByAnotherWorker() {
+        when(jobRepository.transition(eq(job.getId()), any(), any(), any())).thenReturn(0);
+
+        service.run(job.getId());
+
+        verify(jobRepository, never()).findById(job.getId());
+        verify(resumeEmbeddingService, never()).embedResume(any());
+    }
+
+    @Test
+    void requeuesFailedAttemptsThenMarksResumeFailed() throws Exception {
+        Files.delete(uploads.resolve(job.getFilePath()));
+
+        service.run(job.getId());
+        assertThat(job.getStatus()).isEqualTo(ResumeProcessingJob.Status.QUEUED);
+        assertThat(job.getAttempts()).isEqualTo(1);
+        assertThat(resume.getProcessingStatus()).isEqualTo(ResumeStatus.PROCESSING);
+
+        service.run(job.getId());
+        assertThat(job.getStatus()).isEqualTo(ResumeProcessingJob.Status.FAILED);
+        assertThat(job.getAttempts()).isEqualTo(2);
+        assertThat(job.getError()).isNotBlank();
+        assertThat(resume.getProcessingStatus()).isEqualTo(ResumeStatus.FAILED);
+    }
+
+    @Test
+    void leavesResumeAloneWhenANewerUploadReplacedTheFile() {
+        resume.setFilePath("newer.txt");
+
+        service.run(job.getId());
+
+        assertThat(job.getStatus()).isEqualTo(ResumeProcessingJob.Status.DONE);
+        assertThat(resume.getExtractedText()).isNull();
+        verify(resumeRepository, never()).save(any(Resume.class));
+        verify(resumeTextStore, never()).save(any(), any());
+        verify(resumeEmbeddingService, never()).embedResume(any());
+    }
+}
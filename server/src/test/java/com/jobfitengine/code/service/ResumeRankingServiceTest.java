@@ -0,0 +1,127 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.dto.ResumeRankingResponse;
+import com.jobfitengine.code.entity.Resume;
+import com.jobfitengine.code.repository.ResumeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResumeRankingServiceTest {
+
+    private static final String JOB = "Senior Java engineer: Spring Boot, Kafka and Kubernetes.";
+
+    private final ResumeRepository resumeRepository = mock(ResumeRepository.class);
+    private final EmbeddingProvider embeddingService = mock(EmbeddingProvider.class);
+    private final ResumeVectorIndex index = new ResumeVectorIndex(resumeRepository, embeddingService, 8, 50);
+    private ResumeRankingService service;
+
+    private final Map<UUID, Resume> resumes = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(index, "efSearch", 50);
+        ReflectionTestUtils.setField(index, "compactRatio", 0.25);
+        when(embeddingService.getModelId()).thenReturn("titan-v1");
+        when(embeddingService.embedChunks(JOB)).thenReturn(ChunkedEmbedding.of(List.of(Embedding.of(new float[]{1f, 0f, 0f}))));
+
+        // Closest by embedding, but without the skills the job asks for
+        resume("Office manager, scheduling and budgets.", new float[]{1f, 0.05f, 0f});
+        resume("Java developer with Spring Boot, Kafka, Kubernetes and Docker.", new float[]{1f, 0.3f, 0f});
+        resume("Java and Spring Boot engineer.", new float[]{1f, 0.4f, 0f});
+        resume("Pastry chef.", new float[]{0f, 0f, 1f});
+
+        List<ResumeRepository.StoredEmbedding> stored = new ArrayList<>();
+        resumes.values().forEach(resume -> stored.add(new ResumeRepository.StoredEmbedding() {
+            public UUID getId() {
+                return resume.getId();
+            }
+
+            public byte[] getEmbedding() {
+                return resume.getEmbedding();
+            }
+        }));
+        when(resumeRepository.findEmbeddingsByModel(eq("titan-v1"), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(stored));
+        when(resumeRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Resume> found = new ArrayList<>();
+            ((Iterable<UUID>) invocation.getArgument(0)).forEach(id -> found.add(resumes.get(id)));
+            return found;
+        });
+
+        LocalMatchEngine engine = new LocalMatchEngine(
+                new SkillDictionary(new ClassPathResource("skills/skills.txt")), mock(ResumeEmbeddingService.class));
+        service = new ResumeRankingService(index, embeddingService, resumeRepository, engine,
+                mock(ResumeTextStore.class));
+        ReflectionTestUtils.setField(service, "candidateMultiplier", 3);
+        index.load();
+    }
+
+    @Test
+    void reRanksIndexCandidatesBySkillMatch() {
+        ResumeRankingResponse response = service.rankResumes(JOB, 2);
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getIndexedResumes()).isEqualTo(4);
+        assertThat(response.getCandidates()).extracting(ResumeRankingResponse.RankedResume::getFileName)
+                .containsExactly("Java developer with Spring Boot, Kafka, Kubernetes and Docker.",
+                        "Java and Spring Boot engineer.");
+        // Kafka is a Java-only dictionary entry, outside the Python patterns local scoring follows
+        assertThat(response.getCandidates().get(0).getMatchedSkills()).contains("spring", "kubernetes")
+                .doesNotContain("kafka");
+    }
+
+    @Test
+    void removedResumesDropOutOfTheRanking() {
+        UUID best = service.rankResumes(JOB, 1).getCandidates().get(0).getResumeId();
+
+        index.remove(best);
+
+        assertThat(service.rankResumes(JOB, 4).getCandidates())
+                .extracting(ResumeRankingResponse.RankedResume::getResumeId)
+                .doesNotContain(best)
+                .hasSize(3);
+    }
+
+    @Test
+    void compactsInTheBackgroundOnceEnoughResumesAreRemoved() throws InterruptedException {
+        List<UUID> ids = new ArrayList<>(resumes.keySet());
+
+        index.remove(ids.get(0));
+        index.remove(ids.get(1));
+
+        for (int i = 0; i < 100 && index.deletedCount() > 0; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(index.deletedCount()).isZero();
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(service.rankResumes(JOB, 4).getCandidates()).hasSize(2);
+    }
+
+    private void resume(String text, float[] vector) {
+        Resume resume = new Resume();
+        resume.setId(UUID.randomUUID());
+        resume.setFileName(text);
+        resume.setExtractedText(text);
+        resume.setEmbedding(Embedding.of(vector).toBytes());
+        resume.setEmbeddingModel("titan-v1");
+        resumes.put(resume.getId(), resume);
+    }
+}
@@ -0,0 +1,228 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.dto.ResumeResponse;
+import com.jobfitengine.code.entity.Resume;
+import com.jobfitengine.code.entity.ResumeProcessingJob;
+import com.jobfitengine.code.entity.ResumeStatus;
+import com.jobfitengine.code.entity.User;
+import com.jobfitengine.code.entity.UserRole;
+import com.jobfitengine.code.repository.ResumeRepository;
+import com.jobfitengine.code.repository.UserRepository.UserSummary;
+import com.jobfitengine.code.security.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeServiceTest {
+
+    private static final byte[] PDF = "%PDF-1.4 Java developer".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path uploads;
+
+    private final ResumeRepository resumeRepository = mock(ResumeRepository.class);
+    private final ResumeProcessingService resumeProcessingService = mock(ResumeProcessingService.class);
+    private final ResumeVectorIndex resumeVectorIndex = mock(ResumeVectorIndex.class);
+    private final ResumeTextStore resumeTextStore = mock(ResumeTextStore.class);
+    private ResumeFileStore resumeFileStore;
+    private ResumeService service;
+
+    private final UserService userService = mock(UserService.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "dev@example.com");
+    private final User owner = new User();
+
+    @BeforeEach
+    void setUp() {
+        resumeFileStore = new ResumeFileStore(resumeRepository, new LocalResumeStorage(uploads));
+        ReflectionTestUtils.setField(resumeFileStore, "releaseGrace", Duration.ZERO);
+        service = new ResumeService(resumeRepository, resumeFileStore, resumeProcessingService, resumeTextStore,
+                resumeVectorIndex, mock(MatchResultCache.class), userService, entityManager,
+                new PipelineMetrics(new SimpleMeterRegistry()));
+        owner.setId(user.id());
+        owner.setEmail(user.email());
+        when(userService.findSummaryById(user.id()))
+                .thenReturn(Optional.of(new UserSummary(user.id(), user.email(), "Dev", UserRole.USER)));
+        when(entityManager.getReference(User.class, user.id())).thenReturn(owner);
+        when(resumeRepository.findByUserId(user.id())).thenReturn(Optional.empty());
+        when(resumeRepository.save(any(Resume.class))).thenAnswer(invocation -> {
+            Resume resume = invocation.getArgument(0);
+            if (resume.getId() == null) {
+                resume.setId(UUID.randomUUID());
+            }
+            return resume;
+        });
+        ResumeProcessingJob job = new ResumeProcessingJob();
+        job.setId(UUID.randomUUID());
+        when(resumeProcessingService.enqueue(any(Resume.class))).thenReturn(job);
+    }
+
+    @Test
+    void newContentIsQueuedForProcessing() {
+        when(resumeRepository.findFirstByContentHashAndProcessingStatus(anyString(), eq(ResumeStatus.READY)))
+                .thenReturn(Optional.empty());
+
+        ResumeResponse response = service.uploadResume(upload(), user);
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getResume().getStatus()).isEqualTo("PROCESSING");
+        assertThat(response.getResume().getProcessingId()).isNotNull();
+        verify(resumeProcessingService).enqueue(argThat(resume -> resume.getUser() == owner));
+    }
+
+    @Test
+    void uploadForDeletedAccountIsRejectedBeforeStoring() throws Exception {
+        when(userService.findSummaryById(user.id())).thenReturn(Optional.empty());
+
+        ResumeResponse response = service.uploadResume(upload(), user);
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getMessage()).isEqualTo("User not found");
+        verify(resumeRepository, never()).save(any(Resume.class));
+        try (var stored = Files.list(uploads)) {
+            assertThat(stored).isEmpty();
+        }
+    }
+
+    @Test
+    void reuploadingTheSameFileKeepsTheSharedCopy() throws Exception {
+        when(resumeRepository.findFirstByContentHashAndProcessingStatus(anyString(), eq(ResumeStatus.READY)))
+                .thenReturn(Optional.empty());
+        ResumeResponse first = service.uploadResume(upload(), user);
+        assertThat(first.isSuccess()).isTrue();
+
+        Resume existing = new Resume();
+        existing.setId(first.getResume().getId());
+        existing.setContentHash(sha256(PDF));
+        existing.setFilePath(ResumeFileStore.keyFor(existing.getContentHash()));
+        when(resumeRepository.findByUserId(user.id())).thenReturn(Optional.of(existing));
+        when(resumeRepository.countByContentHash(existing.getContentHash())).thenReturn(1L);
+        clearInvocations(resumeRepository);
+
+        ResumeResponse second = service.uploadResume(upload(), user);
+        resumeFileStore.sweep();
+
+        assertThat(second.isSuccess()).isTrue();
+        assertThat(uploads.resolve(existing.getFilePath())).exists();
+        // The old row's file is only released once the new row referencing it is saved
+        InOrder order = inOrder(resumeRepository);
+        order.verify(resumeRepository).save(any(Resume.class));
+        order.verify(resumeRepository).countByContentHash(existing.getContentHash());
+    }
+
+    @Test
+    void duplicateContentReusesTextAndEmbeddingWithoutProcessing() {
+        Resume processed = new Resume();
+        processed.setExtractedText("Java developer");
+        processed.setEmbedding(new byte[]{1, 2, 3, 4});
+        processed.setEmbeddingModel("titan-v1");
+        processed.setEmbeddingDimension(1);
+        processed.setProcessingStatus(ResumeStatus.READY);
+        when(resumeRepository.findFirstByContentHashAndProcessingStatus(anyString(), eq(ResumeStatus.READY)))
+                .thenReturn(Optional.of(processed));
+
+        ResumeResponse response = service.uploadResume(upload(), user);
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getResume().getStatus()).isEqualTo("READY");
+        verify(resumeProcessingService, never()).enqueue(any(Resume.class));
+        verify(resumeTextStore).copy(eq(processed), any(UUID.class));
+        verify(resumeVectorIndex).update(any(Resume.class));
+    }
+
+    @Test
+    void replacingAResumeReleasesTheOldFileOnceUnreferenced() throws Exception {
+        Path oldFile = uploads.resolve("legacy.pdf");
+        Files.write(oldFile, PDF);
+        Resume existing = new Resume();
+        existing.setId(UUID.randomUUID());
+        existing.setFilePath(oldFile.toString());
+        when(resumeRepository.findByUserId(user.id())).thenReturn(Optional.of(existing));
+        when(resumeRepository.findFirstByContentHashAndProcessingStatus(anyString(), eq(ResumeStatus.READY)))
+                .thenReturn(Optional.empty());
+        when(resumeRepository.countByFilePath(oldFile.toString())).thenReturn(0L);
+
+        ResumeResponse response = service.updateResume(upload(), user);
+        resumeFileStore.sweep();
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(existing.getFilePath()).isNotEqualTo(oldFile.toString());
+        assertThat(oldFile).doesNotExist();
+    }
+
+    @Test
+    void failedUploadReleasesBothTheNewAndTheOldFile() throws Exception {
+        Path oldFile = uploads.resolve("legacy.pdf");
+        Files.write(oldFile, PDF);
+        Resume existing = new Resume();
+        existing.setId(UUID.randomUUID());
+        existing.setFilePath(oldFile.toString());
+        when(resumeRepository.findByUserId(user.id())).thenReturn(Optional.of(existing));
+        when(resumeRepository.findFirstByContentHashAndProcessingStatus(anyString(), eq(ResumeStatus.READY)))
+                .thenReturn(Optional.empty());
+        when(resumeRepository.save(any(Resume.class))).thenThrow(new IllegalStateException("connection refused"));
+
+        ResumeResponse response = service.uploadResume(upload(), user);
+        resumeFileStore.sweep();
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(oldFile).doesNotExist();
+        assertThat(uploads.resolve(ResumeFileStore.keyFor(sha256(PDF)))).doesNotExist();
+    }
+
+    @Test
+    void failedUpdateReleasesTheNewFileAndKeepsTheStillReferencedOldOne() throws Exception {
+        Path oldFile = uploads.resolve("legacy.pdf");
+        Files.write(oldFile, PDF);
+        Resume existing = new Resume();
+        existing.setId(UUID.randomUUID());
+        existing.setFilePath(oldFile.toString());
+        when(resumeRepository.findByUserId(user.id())).thenReturn(Optional.of(existing));
+        when(resumeRepository.findFirstByContentHashAndProcessingStatus(anyString(), eq(ResumeStatus.READY)))
+                .thenReturn(Optional.empty());
+        when(resumeRepository.save(any(Resume.class))).thenThrow(new IllegalStateException("connection refused"));
+        // The row was never repointed
+        when(resumeRepository.countByFilePath(oldFile.toString())).thenReturn(1L);
+
+        ResumeResponse response = service.updateResume(upload(), user);
+        resumeFileStore.sweep();
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(oldFile).exists();
+        assertThat(uploads.resolve(ResumeFileStore.keyFor(sha256(PDF)))).doesNotExist();
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    private static MockMultipartFile upload() {
+        return new MockMultipartFile("file", "resume.pdf", "application/pdf", PDF);
+    }
+}
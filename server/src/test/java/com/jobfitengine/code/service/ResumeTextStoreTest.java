@@ -0,0 +1,118 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.entity.Resume;
+import com.jobfitengine.code.entity.ResumeContent;
+import com.jobfitengine.code.repository.ResumeContentRepository;
+import com.jobfitengine.code.repository.ResumeRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeTextStoreTest {
+
+    private static final String TEXT = "Senior Java developer with Spring Boot, Kafka and AWS experience. ".repeat(200)
+            + "Naïve café résumé";
+
+    private final ResumeContentRepository contentRepository = mock(ResumeContentRepository.class);
+    private final ResumeRepository resumeRepository = mock(ResumeRepository.class);
+    private final ResumeTextStore store = new ResumeTextStore(contentRepository, resumeRepository);
+
+    @Test
+    void compressesTextWithItsSizes() {
+        UUID id = UUID.randomUUID();
+        ResumeContent content = ResumeTextStore.encode(id, TEXT);
+
+        assertThat(content.getCodec()).isEqualTo(ResumeContent.Codec.DEFLATE);
+        assertThat(content.getTextLength()).isEqualTo(TEXT.length());
+        assertThat(content.getRawSize()).isGreaterThan(TEXT.length());
+        assertThat(content.getData().length).isLessThan(content.getRawSize() / 10);
+        assertThat(ResumeTextStore.decode(content)).isEqualTo(TEXT);
+    }
+
+    @Test
+    void keepsTextThatDoesNotShrinkAsIs() {
+        ResumeContent content = ResumeTextStore.encode(UUID.randomUUID(), "Go");
+
+        assertThat(content.getCodec()).isEqualTo(ResumeContent.Codec.NONE);
+        assertThat(ResumeTextStore.decode(content)).isEqualTo("Go");
+    }
+
+    @Test
+    void rejectsTruncatedData() {
+        ResumeContent content = ResumeTextStore.encode(UUID.randomUUID(), TEXT);
+        content.setData(Arrays.copyOf(content.getData(), content.getData().length / 2));
+
+        assertThatThrownBy(() -> ResumeTextStore.decode(content)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void attachFallsBackToTheLegacyColumn() {
+        Resume stored = resume();
+        Resume legacy = resume();
+        legacy.setLegacyExtractedText("Legacy text");
+        when(contentRepository.findById(stored.getId()))
+                .thenReturn(Optional.of(ResumeTextStore.encode(stored.getId(), TEXT)));
+        when(contentRepository.findById(legacy.getId())).thenReturn(Optional.empty());
+
+        assertThat(store.attach(stored).getExtractedText()).isEqualTo(TEXT);
+        assertThat(store.attach(legacy).getExtractedText()).isEqualTo("Legacy text");
+    }
+
+    @Test
+    void copySharesTheCompressedBytes() {
+        Resume source = resume();
+        ResumeContent content = ResumeTextStore.encode(source.getId(), TEXT);
+        when(contentRepository.findById(source.getId())).thenReturn(Optional.of(content));
+        UUID target = UUID.randomUUID();
+
+        store.copy(source, target);
+
+        ArgumentCaptor<ResumeContent> saved = ArgumentCaptor.forClass(ResumeContent.class);
+        verify(contentRepository).save(saved.capture());
+        assertThat(saved.getValue().getResumeId()).isEqualTo(target);
+        assertThat(saved.getValue().getData()).isSameAs(content.getData());
+    }
+
+    @Test
+    void movesLegacyTextOutOfTheResumeRows() {
+        UUID id = UUID.randomUUID();
+        ResumeRepository.LegacyText legacy = new ResumeRepository.LegacyText() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getText() {
+                return TEXT;
+            }
+        };
+        when(resumeRepository.findLegacyText(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(legacy)));
+
+        store.moveLegacyText();
+
+        ArgumentCaptor<ResumeContent> saved = ArgumentCaptor.forClass(ResumeContent.class);
+        verify(contentRepository).save(saved.capture());
+        assertThat(ResumeTextStore.decode(saved.getValue())).isEqualTo(TEXT);
+        verify(resumeRepository).clearLegacyText(List.of(id));
+    }
+
+    private static Resume resume() {
+        Resume resume = new Resume();
+        resume.setId(UUID.randomUUID());
+        return resume;
+    }
+}
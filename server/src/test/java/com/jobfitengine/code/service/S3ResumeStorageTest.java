@@ -0,0 +1,102 @@
+package com.jobfitengine.code.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class S3ResumeStorageTest {
+
+    private static final int PART_SIZE = 64 * 1024;
+
+    private S3StubServer s3;
+    private S3ResumeStorage storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        s3 = new S3StubServer();
+        storage = new S3ResumeStorage(s3.client(), "resumes", PART_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+        s3.close();
+    }
+
+    @Test
+    void smallFilesArePutInOneRequest() throws Exception {
+        byte[] content = "%PDF-1.4 Java developer".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(storage.write("ab/small", new ByteArrayInputStream(content))).isEqualTo(content.length);
+
+        assertThat(s3.objects.get("ab/small")).isEqualTo(content);
+        assertThat(storage.size("ab/small")).isEqualTo(content.length);
+        assertThat(storage.url("ab/small")).isEqualTo("s3://resumes/ab/small");
+        try (InputStream in = storage.open("ab/small")) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+    }
+
+    @Test
+    void largeFilesAreUploadedInPartsAndReadByRange() throws Exception {
+        byte[] content = new byte[PART_SIZE * 2 + 123];
+        new Random(7).nextBytes(content);
+
+        assertThat(storage.write("cd/large", new ByteArrayInputStream(content))).isEqualTo(content.length);
+
+        assertThat(s3.objects.get("cd/large")).isEqualTo(content);
+        assertThat(s3.uploads).isEmpty();
+        try (InputStream in = storage.open("cd/large", PART_SIZE - 10, 20)) {
+            byte[] expected = new byte[20];
+            System.arraycopy(content, PART_SIZE - 10, expected, 0, 20);
+            assertThat(in.readAllBytes()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void failedUploadIsAbortedAndLeavesNothing() {
+        InputStream failing = new SequenceInputStream(new ByteArrayInputStream(new byte[PART_SIZE + 10]),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("connection reset");
+                    }
+                });
+
+        assertThatThrownBy(() -> storage.write("ef/broken", failing)).isInstanceOf(IOException.class);
+
+        assertThat(s3.objects).isEmpty();
+        assertThat(s3.uploads).isEmpty();
+    }
+
+    @Test
+    void moveKeepsTheFirstCopyOfIdenticalContent() throws Exception {
+        byte[] content = "resume".getBytes(StandardCharsets.UTF_8);
+        storage.write("incoming/1", new ByteArrayInputStream(content));
+        storage.write("incoming/2", new ByteArrayInputStream(content));
+
+        assertThat(storage.move("incoming/1", "12/hash")).isTrue();
+        assertThat(storage.move("incoming/2", "12/hash")).isFalse();
+
+        assertThat(s3.objects).containsOnlyKeys("12/hash");
+        storage.delete("12/hash");
+        assertThat(storage.exists("12/hash")).isFalse();
+    }
+
+    @Test
+    void missingObjectsLookLikeMissingFiles() {
+        assertThatThrownBy(() -> storage.size("no/such")).isInstanceOf(NoSuchFileException.class);
+        assertThatThrownBy(() -> storage.open("no/such")).isInstanceOf(NoSuchFileException.class);
+    }
+}
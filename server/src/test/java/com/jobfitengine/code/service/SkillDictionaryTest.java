@@ -0,0 +1,131 @@
+package com.jobfitengine.code.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillDictionaryTest {
+
+    private final SkillDictionary dictionary = load();
+
+    @Test
+    void matchesSymbolTokensOnWordBoundaries() {
+        assertThat(dictionary.findSkills("Fluent in C++, C# and Node.js."))
+                .containsExactly("c++", "c#", "node.js");
+        assertThat(dictionary.findSkills("c++11 and c#9")).isEmpty();
+        assertThat(dictionary.findSkills("asp.net and node.jsx")).isEmpty();
+    }
+
+    @Test
+    void doesNotMatchInsideLongerWords() {
+        assertThat(dictionary.findSkills("JavaScript with MySQL on gopher_java"))
+                .containsExactly("javascript", "mysql");
+    }
+
+    @Test
+    void resolvesAliasesToCanonicalNames() {
+        assertThat(dictionary.findSkills("Golang services on K8s, reactjs front end, Microsoft Azure"))
+                .containsExactly("go", "kubernetes", "react", "azure");
+    }
+
+    @Test
+    void referenceMatchingIgnoresAliasesAndSkillsOutsideThePythonPatterns() {
+        assertThat(dictionary.findSkills("Golang services on K8s, reactjs front end, Microsoft Azure",
+                SkillDictionary.Matching.REFERENCE)).containsExactly("azure");
+        assertThat(dictionary.findSkills("Kafka and GraphQL with Java")).containsExactly("kafka", "graphql", "java");
+        assertThat(dictionary.findSkills("Kafka and GraphQL with Java", SkillDictionary.Matching.REFERENCE))
+                .containsExactly("java");
+    }
+
+    @Test
+    void referenceMatchingPrefersTheEarlierOfOverlappingLines() {
+        List<SkillDictionary.SkillMatch> matches = dictionary.findAll("Spring Boot and Spring Framework, Google Cloud Platform",
+                SkillDictionary.Matching.REFERENCE);
+
+        assertThat(matches).extracting(SkillDictionary.SkillMatch::skill)
+                .containsExactly("spring", "spring", "google cloud");
+        assertThat(matches.get(0).end()).isEqualTo("Spring".length());
+    }
+
+    @Test
+    void referenceMatchingUsesRegexWordBoundaries() {
+        assertThat(dictionary.findSkills("C++, C# and c++17, c#10, React.js, java.util, node.jsx",
+                SkillDictionary.Matching.REFERENCE)).containsExactly("c++", "c#", "react", "java");
+        assertThat(dictionary.findSkills("problem  solving, critical\tthinking, time management",
+                SkillDictionary.Matching.REFERENCE)).containsExactly("time management");
+    }
+
+    @Test
+    void reportsOverlappingAndMultiWordSkillsAcrossWhitespace() {
+        List<SkillDictionary.SkillMatch> matches = dictionary.findAll("Spring \n  Boot and problem\tsolving");
+
+        assertThat(matches).extracting(SkillDictionary.SkillMatch::skill)
+                .containsExactly("spring", "spring boot", "problem solving");
+        assertThat(matches.get(1).start()).isZero();
+        assertThat(matches.get(1).end()).isEqualTo("Spring \n  Boot".length());
+        assertThat(matches.get(1).category()).isEqualTo("frameworks_libraries");
+    }
+
+    @Test
+    void containsSkillStopsAtFirstHit() {
+        assertThat(dictionary.containsSkill("5 years of kafka")).isTrue();
+        assertThat(dictionary.containsSkill("interest in restaurants")).isFalse();
+    }
+
+    @Test
+    void agreesWithRegexScanOnLargeRandomDictionary() {
+        Random random = new Random(42);
+        List<SkillDictionary.Skill> skills = new ArrayList<>();
+        List<String> terms = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            String term = randomWord(random) + (random.nextInt(4) == 0 ? " " + randomWord(random) : "");
+            terms.add(term);
+            skills.add(new SkillDictionary.Skill(term, term, "generated"));
+        }
+        SkillDictionary generated = new SkillDictionary(skills);
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2_000; i++) {
+            text.append(random.nextInt(3) == 0 ? terms.get(random.nextInt(terms.size())) : randomWord(random))
+                    .append(random.nextInt(10) == 0 ? ", " : " ");
+        }
+
+        Set<String> expected = new LinkedHashSet<>();
+        for (String term : terms) {
+            Matcher matcher = Pattern.compile("(?<![\\w+#])" + Pattern.quote(term) + "(?![\\w+#])").matcher(text);
+            if (matcher.find()) {
+                expected.add(term);
+            }
+        }
+
+        assertThat(generated.findSkills(text.toString())).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    private static String randomWord(Random random) {
+        int length = 2 + random.nextInt(5);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(6)));
+        }
+        return word.toString();
+    }
+
+    private static SkillDictionary load() {
+        try {
+            return new SkillDictionary(new ClassPathResource("skills/skills.txt"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.jobfitengine.code.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextChunkerTest {
+
+    private final TextChunker chunker = new TextChunker(10, 4);
+
+    @Test
+    void shortTextIsItsOwnSingleChunk() {
+        assertThat(chunker.chunk("  Java developer with Kafka.  ")).containsExactly("Java developer with Kafka.");
+        assertThat(chunker.chunk("   ")).isEmpty();
+    }
+
+    @Test
+    void windowsEndOnSentencesAndRepeatTheTrailingOnes() {
+        String text = "Built APIs in Java. Ran Kafka clusters. Led four engineers. Shipped weekly releases. "
+                + "Owned the on-call rota.";
+
+        List<String> chunks = chunker.chunk(text);
+
+        assertThat(chunks).containsExactly(
+                "Built APIs in Java. Ran Kafka clusters. Led four engineers.",
+                "Led four engineers. Shipped weekly releases. Owned the on-call rota.");
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk.split(" ")).hasSizeLessThanOrEqualTo(10));
+    }
+
+    @Test
+    void sentenceLongerThanAWindowIsCutOnWords() {
+        String text = "one two three four five six seven eight nine ten eleven twelve thirteen fourteen";
+
+        List<String> chunks = chunker.chunk(text);
+
+        assertThat(chunks).containsExactly(
+                "one two three four five six seven eight nine ten",
+                "seven eight nine ten eleven twelve thirteen fourteen");
+    }
+
+    @Test
+    void rejectsOverlapThatWouldNeverAdvance() {
+        assertThatThrownBy(() -> new TextChunker(10, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void byteLimitedPiecesPackWholeSentences() {
+        String text = "Built APIs in Java. Ran Kafka clusters. Led four engineers.";
+
+        assertThat(TextChunker.splitByBytes(text, 100)).containsExactly(text);
+        assertThat(TextChunker.splitByBytes(text, 40))
+                .containsExactly("Built APIs in Java. Ran Kafka clusters.", "Led four engineers.");
+    }
+
+    @Test
+    void byteLimitCountsMultiByteCharactersAndNeverSplitsThem() {
+        String text = "Développeur Java à Zürich.";
+
+        List<String> pieces = TextChunker.splitByBytes(text, 8);
+
+        assertThat(String.join("", pieces).replace(" ", "")).isEqualTo(text.replace(" ", ""));
+        assertThat(pieces).allSatisfy(piece ->
+                assertThat(piece.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(8));
+    }
+}
@@ -0,0 +1,54 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.entity.User;
+import com.jobfitengine.code.entity.UserRole;
+import com.jobfitengine.code.repository.UserRepository.UserSummary;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserCacheTest {
+
+    private final UserCache cache = new UserCache(100, Duration.ofMinutes(10));
+    private final UUID userId = UUID.randomUUID();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void loadsEachUserOnceUntilEvicted() {
+        User user = new User();
+        user.setId(userId);
+        user.setEmail("dev@example.com");
+        user.setRole(UserRole.USER);
+        Function<UUID, Optional<UserSummary>> loader = id -> {
+            loads.incrementAndGet();
+            return Optional.of(UserSummary.of(user));
+        };
+
+        assertThat(cache.get(userId, loader)).contains(UserSummary.of(user));
+        assertThat(cache.get(userId, loader)).contains(UserSummary.of(user));
+        assertThat(loads).hasValue(1);
+
+        new UserCacheInvalidator(cache).evict(user);
+        cache.get(userId, loader);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void doesNotCacheUnknownUsers() {
+        Function<UUID, Optional<UserSummary>> loader = id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        };
+
+        assertThat(cache.get(userId, loader)).isEmpty();
+        assertThat(cache.get(userId, loader)).isEmpty();
+        assertThat(loads).hasValue(2);
+        assertThat(cache.estimatedSize()).isZero();
+    }
+}
@@ -0,0 +1,55 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.entity.UserRole;
+import com.jobfitengine.code.repository.UserRepository;
+import com.jobfitengine.code.repository.UserRepository.UserSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserService service = new UserService(userRepository, new UserCache(100, Duration.ofMinutes(10)),
+            new PipelineMetrics(registry), mock(PasswordEncoder.class), mock(JwtService.class),
+            mock(AuthenticationProvider.class));
+
+    @Test
+    void onlyCacheMissesRecordALookup() {
+        UserSummary user = new UserSummary(UUID.randomUUID(), "dev@example.com", "Dev", UserRole.USER);
+        when(userRepository.findSummaryById(user.id())).thenReturn(Optional.of(user));
+
+        assertThat(service.findSummaryById(user.id())).contains(user);
+        assertThat(service.findSummaryById(user.id())).contains(user);
+
+        verify(userRepository, times(1)).findSummaryById(user.id());
+        assertThat(lookups()).isEqualTo(1);
+    }
+
+    @Test
+    void failedLookupsAreStillTimed() {
+        UUID userId = UUID.randomUUID();
+        when(userRepository.findSummaryById(userId)).thenThrow(new IllegalStateException("connection refused"));
+
+        assertThatThrownBy(() -> service.findSummaryById(userId)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(lookups()).isEqualTo(1);
+    }
+
+    private long lookups() {
+        return registry.get(PipelineMetrics.DB_LOOKUP).tag("query", "user").timer().count();
+    }
+}
@@ -0,0 +1,152 @@
+package com.jobfitengine.code.service;
+
+import com.jobfitengine.code.config.WebClientConfig;
+import com.jobfitengine.code.dto.JobMatchingResponse;
+import com.jobfitengine.code.entity.Resume;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the blocking matching paths on virtual threads under JFR and fails on any
+ * {@code jdk.VirtualThreadPinned} event, i.e. a virtual thread that parked while holding a monitor
+ * and so kept its carrier thread. Only meaningful on Java 21+ ({@code -Pjava21}).
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadPinningTest {
+
+    private static final int TASKS = 200;
+    private static final String RESPONSE = "{\"matchScore\": 61.5, \"matchedSkills\": [\"java\"], "
+            + "\"missingSkills\": [\"kafka\"], \"missingExperience\": [], \"otherMissing\": []}";
+
+    private final ScheduledExecutorService responder = Executors.newSingleThreadScheduledExecutor();
+    private final VirtualThreadTaskExecutor virtualThreads = new VirtualThreadTaskExecutor("pinning-");
+    private HttpServer matcher;
+    private PythonMatchEngine pythonEngine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        matcher = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        matcher.createContext("/analyze", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            responder.schedule(() -> reply(exchange), 50, TimeUnit.MILLISECONDS);
+        });
+        matcher.start();
+
+        pythonEngine = new PythonMatchEngine(new WebClientConfig().webClient(), new PipelineMetrics(new SimpleMeterRegistry()),
+                mock(LocalMatchEngine.class), 64, 20, 0.5, Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(pythonEngine, "pythonMatcherUrl", "http://127.0.0.1:" + matcher.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        matcher.stop(0);
+        responder.shutdownNow();
+    }
+
+    @Test
+    void matchingPathsDoNotPinCarrierThreads() throws Exception {
+        LocalMatchEngine localEngine = new LocalMatchEngine(
+                new SkillDictionary(new ClassPathResource("skills/skills.txt")), mock(ResumeEmbeddingService.class));
+        MatchResultCache cache = new MatchResultCache(1 << 20, Duration.ofMinutes(5));
+        BatchMatchExecutor batchExecutor = new BatchMatchExecutor(8, TASKS, true);
+        HnswIndex<Integer> index = randomIndex(2_000);
+
+        List<RecordedEvent> pinned;
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            List<CompletableFuture<?>> work = new ArrayList<>();
+            for (int i = 0; i < TASKS; i++) {
+                String jobDescription = "Java and Kafka developer " + i;
+                // Blocking WebClient call, as the synchronous engine API does it
+                work.add(CompletableFuture.runAsync(
+                        () -> assertThat(pythonEngine.analyze("Java developer", jobDescription)).isNotNull(),
+                        virtualThreads));
+                work.add(CompletableFuture.runAsync(() -> {
+                    Resume resume = new Resume();
+                    resume.setId(UUID.randomUUID());
+                    resume.setExtractedText("Java developer with 5 years of experience");
+                    MatchResult result = localEngine.analyze(resume.getExtractedText(), jobDescription, 0.5);
+                    MatchResultCache.Key key = cache.key(resume, jobDescription, "full-job", localEngine);
+                    cache.put(key, new JobMatchingResponse(true, "ok", result.getMatchScore(), List.of(), List.of(), null));
+                    cache.get(key);
+                }, virtualThreads));
+                work.add(batchExecutor.submit(() -> index.search(randomEmbedding(new Random()), 10, 100)));
+            }
+            CompletableFuture.allOf(work.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+
+            recording.stop();
+            Path dump = Files.createTempFile("pinning", ".jfr");
+            try {
+                recording.dump(dump);
+                pinned = RecordingFile.readAllEvents(dump);
+            } finally {
+                Files.deleteIfExists(dump);
+            }
+        }
+
+        assertThat(pinned)
+                .withFailMessage(() -> "Virtual threads pinned their carrier:\n" + pinned)
+                .isEmpty();
+    }
+
+    private static HnswIndex<Integer> randomIndex(int size) {
+        Random random = new Random(5);
+        HnswIndex<Integer> index = new HnswIndex<>(16, 100, 1);
+        for (int i = 0; i < size; i++) {
+            index.add(i, randomEmbedding(random));
+        }
+        return index;
+    }
+
+    private static Embedding randomEmbedding(Random random) {
+        float[] values = new float[64];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (float) random.nextGaussian();
+        }
+        return Embedding.of(values);
+    }
+
+    private static void reply(HttpExchange exchange) {
+        byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            out.write(body);
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+}
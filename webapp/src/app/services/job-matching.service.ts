@@ -31,6 +31,8 @@ export interface JobMatchingResponse {
     overallMatch: string;
     recommendations: string[];
   };
+  // Reduced skill-only analysis, answered while the full matcher was unavailable
+  degraded?: boolean;
 }
 
 @Injectable({